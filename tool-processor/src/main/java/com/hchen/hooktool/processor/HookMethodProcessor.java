@@ -0,0 +1,273 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * {@code @HookMethod} 注解处理器。
+ * <p>
+ * 为每个包含注解的 {@code AbsModule} 子类生成 {@code <Module>_HookTable}：
+ * 参数类型名称在编译期被转换为 JVM 描述符并写入签名常量，
+ * 运行时由生成的表按签名批量安装 Hook，无需再解析参数类型或组装可变参数数组。
+ * <p>
+ * 处理器与 {@code tool} 模块之间只通过类名约定关联，不依赖 Android 运行时。
+ *
+ * @author 焕晨HChen
+ */
+public final class HookMethodProcessor extends AbstractProcessor {
+    private static final String HOOK_METHOD = "com.hchen.hooktool.hook.HookMethod";
+    private static final String ABS_HOOK = "com.hchen.hooktool.hook.AbsHook";
+    private static final String ABS_MODULE = "com.hchen.hooktool.AbsModule";
+    private static final String HOOK_TABLE = "com.hchen.hooktool.hook.HookTable";
+    private static final String CHAIN_BATCH = "com.hchen.hooktool.core.ChainBatch";
+    private static final String MEMBER_SIGNATURE = "com.hchen.hooktool.data.MemberSignature";
+    private static final String SUFFIX = "_HookTable";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(HOOK_METHOD);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement hookMethod = processingEnv.getElementUtils().getTypeElement(HOOK_METHOD);
+        if (hookMethod == null) return false;
+
+        Map<TypeElement, List<Entry>> tables = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(hookMethod)) {
+            Entry entry = createEntry(element);
+            if (entry != null) tables.computeIfAbsent(entry.module, k -> new ArrayList<>()).add(entry);
+        }
+        for (Map.Entry<TypeElement, List<Entry>> table : tables.entrySet()) {
+            writeTable(table.getKey(), table.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * 校验被注解的元素并解析注解参数。
+     *
+     * @return 表条目；校验失败时报告错误并返回 {@code null}
+     */
+    private Entry createEntry(Element element) {
+        Element enclosing = element.getEnclosingElement();
+        if (!(enclosing instanceof TypeElement module) || !isSubtype(module, ABS_MODULE)) {
+            return error(element, "@HookMethod must be declared directly inside an AbsModule subclass.");
+        }
+        if (element.getModifiers().contains(Modifier.PRIVATE)) {
+            return error(element, "@HookMethod element must not be private.");
+        }
+
+        if (element.getKind() == ElementKind.CLASS) {
+            TypeElement hook = (TypeElement) element;
+            if (!isSubtype(hook, ABS_HOOK) || hook.getModifiers().contains(Modifier.ABSTRACT)) {
+                return error(element, "@HookMethod class must be a concrete AbsHook subclass.");
+            }
+            if (!hook.getModifiers().contains(Modifier.STATIC)) {
+                return error(element, "@HookMethod class must be a static nested class.");
+            }
+            boolean hasConstructor = ElementFilter.constructorsIn(hook.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+            if (!hasConstructor) {
+                return error(element, "@HookMethod class must have a non-private no-arg constructor.");
+            }
+        } else if (element.getKind() == ElementKind.METHOD) {
+            ExecutableElement method = (ExecutableElement) element;
+            if (method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty()) {
+                return error(element, "@HookMethod method must be an instance method without parameters.");
+            }
+            TypeElement absHook = processingEnv.getElementUtils().getTypeElement(ABS_HOOK);
+            Types types = processingEnv.getTypeUtils();
+            if (absHook == null || !types.isAssignable(method.getReturnType(), types.erasure(absHook.asType()))) {
+                return error(element, "@HookMethod method must return an AbsHook.");
+            }
+        } else {
+            return error(element, "@HookMethod is only applicable to classes and methods.");
+        }
+
+        String cls = null;
+        String name = null;
+        List<String> params = new ArrayList<>();
+        boolean optional = false;
+        AnnotationMirror mirror = findMirror(element);
+        Elements elements = processingEnv.getElementUtils();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            switch (value.getKey().getSimpleName().toString()) {
+                case "cls" -> cls = ((String) value.getValue().getValue()).trim();
+                case "name" -> name = ((String) value.getValue().getValue()).trim();
+                case "params" -> {
+                    @SuppressWarnings("unchecked")
+                    List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) value.getValue().getValue();
+                    for (AnnotationValue param : values) {
+                        params.add((String) param.getValue());
+                    }
+                }
+                case "optional" -> optional = (Boolean) value.getValue().getValue();
+            }
+        }
+        if (cls == null || cls.isEmpty() || name == null || name.isEmpty()) {
+            return error(element, "@HookMethod cls and name must not be empty.");
+        }
+
+        StringBuilder signature = new StringBuilder(cls).append('#').append(name).append('(');
+        for (String param : params) {
+            String descriptor = toDescriptor(param);
+            if (descriptor == null) return error(element, "Invalid parameter type: " + param);
+            signature.append(descriptor);
+        }
+        return new Entry(module, element, signature.append(')').toString(), optional);
+    }
+
+    private void writeTable(TypeElement module, List<Entry> entries) {
+        Elements elements = processingEnv.getElementUtils();
+        String packageName = elements.getPackageOf(module).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(module).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + SUFFIX;
+        String moduleName = module.getQualifiedName().toString();
+
+        Element topLevel = module;
+        while (topLevel.getEnclosingElement() instanceof TypeElement outer) {
+            topLevel = outer;
+        }
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (PrintWriter writer = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, topLevel).openWriter())) {
+            if (!packageName.isEmpty()) writer.println("package " + packageName + ";\n");
+            writer.println("/**");
+            writer.println(" * Generated by HookMethodProcessor from @HookMethod declarations in {@link " + moduleName + "}.");
+            writer.println(" */");
+            writer.println("public final class " + simpleName + " implements " + HOOK_TABLE + "<" + moduleName + "> {");
+            writer.println("    private static final " + MEMBER_SIGNATURE + "[] SIGNATURES = {");
+            for (Entry entry : entries) {
+                writer.println("        " + MEMBER_SIGNATURE + ".of(\"" + escape(entry.signature) + "\"),");
+            }
+            writer.println("    };\n");
+            writer.println("    @Override");
+            writer.println("    public void install(" + moduleName + " module, " + CHAIN_BATCH + " batch) {");
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                String hook = entry.element.getKind() == ElementKind.CLASS
+                    ? "new " + ((TypeElement) entry.element).getQualifiedName() + "()"
+                    : "module." + entry.element.getSimpleName() + "()";
+                writer.println("        batch.hookBySignature(SIGNATURES[" + i + "], " + hook + ", " + entry.optional + ");");
+            }
+            writer.println("    }");
+            writer.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + qualifiedName + ": " + e, module);
+        }
+    }
+
+    private AnnotationMirror findMirror(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(HOOK_METHOD))
+                return mirror;
+        }
+        throw new IllegalStateException("Missing @HookMethod on " + element);
+    }
+
+    private boolean isSubtype(TypeElement element, String superName) {
+        TypeElement superElement = processingEnv.getElementUtils().getTypeElement(superName);
+        if (superElement == null) return false;
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror type = types.erasure(element.asType());
+        return types.isSubtype(type, types.erasure(superElement.asType()));
+    }
+
+    private Entry error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+
+    /**
+     * 将类型名称转换为 JVM 类型描述符，规则与 {@code DexMethodQuery#toDescriptor} 一致。
+     *
+     * @return 类型描述符；名称为空或为 {@code void} 参数时返回 {@code null}
+     */
+    private static String toDescriptor(String typeName) {
+        String name = typeName.trim();
+        if (name.isEmpty()) return null;
+        if (name.startsWith("[")) return name.replace('.', '/');
+        if (name.length() > 2 && name.startsWith("L") && name.endsWith(";")) return name.replace('.', '/');
+
+        StringBuilder sb = new StringBuilder();
+        while (name.endsWith("[]")) {
+            sb.append('[');
+            name = name.substring(0, name.length() - 2).trim();
+        }
+        switch (name) {
+            case "boolean" -> sb.append('Z');
+            case "byte" -> sb.append('B');
+            case "char" -> sb.append('C');
+            case "short" -> sb.append('S');
+            case "int" -> sb.append('I');
+            case "long" -> sb.append('J');
+            case "float" -> sb.append('F');
+            case "double" -> sb.append('D');
+            case "", "void" -> {
+                return null;
+            }
+            default -> sb.append('L').append(name.replace('.', '/')).append(';');
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * 单个 {@code @HookMethod} 声明。
+     *
+     * @param module    所属模块
+     * @param element   被注解的类或方法
+     * @param signature 目标成员签名（不含返回值）
+     * @param optional  目标不存在时是否静默跳过
+     */
+    private record Entry(TypeElement module, Element element, String signature, boolean optional) {
+    }
+}
@@ -26,4 +26,7 @@
 -adaptresourcefilecontents META-INF/xposed/java_init.list
 -keep,allowoptimization,allowobfuscation public class * extends io.github.libxposed.api.XposedModule {
     public <init>();
-}
\ No newline at end of file
+}
+-keep class * implements com.hchen.hooktool.hook.HookTable {
+    public <init>();
+}
@@ -25,7 +25,12 @@ import android.os.Bundle;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.hchen.hooktool.core.ChainBatch;
 import com.hchen.hooktool.core.CoreTool;
+import com.hchen.hooktool.data.ChainResult;
+import com.hchen.hooktool.exception.UnexpectedException;
+import com.hchen.hooktool.hook.HookMethod;
+import com.hchen.hooktool.hook.HookTable;
 import com.hchen.hooktool.log.XposedLog;
 
 import java.util.HashMap;
@@ -151,6 +156,8 @@ public abstract class AbsModule extends CoreTool {
      * <p>
      * 当目标应用包的资源已加载并就绪后触发，子类<strong>必须</strong>实现此方法
      * 以注册自定义 Hook 代码。这是绝大多数 Hook 注册的入口。
+     * <p>
+     * 通过 {@link HookMethod} 声明的 Hook 会在本方法执行前由生成的 Hook 表批量安装。
      *
      * @param param 包就绪参数，包含目标包的类加载器等信息
      */
@@ -287,13 +294,43 @@ public abstract class AbsModule extends CoreTool {
     /**
      * 分发目标应用包就绪事件。
      * <p>
-     * 由模块入口类调用，通过 {@link #dispatch} 将事件转发至
-     * {@link #onPackageReady(XposedModuleInterface.PackageReadyParam)}。
+     * 由模块入口类调用，通过 {@link #dispatch} 先安装 {@link HookMethod} 生成的 Hook 表，
+     * 再将事件转发至 {@link #onPackageReady(XposedModuleInterface.PackageReadyParam)}。
      *
      * @param param Xposed 框架传入的包就绪参数
      */
     final public void handlePackageReady(@NonNull XposedModuleInterface.PackageReadyParam param) {
-        dispatch(StageEnum.PACKAGE_READY, param, p -> onPackageReady(p));
+        dispatch(StageEnum.PACKAGE_READY, param, p -> {
+            installHookTable();
+            onPackageReady(p);
+        });
+    }
+
+    /**
+     * 安装由 {@link HookMethod} 注解生成的 Hook 表，模块没有生成表时直接返回。
+     * <p>
+     * 表中的全部条目经由 {@link ChainBatch} 一次性查找并安装，
+     * 未被标记为可选且查找失败的条目仅记录错误日志，不会中断后续的生命周期回调。
+     */
+    private void installHookTable() {
+        HookTable<AbsModule> table;
+        try {
+            String tableName = getClass().getName().replace('$', '_') + HookTable.SUFFIX;
+            // noinspection unchecked
+            table = (HookTable<AbsModule>) Class.forName(tableName, true, getClass().getClassLoader())
+                .getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return;
+        } catch (ReflectiveOperationException e) {
+            throw new UnexpectedException("Failed to create hook table of " + getClass().getName(), e);
+        }
+
+        ChainBatch batch = new ChainBatch();
+        table.install(this, batch);
+        for (ChainResult result : batch.commit()) {
+            if (result.status() == ChainResult.Status.FAILED)
+                XposedLog.logE(TAG, "Failed to install hook: " + result.chainData(), result.throwable());
+        }
     }
 
     /**
@@ -49,6 +49,7 @@ public final class ModuleConfig {
     @NonNull
     private static volatile String[] logExpandIgnoreClassNames;
     private static volatile boolean isShowHookSuccessLog;
+    private static volatile boolean isPersistentMemberCache;
 
     // -------- 可选日志等级 --------
 
@@ -89,6 +90,7 @@ public final class ModuleConfig {
         logExpandPaths = new String[]{};
         logExpandIgnoreClassNames = new String[]{};
         isShowHookSuccessLog = false;
+        isPersistentMemberCache = false;
     }
 
     private ModuleConfig() {
@@ -171,6 +173,19 @@ public final class ModuleConfig {
         ModuleConfig.isShowHookSuccessLog = isShowHookSuccessLog;
     }
 
+    /**
+     * 设置是否启用成员解析结果的持久化缓存，默认关闭。
+     * <p>
+     * 启用后，类名重试解析与最佳匹配方法 / 构造函数的查找结果会按宿主包名及版本写入宿主缓存目录，
+     * 后续冷启动经校验后直接复用。宿主更新后缓存会自动失效。
+     *
+     * @param isPersistentMemberCache {@code true} 开启，{@code false} 关闭
+     * @see com.hchen.hooktool.helper.MemberCacheHelper
+     */
+    public static void setPersistentMemberCache(boolean isPersistentMemberCache) {
+        ModuleConfig.isPersistentMemberCache = isPersistentMemberCache;
+    }
+
     // -------------------- getter ----------------------
 
     /**
@@ -231,4 +246,13 @@ public final class ModuleConfig {
     public static boolean isShowHookSuccessLog() {
         return isShowHookSuccessLog;
     }
+
+    /**
+     * 查询成员解析结果的持久化缓存是否已启用。
+     *
+     * @return {@code true} 表示已启用，{@code false} 表示已关闭
+     */
+    public static boolean isPersistentMemberCache() {
+        return isPersistentMemberCache;
+    }
 }
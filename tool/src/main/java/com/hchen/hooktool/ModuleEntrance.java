@@ -27,6 +27,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.hchen.hooktool.core.CoreTool;
+import com.hchen.hooktool.helper.MemberCacheHelper;
 import com.hchen.hooktool.hook.AbsHook;
 import com.hchen.hooktool.hook.HookRegistry;
 import com.hchen.hooktool.log.AndroidLog;
@@ -227,6 +228,9 @@ public abstract class ModuleEntrance extends XposedModule {
             return;
         }
 
+        if (ModuleConfig.isPersistentMemberCache() && param.isFirstPackage()) {
+            MemberCacheHelper.load(param.getApplicationInfo(), processName);
+        }
         handlePackageLoaded(param);
     }
 
@@ -237,7 +241,11 @@ public abstract class ModuleEntrance extends XposedModule {
         }
 
         hookApplication(param);
-        handlePackageReady(param);
+        try {
+            handlePackageReady(param);
+        } finally {
+            MemberCacheHelper.save();
+        }
     }
 
     @Override
@@ -311,7 +319,11 @@ public abstract class ModuleEntrance extends XposedModule {
                             public void before() {
                                 Context context = (Context) getArg(0);
                                 Objects.requireNonNull(context);
-                                handleApplicationCreated(context);
+                                try {
+                                    handleApplicationCreated(context);
+                                } finally {
+                                    MemberCacheHelper.save();
+                                }
                             }
                         }
                     );
@@ -39,4 +39,20 @@ public interface ICommandListener {
      * @return {@code true} 允许命令继续执行，{@code false} 拦截命令使其不被执行
      */
     boolean onCommand(@NonNull String cmd);
+
+    /**
+     * 声明命令结果的缓存时长。
+     * <p>
+     * 对只读且幂等的查询命令（如 {@code getprop}、{@code settings get}、{@code cat /proc/...}）返回大于 {@code 0} 的时长，
+     * 在该时长内通过 {@code exec()}、{@code submit()} 或 {@code submitAll()} 再次执行相同的命令将直接返回缓存的结果，
+     * 不再发送到 Shell。只有执行成功（退出码为 {@code 0}）的结果会被缓存。
+     * <p>
+     * 该方法仅对已被 {@link #onCommand(String)} 放行的命令调用，默认不缓存任何命令。
+     *
+     * @param cmd 即将被执行的 Shell 命令字符串，不为 {@code null}
+     * @return 缓存时长（毫秒），{@code 0} 表示不缓存
+     */
+    default long cacheTtl(@NonNull String cmd) {
+        return 0L;
+    }
 }
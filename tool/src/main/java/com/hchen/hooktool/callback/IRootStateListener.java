@@ -0,0 +1,42 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.callback;
+
+import androidx.annotation.NonNull;
+
+import com.hchen.hooktool.data.RootState;
+
+/**
+ * Root 状态变化监听器。
+ * <p>
+ * 在 {@code ShellTool} 缓存的 Root 状态发生变化时回调，例如首次检测完成、
+ * Root 会话异常断开导致状态失效，或重新检测后授权结果改变。
+ *
+ * @author 焕晨HChen
+ */
+public interface IRootStateListener {
+    /**
+     * Root 状态变化的回调方法。
+     * <p>
+     * 回调在触发状态变化的线程上执行，实现者不应在其中执行耗时操作。
+     *
+     * @param state 变化后的 Root 状态，不为 {@code null}
+     */
+    void onRootStateChanged(@NonNull RootState state);
+}
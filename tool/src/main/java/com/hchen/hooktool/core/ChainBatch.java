@@ -0,0 +1,199 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.core;
+
+import static com.hchen.hooktool.core.CoreTool.findClass;
+
+import androidx.annotation.NonNull;
+
+import com.hchen.hooktool.ModuleData;
+import com.hchen.hooktool.data.ChainData;
+import com.hchen.hooktool.data.ChainResult;
+import com.hchen.hooktool.data.MemberSignature;
+import com.hchen.hooktool.exception.UnexpectedException;
+import com.hchen.hooktool.hook.AbsHook;
+
+import java.lang.reflect.Executable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import io.github.libxposed.api.XposedInterface;
+
+/**
+ * 链式 Hook 的批量（先规划后提交）模式。
+ * <p>
+ * 通过本类创建的 {@link ChainTool} 不会立即查找与 Hook，而是将每条链式数据登记到批次中；
+ * 调用 {@link #commit()} 后，批次会按完整的查找条件去重，一次性完成全部查找（可选并行），
+ * 再在当前线程中依次安装 Hook，并按登记顺序返回每条链式数据的 {@link ChainResult}。
+ * <pre>{@code
+ * ChainBatch batch = new ChainBatch().parallel(true);
+ * batch.buildChain("com.example.Foo")
+ *     .findMethod("bar", int.class).returnResult(true)
+ *     .findAllConstructor().hook(hook);
+ * batch.buildChain("com.example.Baz")
+ *     .findMethod("qux").doNothing();
+ * List<ChainResult> results = batch.commit();
+ * }</pre>
+ * 也可以通过 {@link #hookBySignature} 直接登记按 JVM 签名查找的条目，
+ * 由 {@code @HookMethod} 注解生成的 Hook 表即以这种方式安装。
+ * <p>
+ * 与立即模式不同，查找失败或重复登记不会抛出异常，而是体现在对应的结果状态中。
+ * 每个批次只能提交一次。
+ *
+ * @author 焕晨HChen
+ */
+public final class ChainBatch {
+    private final ArrayList<ChainData> chainDataList = new ArrayList<>();
+    private boolean isParallel = false;
+    private boolean isCommitted = false;
+
+    /**
+     * 根据类的全限定名创建属于本批次的 {@link ChainTool} 实例。
+     *
+     * @param classPath 目标类的全限定名
+     * @return 延迟模式的 {@link ChainTool} 实例
+     */
+    public ChainTool buildChain(@NonNull String classPath) {
+        return new ChainTool(findClass(classPath), this);
+    }
+
+    /**
+     * 根据类的全限定名及指定的类加载器创建属于本批次的 {@link ChainTool} 实例。
+     *
+     * @param classPath   目标类的全限定名
+     * @param classLoader 用于加载目标类的类加载器
+     * @return 延迟模式的 {@link ChainTool} 实例
+     */
+    public ChainTool buildChain(@NonNull String classPath, ClassLoader classLoader) {
+        return new ChainTool(findClass(classPath, classLoader), this);
+    }
+
+    /**
+     * 直接传入 {@link Class} 对象创建属于本批次的 {@link ChainTool} 实例。
+     *
+     * @param clazz 目标类的 {@link Class} 对象
+     * @return 延迟模式的 {@link ChainTool} 实例
+     */
+    public ChainTool buildChain(@NonNull Class<?> clazz) {
+        return new ChainTool(clazz, this);
+    }
+
+    /**
+     * 登记一条按 JVM 签名查找并 Hook 的链式数据，使用默认 ClassLoader。
+     *
+     * @param signature   目标成员的签名
+     * @param absHook     Hook 回调
+     * @param ignoreThrow 目标不存在时是否静默跳过
+     * @return 当前批次
+     */
+    public ChainBatch hookBySignature(@NonNull MemberSignature signature, @NonNull AbsHook absHook, boolean ignoreThrow) {
+        return hookBySignature(signature, ModuleData.getClassLoader(), absHook, ignoreThrow);
+    }
+
+    /**
+     * 登记一条按 JVM 签名查找并 Hook 的链式数据。
+     *
+     * @param signature   目标成员的签名
+     * @param classLoader 解析签名所使用的类加载器
+     * @param absHook     Hook 回调
+     * @param ignoreThrow 目标不存在时是否静默跳过
+     * @return 当前批次
+     */
+    public ChainBatch hookBySignature(@NonNull MemberSignature signature, ClassLoader classLoader,
+                                      @NonNull AbsHook absHook, boolean ignoreThrow) {
+        ChainData chainData = new ChainData(signature, classLoader);
+        chainData.absHook = absHook;
+        chainData.isIgnoreThrow = ignoreThrow;
+        add(chainData);
+        return this;
+    }
+
+    /**
+     * 设置提交时是否并行查找。
+     * <p>
+     * 并行查找使用公共 fork-join 线程池，仅影响查找阶段；
+     * Hook 安装以及 {@code onThrow} 回调始终在调用 {@link #commit()} 的线程中按登记顺序执行。
+     *
+     * @param parallel 是否并行查找
+     * @return 当前批次
+     */
+    public ChainBatch parallel(boolean parallel) {
+        this.isParallel = parallel;
+        return this;
+    }
+
+    /**
+     * 登记一条链式数据，由延迟模式的 {@link ChainTool} 调用。
+     */
+    void add(@NonNull ChainData chainData) {
+        if (isCommitted) throw new UnexpectedException("Chain batch has already been committed: " + chainData);
+        chainDataList.add(chainData);
+    }
+
+    /**
+     * 提交批次：去重、查找并安装全部已登记的链式数据。
+     *
+     * @return 按登记顺序排列的执行结果
+     * @throws UnexpectedException 批次已被提交过时抛出
+     */
+    @NonNull
+    public List<ChainResult> commit() {
+        if (isCommitted) throw new UnexpectedException("Chain batch has already been committed.");
+        isCommitted = true;
+
+        int size = chainDataList.size();
+        ChainResult[] results = new ChainResult[size];
+        HashSet<ChainData> chainDataSet = new HashSet<>();
+        ArrayList<Integer> pending = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ChainData chainData = chainDataList.get(i);
+            if (chainDataSet.add(chainData)) pending.add(i);
+            else results[i] = new ChainResult(chainData, ChainResult.Status.DUPLICATE, new XposedInterface.HookHandle[0], null);
+        }
+
+        IntStream indexes = pending.stream().mapToInt(Integer::intValue);
+        if (isParallel) indexes = indexes.parallel();
+        indexes.forEach(i -> ChainTool.resolve(chainDataList.get(i)));
+
+        for (int i : pending) {
+            results[i] = install(chainDataList.get(i));
+        }
+        return List.of(results);
+    }
+
+    @NonNull
+    private static ChainResult install(@NonNull ChainData chainData) {
+        if (chainData.throwable != null) {
+            ChainResult.Status status = ChainTool.isThrowableHandled(chainData) ? ChainResult.Status.SKIPPED : ChainResult.Status.FAILED;
+            return new ChainResult(chainData, status, new XposedInterface.HookHandle[0], chainData.throwable);
+        }
+
+        ArrayList<XposedInterface.HookHandle> hookHandles = new ArrayList<>(chainData.executables.length);
+        try {
+            for (Executable executable : chainData.executables) {
+                hookHandles.add(CoreTool.hook(executable, chainData.absHook));
+            }
+        } catch (Throwable throwable) {
+            return new ChainResult(chainData, ChainResult.Status.FAILED, hookHandles.toArray(new XposedInterface.HookHandle[0]), throwable);
+        }
+        return new ChainResult(chainData, ChainResult.Status.HOOKED, hookHandles.toArray(new XposedInterface.HookHandle[0]), null);
+    }
+}
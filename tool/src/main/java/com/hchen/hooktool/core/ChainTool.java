@@ -21,10 +21,12 @@ package com.hchen.hooktool.core;
 import static com.hchen.hooktool.core.CoreTool.findClass;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.hchen.hooktool.data.ChainData;
 import com.hchen.hooktool.data.ChainType;
 import com.hchen.hooktool.exception.UnexpectedException;
+import com.hchen.hooktool.helper.CoreHelper;
 import com.hchen.hooktool.hook.AbsHook;
 
 import java.lang.reflect.Executable;
@@ -42,8 +44,11 @@ import java.util.function.Function;
  * 最终通过返回的 {@link ChainHook} 对象指定具体的 Hook 策略（例如替换返回值、拦截调用、
  * 修改参数等）。
  * <p>
- * 每个 {@code ChainTool} 实例内部维护一个哈希集合，用于在运行阶段对已执行过的链式数据
- * 进行去重校验，从而避免对同一目标进行重复 Hook。
+ * 每个 {@code ChainTool} 实例内部维护一个链式数据集合，按完整的查找条件（而非仅哈希值）
+ * 对已执行过的链式数据进行去重校验，从而避免对同一目标进行重复 Hook。
+ * <p>
+ * 通过 {@link ChainBatch#buildChain} 创建的实例处于延迟模式：链式调用只会登记数据，
+ * 查找与 Hook 统一在 {@link ChainBatch#commit()} 时执行。
  *
  * @author 焕晨HChen
  */
@@ -66,19 +71,27 @@ public final class ChainTool {
     private ChainData chainData;
 
     /**
-     * 已成功执行的链式数据哈希集合，用于运行时去重，防止对相同目标重复 Hook。
+     * 已成功执行的链式数据集合，用于运行时去重，防止对相同目标重复 Hook。
      */
-    private final HashSet<Integer> dataHashSet = new HashSet<>();
+    private final HashSet<ChainData> chainDataSet = new HashSet<>();
+
+    /**
+     * 所属的批量任务；为 {@code null} 时链式调用立即执行。
+     */
+    @Nullable
+    private final ChainBatch chainBatch;
 
     /**
      * 以指定的目标类初始化链式工具实例。
      *
-     * @param clazz 待 Hook 的目标类，不得为 {@code null}
+     * @param clazz      待 Hook 的目标类，不得为 {@code null}
+     * @param chainBatch 所属的批量任务，为 {@code null} 时立即执行
      */
-    private ChainTool(@NonNull Class<?> clazz) {
+    ChainTool(@NonNull Class<?> clazz, @Nullable ChainBatch chainBatch) {
         Objects.requireNonNull(clazz, "Class must not be null.");
 
         this.clazz = clazz;
+        this.chainBatch = chainBatch;
         this.chainHook = new ChainHook();
     }
 
@@ -91,7 +104,7 @@ public final class ChainTool {
      * @return 已绑定目标类的 {@link ChainTool} 实例
      */
     public static ChainTool buildChain(@NonNull String classPath) {
-        return new ChainTool(findClass(classPath));
+        return new ChainTool(findClass(classPath), null);
     }
 
     /**
@@ -102,7 +115,7 @@ public final class ChainTool {
      * @return 已绑定目标类的 {@link ChainTool} 实例
      */
     public static ChainTool buildChain(@NonNull String classPath, ClassLoader classLoader) {
-        return new ChainTool(findClass(classPath, classLoader));
+        return new ChainTool(findClass(classPath, classLoader), null);
     }
 
     /**
@@ -112,7 +125,7 @@ public final class ChainTool {
      * @return 已绑定目标类的 {@link ChainTool} 实例
      */
     public static ChainTool buildChain(@NonNull Class<?> clazz) {
-        return new ChainTool(clazz);
+        return new ChainTool(clazz, null);
     }
 
     /**
@@ -126,8 +139,7 @@ public final class ChainTool {
      * @return {@link ChainHook} 实例，用于配置具体的 Hook 行为
      */
     public ChainHook findMethod(@NonNull String methodName, @NonNull Object... parameterTypes) {
-        this.chainData = new ChainData(methodName, parameterTypes);
-        return chainHook;
+        return begin(new ChainData(methodName, parameterTypes));
     }
 
     /**
@@ -139,8 +151,7 @@ public final class ChainTool {
      * @return {@link ChainHook} 实例，用于配置具体的 Hook 行为
      */
     public ChainHook findAllMethod(@NonNull String methodName) {
-        this.chainData = new ChainData(methodName);
-        return chainHook;
+        return begin(new ChainData(methodName));
     }
 
     /**
@@ -150,8 +161,7 @@ public final class ChainTool {
      * @return {@link ChainHook} 实例，用于配置具体的 Hook 行为
      */
     public ChainHook findConstructor(@NonNull Object... parameterTypes) {
-        this.chainData = new ChainData(parameterTypes);
-        return chainHook;
+        return begin(new ChainData(parameterTypes));
     }
 
     /**
@@ -162,8 +172,7 @@ public final class ChainTool {
      * @return {@link ChainHook} 实例，用于配置具体的 Hook 行为
      */
     public ChainHook findAllConstructor() {
-        this.chainData = new ChainData();
-        return chainHook;
+        return begin(new ChainData());
     }
 
     /**
@@ -177,12 +186,18 @@ public final class ChainTool {
      * @return {@link ChainHook} 实例，用于配置具体的 Hook 行为
      */
     public ChainHook withExecutable(@NonNull Executable executable) {
-        this.chainData = new ChainData(executable);
+        return begin(new ChainData(executable));
+    }
+
+    private ChainHook begin(@NonNull ChainData chainData) {
+        chainData.clazz = clazz;
+        this.chainData = chainData;
         return chainHook;
     }
 
     /**
      * 执行完整的链式 Hook 流程：先查找目标方法或构造函数，随后对其应用 Hook。
+     * 处于延迟模式时仅将数据登记到所属的 {@link ChainBatch}。
      * <p>
      * 本方法内置去重机制——若检测到当前链式数据已在先前被处理过，将抛出
      * {@link UnexpectedException}。执行完毕后会自动将 {@code chainData} 置为 {@code null}，
@@ -194,24 +209,21 @@ public final class ChainTool {
         Objects.requireNonNull(chainData);
 
         try {
-            if (!dataHashSet.contains(chainData.hashCode())) {
-                runFind();
+            if (chainBatch != null) {
+                chainBatch.add(chainData);
+                return;
+            }
+
+            if (!chainDataSet.contains(chainData)) {
+                resolve(chainData);
                 if (chainData.throwable != null) {
-                    if (chainData.isIgnoreThrow) {
+                    if (isThrowableHandled(chainData)) {
                         return;
                     }
-                    if (chainData.function != null) {
-                        if (Boolean.TRUE.equals(chainData.function.apply(chainData.throwable))) {
-                            return;
-                        } else {
-                            CoreTool.throwIt(chainData.throwable);
-                        }
-                    } else {
-                        CoreTool.throwIt(chainData.throwable);
-                    }
+                    CoreTool.throwIt(chainData.throwable);
                 }
 
-                dataHashSet.add(chainData.hashCode());
+                chainDataSet.add(chainData);
                 for (Executable executable : chainData.executables) {
                     CoreTool.hook(executable, chainData.absHook);
                 }
@@ -224,13 +236,17 @@ public final class ChainTool {
     }
 
     /**
-     * 根据当前 {@link ChainData} 中记录的 {@link ChainType} 类型执行相应的查找操作，
+     * 根据 {@link ChainData} 中记录的 {@link ChainType} 类型执行相应的查找操作，
      * 并将查找到的结果填充到 {@code chainData.executables} 数组中。
      * <p>
      * 若查找过程中发生异常，异常对象会被暂存到 {@code chainData.throwable} 字段中，
-     * 供后续 {@link #runChain()} 统一处理。
+     * 供后续 {@link #runChain()} 或 {@link ChainBatch#commit()} 统一处理。
+     * 本方法只读写传入的数据实例，可在多个线程中对不同实例并行调用。
+     *
+     * @param chainData 待查找的链式数据
      */
-    private void runFind() {
+    static void resolve(@NonNull ChainData chainData) {
+        Class<?> clazz = chainData.clazz;
         try {
             switch (chainData.chainType) {
                 case EXECUTABLE -> {
@@ -248,12 +264,26 @@ public final class ChainTool {
                 case FIND_ALL_CONSTRUCTOR -> {
                     chainData.executables = CoreTool.findAllConstructor(clazz);
                 }
+                case SIGNATURE -> {
+                    chainData.executables[0] = CoreHelper.findMemberBySignature(chainData.signature, chainData.classLoader);
+                }
             }
         } catch (Throwable throwable) {
             chainData.throwable = throwable;
         }
     }
 
+    /**
+     * 按 {@link ChainHook#ignoreThrow()} 与 {@link ChainHook#onThrow(Function)} 的配置处理查找阶段的异常。
+     *
+     * @param chainData 查找失败的链式数据
+     * @return 异常已被忽略或处理时返回 {@code true}
+     */
+    static boolean isThrowableHandled(@NonNull ChainData chainData) {
+        if (chainData.isIgnoreThrow) return true;
+        return chainData.function != null && Boolean.TRUE.equals(chainData.function.apply(chainData.throwable));
+    }
+
     /**
      * 链式钩子内部类，为已定位的方法或构造函数提供多种 Hook 策略配置。
      * <p>
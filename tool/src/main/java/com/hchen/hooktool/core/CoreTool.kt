@@ -33,6 +33,7 @@ import com.hchen.hooktool.core.CoreTool.Companion.findClass
 import com.hchen.hooktool.core.CoreTool.Companion.findClassIfExists
 import com.hchen.hooktool.core.CoreTool.Companion.findConstructor
 import com.hchen.hooktool.core.CoreTool.Companion.findField
+import com.hchen.hooktool.core.CoreTool.Companion.findMemberBySignature
 import com.hchen.hooktool.core.CoreTool.Companion.findMethod
 import com.hchen.hooktool.core.CoreTool.Companion.getField
 import com.hchen.hooktool.core.CoreTool.Companion.getParameterTypes
@@ -41,6 +42,7 @@ import com.hchen.hooktool.core.CoreTool.Companion.getStaticField
 import com.hchen.hooktool.core.CoreTool.Companion.hasClass
 import com.hchen.hooktool.core.CoreTool.Companion.hookAllConstructor
 import com.hchen.hooktool.core.CoreTool.Companion.hookAllMethod
+import com.hchen.hooktool.core.CoreTool.Companion.hookBySignature
 import com.hchen.hooktool.core.CoreTool.Companion.hookConstructor
 import com.hchen.hooktool.core.CoreTool.Companion.hookMethod
 import com.hchen.hooktool.core.CoreTool.Companion.hookMethodIfExists
@@ -52,6 +54,8 @@ import com.hchen.hooktool.core.CoreTool.Companion.setField
 import com.hchen.hooktool.core.CoreTool.Companion.setResReplacement
 import com.hchen.hooktool.core.CoreTool.Companion.setStaticField
 import com.hchen.hooktool.core.CoreTool.Companion.timeConsumption
+import com.hchen.hooktool.data.AdditionalFieldKey
+import com.hchen.hooktool.data.MemberSignature
 import com.hchen.hooktool.exception.UnexpectedException
 import com.hchen.hooktool.helper.CoreHelper
 import com.hchen.hooktool.hook.AbsHook
@@ -78,6 +82,7 @@ import java.util.Objects
  * - **类探测**：[hasClass]、[findClass]、[findClassIfExists]
  * - **方法查找与 Hook**：[findMethod]、[hookMethod]、[hookAllMethod]、[hookMethodIfExists]
  * - **构造函数查找与 Hook**：[findConstructor]、[hookConstructor]、[hookAllConstructor]
+ * - **描述符签名查找与 Hook**：[findMemberBySignature]、[hookBySignature]
  * - **字段读写**：[findField]、[getField]、[setField]、[getStaticField]、[setStaticField]
  * - **附加字段生命周期管理**：[setAdditionalInstanceField]、[setAdditionalStaticField]
  * - **反射调用与实例化**：[callStaticMethod]、[newInstance]
@@ -213,9 +218,7 @@ open class CoreTool : XposedLog() {
         fun Class<*>.hasAnyMethod(
             methodName: String
         ): Boolean {
-            return this.declaredMethods.any { method ->
-                methodName.contentEquals(method.name)
-            }
+            return CoreHelper.hasDeclaredMethod(this, methodName)
         }
 
         /**
@@ -358,9 +361,7 @@ open class CoreTool : XposedLog() {
         fun Class<*>.findAllMethod(
             methodName: String? = null
         ): Array<Method> {
-            return this.declaredMethods.filter {
-                methodName?.contentEquals(it.name) ?: true
-            }.toTypedArray()
+            return CoreHelper.getDeclaredMethods(this, methodName)
         }
 
         // -------------------------------- constructor ---------------------------------
@@ -511,7 +512,78 @@ open class CoreTool : XposedLog() {
          */
         @JvmStatic
         fun Class<*>.findAllConstructor(): Array<Constructor<*>> {
-            return this.declaredConstructors
+            return CoreHelper.getDeclaredConstructors(this)
+        }
+
+        // -------------------------------- signature ---------------------------------
+
+        /**
+         * 根据 JVM 描述符签名查找方法或构造函数，例如 `com.x.Foo#bar(ILjava/lang/String;)V`。
+         *
+         * 签名只在首次使用时解析一次，解析结果按签名与类加载器缓存，格式说明见 [MemberSignature]。
+         *
+         * @param signature 成员签名字符串。
+         * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+         * @return 已设为可访问状态的 [Method] 或 [Constructor] 对象。
+         * @throws NoSuchMethodError 未找到与签名一致的成员时抛出。
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun findMemberBySignature(
+            signature: String,
+            classLoader: ClassLoader? = ModuleData.getClassLoader()
+        ): Executable {
+            return CoreHelper.findMemberBySignature(signature, classLoader)
+        }
+
+        /**
+         * 根据 JVM 描述符签名查找方法或构造函数，未找到时返回 `null` 而非抛出异常。
+         *
+         * @param signature 成员签名字符串。
+         * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+         * @return [Method] 或 [Constructor] 对象；成员不存在时返回 `null`。
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun findMemberBySignatureIfExists(
+            signature: String,
+            classLoader: ClassLoader? = ModuleData.getClassLoader()
+        ): Executable? {
+            return CoreHelper.findMemberBySignatureIfExists(MemberSignature.of(signature), classLoader)
+        }
+
+        /**
+         * 根据 JVM 描述符签名查找方法。
+         *
+         * @param signature 方法签名字符串。
+         * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+         * @return 已设为可访问状态的 [Method] 对象。
+         * @throws NoSuchMethodError 未找到与签名一致的方法时抛出。
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun findMethodBySignature(
+            signature: String,
+            classLoader: ClassLoader? = ModuleData.getClassLoader()
+        ): Method {
+            return CoreHelper.findMethodBySignature(MemberSignature.of(signature), classLoader)
+        }
+
+        /**
+         * 根据 JVM 描述符签名查找构造函数，成员名需为 `<init>`。
+         *
+         * @param signature 构造函数签名字符串。
+         * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+         * @return 已设为可访问状态的 [Constructor] 对象。
+         * @throws NoSuchMethodError 未找到与签名一致的构造函数时抛出。
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun findConstructorBySignature(
+            signature: String,
+            classLoader: ClassLoader? = ModuleData.getClassLoader()
+        ): Constructor<*> {
+            return CoreHelper.findConstructorBySignature(MemberSignature.of(signature), classLoader)
         }
 
         // --------------------------------- field ----------------------------------
@@ -791,6 +863,47 @@ open class CoreTool : XposedLog() {
             return CoreHelper.removeAdditionalInstanceField(this, key)
         }
 
+        /**
+         * 在当前对象上动态附加一个类型化的实例字段。
+         *
+         * @param key 附加字段键，建议声明为常量复用。
+         * @param value 待关联的值。
+         * @return 该键先前关联的值；若此前未设置过则返回 `null`。
+         */
+        @JvmStatic
+        fun <T> Any.setAdditionalInstanceField(
+            key: AdditionalFieldKey<T>,
+            value: T?
+        ): T? {
+            return CoreHelper.setAdditionalInstanceField(this, key, value)
+        }
+
+        /**
+         * 读取当前对象上已附加的类型化实例字段值。
+         *
+         * @param key 附加字段键。
+         * @return 该键关联的值；若未设置则返回 `null`。
+         */
+        @JvmStatic
+        fun <T> Any.getAdditionalInstanceField(
+            key: AdditionalFieldKey<T>
+        ): T? {
+            return CoreHelper.getAdditionalInstanceField(this, key)
+        }
+
+        /**
+         * 移除当前对象上已附加的类型化实例字段。
+         *
+         * @param key 附加字段键。
+         * @return 被移除的值；若该键不存在则返回 `null`。
+         */
+        @JvmStatic
+        fun <T> Any.removeAdditionalInstanceField(
+            key: AdditionalFieldKey<T>
+        ): T? {
+            return CoreHelper.removeAdditionalInstanceField(this, key)
+        }
+
         // ------------------------------- static ------------------------------------
 
         /**
@@ -1207,6 +1320,47 @@ open class CoreTool : XposedLog() {
             return CoreHelper.removeAdditionalStaticField(this, key)
         }
 
+        /**
+         * 在当前 [Class] 上附加一个类型化的静态字段。
+         *
+         * @param key 附加字段键，建议声明为常量复用。
+         * @param value 待关联的值。
+         * @return 该键先前关联的值；若此前未设置过则返回 `null`。
+         */
+        @JvmStatic
+        fun <T> Class<*>.setAdditionalStaticField(
+            key: AdditionalFieldKey<T>,
+            value: T?
+        ): T? {
+            return CoreHelper.setAdditionalStaticField(this, key, value)
+        }
+
+        /**
+         * 读取当前 [Class] 上附加的类型化静态字段值。
+         *
+         * @param key 附加字段键。
+         * @return 该键关联的值；若未设置则返回 `null`。
+         */
+        @JvmStatic
+        fun <T> Class<*>.getAdditionalStaticField(
+            key: AdditionalFieldKey<T>
+        ): T? {
+            return CoreHelper.getAdditionalStaticField(this, key)
+        }
+
+        /**
+         * 移除当前 [Class] 上附加的类型化静态字段。
+         *
+         * @param key 附加字段键。
+         * @return 被移除的值；若该键不存在则返回 `null`。
+         */
+        @JvmStatic
+        fun <T> Class<*>.removeAdditionalStaticField(
+            key: AdditionalFieldKey<T>
+        ): T? {
+            return CoreHelper.removeAdditionalStaticField(this, key)
+        }
+
         // --------------------------------- hook ------------------------------------
 
         /**
@@ -1415,6 +1569,43 @@ open class CoreTool : XposedLog() {
             return this.findConstructorIfExists(*realParameterTypes)?.hook(absHook)
         }
 
+        /**
+         * 对 JVM 描述符签名所指向的方法或构造函数执行 Hook 操作。
+         *
+         * @param signature 成员签名字符串，格式见 [MemberSignature]。
+         * @param absHook Hook 回调的实现对象。
+         * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+         * @return [XposedInterface.HookHandle] Hook 句柄对象。
+         * @throws NoSuchMethodError 未找到与签名一致的成员时抛出。
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun hookBySignature(
+            signature: String,
+            absHook: AbsHook,
+            classLoader: ClassLoader? = ModuleData.getClassLoader()
+        ): XposedInterface.HookHandle {
+            return findMemberBySignature(signature, classLoader).hook(absHook)
+        }
+
+        /**
+         * 尝试对 JVM 描述符签名所指向的成员执行 Hook，成员不存在时返回 `null`。
+         *
+         * @param signature 成员签名字符串，格式见 [MemberSignature]。
+         * @param absHook Hook 回调的实现对象。
+         * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+         * @return [XposedInterface.HookHandle] Hook 句柄对象；若成员不存在则返回 `null`。
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun hookBySignatureIfExists(
+            signature: String,
+            absHook: AbsHook,
+            classLoader: ClassLoader? = ModuleData.getClassLoader()
+        ): XposedInterface.HookHandle? {
+            return findMemberBySignatureIfExists(signature, classLoader)?.hook(absHook)
+        }
+
         /**
          * 对当前 [Executable]（方法或构造函数）执行 Hook 操作。
          * <p>
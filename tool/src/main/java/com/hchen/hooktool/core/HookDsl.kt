@@ -0,0 +1,247 @@
+﻿/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.core
+
+import com.hchen.hooktool.ModuleData
+import com.hchen.hooktool.core.CoreTool.Companion.hook
+import com.hchen.hooktool.helper.CoreHelper
+import com.hchen.hooktool.hook.AbsHook
+import io.github.libxposed.api.XposedInterface
+
+/**
+ * 面向 Kotlin 的内联 Hook DSL。
+ *
+ * 与 [CoreTool] 中 `hookMethod(methodName, vararg parameterTypes: Any)` 形式的接口相比：
+ * - 参数类型通过 [params] 的具体化类型参数给出，编译后即为类常量，不再在运行时解析字符串，
+ *   也不再将参数类型与 [AbsHook] 混装进同一个 `Any` 数组再拆分复制；
+ * - `before` / `after` 为 `crossinline` 函数参数，其代码直接内联进生成的 [AbsHook] 子类的
+ *   [AbsHook.before] / [AbsHook.after] 中，不会经过额外的函数对象分发。
+ *
+ * ```kotlin
+ * hook<Activity>("onCreate", params<Bundle?>(), after = {
+ *     logI(TAG, "created: $thisObject")
+ * })
+ * hook("com.example.Foo", "bar", params<Int, String>(), before = {
+ *     result = true
+ * })
+ * hookConstructor<Foo>(params<Context>(), after = { ... })
+ * ```
+ *
+ * Kotlin 基本类型（如 `Int`）映射为 JVM 基本类型 `int`，可空类型（如 `Int?`）映射为对应的包装类型。
+ * 目标类或参数类型只能在运行时获得时，可改用 [params] 的 [Class] 可变参数重载。
+ *
+ * @author 焕晨HChen
+ */
+@JvmInline
+value class Params @PublishedApi internal constructor(
+    @PublishedApi internal val types: Array<out Class<*>>
+) {
+    companion object {
+        /**
+         * 无参数。
+         */
+        val NONE = Params(arrayOf())
+    }
+}
+
+/**
+ * 以运行时获得的 [Class] 构建参数类型列表。
+ */
+fun params(vararg types: Class<*>): Params = if (types.isEmpty()) Params.NONE else Params(types)
+
+/**
+ * 以具体化类型参数构建参数类型列表，各类型在编译期确定。
+ */
+@JvmName("params1")
+inline fun <reified P1> params(): Params =
+    Params(arrayOf(jvmTypeOf<P1>()))
+
+@JvmName("params2")
+inline fun <reified P1, reified P2> params(): Params =
+    Params(arrayOf(jvmTypeOf<P1>(), jvmTypeOf<P2>()))
+
+@JvmName("params3")
+inline fun <reified P1, reified P2, reified P3> params(): Params =
+    Params(arrayOf(jvmTypeOf<P1>(), jvmTypeOf<P2>(), jvmTypeOf<P3>()))
+
+@JvmName("params4")
+inline fun <reified P1, reified P2, reified P3, reified P4> params(): Params =
+    Params(arrayOf(jvmTypeOf<P1>(), jvmTypeOf<P2>(), jvmTypeOf<P3>(), jvmTypeOf<P4>()))
+
+@JvmName("params5")
+inline fun <reified P1, reified P2, reified P3, reified P4, reified P5> params(): Params =
+    Params(arrayOf(jvmTypeOf<P1>(), jvmTypeOf<P2>(), jvmTypeOf<P3>(), jvmTypeOf<P4>(), jvmTypeOf<P5>()))
+
+@JvmName("params6")
+inline fun <reified P1, reified P2, reified P3, reified P4, reified P5, reified P6> params(): Params =
+    Params(arrayOf(jvmTypeOf<P1>(), jvmTypeOf<P2>(), jvmTypeOf<P3>(), jvmTypeOf<P4>(), jvmTypeOf<P5>(), jvmTypeOf<P6>()))
+
+/**
+ * 获取具体化类型对应的 JVM 类型：非空的 Kotlin 基本类型映射为 JVM 基本类型，其余保持不变。
+ */
+@PublishedApi
+internal inline fun <reified T> jvmTypeOf(): Class<*> {
+    val type = T::class.java
+    return if (null is T) type else toPrimitiveType(type)
+}
+
+@PublishedApi
+internal fun toPrimitiveType(type: Class<*>): Class<*> {
+    return when (type) {
+        Int::class.javaObjectType -> Int::class.javaPrimitiveType!!
+        Long::class.javaObjectType -> Long::class.javaPrimitiveType!!
+        Boolean::class.javaObjectType -> Boolean::class.javaPrimitiveType!!
+        Float::class.javaObjectType -> Float::class.javaPrimitiveType!!
+        Double::class.javaObjectType -> Double::class.javaPrimitiveType!!
+        Byte::class.javaObjectType -> Byte::class.javaPrimitiveType!!
+        Short::class.javaObjectType -> Short::class.javaPrimitiveType!!
+        Char::class.javaObjectType -> Char::class.javaPrimitiveType!!
+        else -> type
+    }
+}
+
+// -------------------------------- method ---------------------------------
+
+/**
+ * Hook 具体化类型 [T] 中精确匹配的方法。
+ *
+ * @param methodName 方法名称。
+ * @param params     参数类型列表，默认为无参数。
+ * @param before     前置回调，内联为 [AbsHook.before]。
+ * @param after      后置回调，内联为 [AbsHook.after]。
+ * @return [XposedInterface.HookHandle] Hook 句柄对象。
+ * @throws NoSuchMethodError 未找到精确匹配的方法时抛出。
+ */
+inline fun <reified T : Any> hook(
+    methodName: String,
+    params: Params = Params.NONE,
+    crossinline before: AbsHook.() -> Unit = {},
+    crossinline after: AbsHook.() -> Unit = {}
+): XposedInterface.HookHandle {
+    return hook(T::class.java, methodName, params, before, after)
+}
+
+/**
+ * Hook 指定类名对应类中精确匹配的方法。
+ *
+ * @param className   目标类名。
+ * @param methodName  方法名称。
+ * @param params      参数类型列表，默认为无参数。
+ * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+ * @param before      前置回调，内联为 [AbsHook.before]。
+ * @param after       后置回调，内联为 [AbsHook.after]。
+ * @return [XposedInterface.HookHandle] Hook 句柄对象。
+ * @throws NoSuchMethodError 未找到精确匹配的方法时抛出。
+ */
+inline fun hook(
+    className: String,
+    methodName: String,
+    params: Params = Params.NONE,
+    classLoader: ClassLoader? = ModuleData.getClassLoader(),
+    crossinline before: AbsHook.() -> Unit = {},
+    crossinline after: AbsHook.() -> Unit = {}
+): XposedInterface.HookHandle {
+    return hook(CoreHelper.findClass(className, classLoader), methodName, params, before, after)
+}
+
+/**
+ * Hook 指定类中精确匹配的方法。
+ *
+ * @param clazz      目标类。
+ * @param methodName 方法名称。
+ * @param params     参数类型列表，默认为无参数。
+ * @param before     前置回调，内联为 [AbsHook.before]。
+ * @param after      后置回调，内联为 [AbsHook.after]。
+ * @return [XposedInterface.HookHandle] Hook 句柄对象。
+ * @throws NoSuchMethodError 未找到精确匹配的方法时抛出。
+ */
+inline fun hook(
+    clazz: Class<*>,
+    methodName: String,
+    params: Params = Params.NONE,
+    crossinline before: AbsHook.() -> Unit = {},
+    crossinline after: AbsHook.() -> Unit = {}
+): XposedInterface.HookHandle {
+    return CoreHelper.findMethodExactWithTypes(clazz, methodName, params.types).hook(object : AbsHook() {
+        override fun before() = before(this)
+        override fun after() = after(this)
+    })
+}
+
+// ------------------------------ constructor -------------------------------
+
+/**
+ * Hook 具体化类型 [T] 中精确匹配的构造函数。
+ *
+ * @param params 参数类型列表，默认为无参数。
+ * @param before 前置回调，内联为 [AbsHook.before]。
+ * @param after  后置回调，内联为 [AbsHook.after]。
+ * @return [XposedInterface.HookHandle] Hook 句柄对象。
+ * @throws NoSuchMethodError 未找到精确匹配的构造函数时抛出。
+ */
+inline fun <reified T : Any> hookConstructor(
+    params: Params = Params.NONE,
+    crossinline before: AbsHook.() -> Unit = {},
+    crossinline after: AbsHook.() -> Unit = {}
+): XposedInterface.HookHandle {
+    return hookConstructor(T::class.java, params, before, after)
+}
+
+/**
+ * Hook 指定类名对应类中精确匹配的构造函数。
+ *
+ * @param className   目标类名。
+ * @param params      参数类型列表，默认为无参数。
+ * @param classLoader 用以加载目标类的 [ClassLoader]，默认值取自 [ModuleData.getClassLoader]。
+ * @param before      前置回调，内联为 [AbsHook.before]。
+ * @param after       后置回调，内联为 [AbsHook.after]。
+ * @return [XposedInterface.HookHandle] Hook 句柄对象。
+ * @throws NoSuchMethodError 未找到精确匹配的构造函数时抛出。
+ */
+inline fun hookConstructor(
+    className: String,
+    params: Params = Params.NONE,
+    classLoader: ClassLoader? = ModuleData.getClassLoader(),
+    crossinline before: AbsHook.() -> Unit = {},
+    crossinline after: AbsHook.() -> Unit = {}
+): XposedInterface.HookHandle {
+    return hookConstructor(CoreHelper.findClass(className, classLoader), params, before, after)
+}
+
+/**
+ * Hook 指定类中精确匹配的构造函数。
+ *
+ * @param clazz  目标类。
+ * @param params 参数类型列表，默认为无参数。
+ * @param before 前置回调，内联为 [AbsHook.before]。
+ * @param after  后置回调，内联为 [AbsHook.after]。
+ * @return [XposedInterface.HookHandle] Hook 句柄对象。
+ * @throws NoSuchMethodError 未找到精确匹配的构造函数时抛出。
+ */
+inline fun hookConstructor(
+    clazz: Class<*>,
+    params: Params = Params.NONE,
+    crossinline before: AbsHook.() -> Unit = {},
+    crossinline after: AbsHook.() -> Unit = {}
+): XposedInterface.HookHandle {
+    return CoreHelper.findConstructorExactWithTypes(clazz, params.types).hook(object : AbsHook() {
+        override fun before() = before(this)
+        override fun after() = after(this)
+    })
+}
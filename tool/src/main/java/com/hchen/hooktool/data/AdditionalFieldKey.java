@@ -0,0 +1,120 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 附加字段的类型化键。
+ * <p>
+ * 每个键在声明时被分配一个全局唯一的槽位序号，附加字段存储以该序号直接定位数值，
+ * 读写过程中无需再计算字符串哈希或比较键名。同名的键会被驻留为同一实例，
+ * 以字符串形式访问附加字段的旧接口在键名已声明时与类型化接口共享同一个值。
+ * <p>
+ * 槽位一经分配不会回收，且每个持有附加字段的对象都按最大序号分配数组，
+ * 因此只应为数量固定的键调用 {@link #of(String)}，不要以动态生成的键名声明键。
+ * <p>
+ * 建议将键声明为常量以便在热路径中复用：
+ * <pre>{@code
+ * private static final AdditionalFieldKey<Integer> DRAW_COUNT = AdditionalFieldKey.of("draw_count");
+ * }</pre>
+ *
+ * @param <T> 键所关联的值类型
+ * @author 焕晨HChen
+ */
+public final class AdditionalFieldKey<T> {
+    private static final ConcurrentHashMap<String, AdditionalFieldKey<?>> keys = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextIndex = new AtomicInteger();
+
+    @NonNull
+    private final String name;
+    private final int index;
+
+    private AdditionalFieldKey(@NonNull String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * 获取指定名称对应的键，不存在时创建。
+     * <p>
+     * 同名的键始终返回同一实例；调用方需自行保证同名键上使用一致的值类型。
+     *
+     * @param name 键名
+     * @param <T>  键所关联的值类型
+     * @return 驻留的键实例
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <T> AdditionalFieldKey<T> of(@NonNull String name) {
+        AdditionalFieldKey<?> key = keys.get(name);
+        if (key == null) {
+            key = keys.computeIfAbsent(name, n -> new AdditionalFieldKey<>(n, nextIndex.getAndIncrement()));
+        }
+        return (AdditionalFieldKey<T>) key;
+    }
+
+    /**
+     * 获取已声明的同名键，不会创建新键。
+     *
+     * @param name 键名
+     * @return 已声明的键；未声明时返回 {@code null}
+     */
+    @Nullable
+    public static AdditionalFieldKey<?> find(@NonNull String name) {
+        return keys.get(name);
+    }
+
+    /**
+     * 获取键名。
+     *
+     * @return 键名
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取键的槽位序号。
+     *
+     * @return 全局唯一的槽位序号
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "AdditionalFieldKey{" +
+            "name='" + name + '\'' +
+            ", index=" + index +
+            '}';
+    }
+}
@@ -33,13 +33,14 @@ import java.util.function.Function;
  * 该类持有查找类型（{@link ChainType}）、目标方法名、参数类型列表、可执行对象引用、
  * Hook 回调实例（{@link AbsHook}）以及异常处理策略等关键字段。
  * <p>
- * 通过不同的构造方法可分别创建以下五种场景的数据实例：
+ * 通过不同的构造方法可分别创建以下六种场景的数据实例：
  * <ul>
  *   <li>按方法名与参数类型精确查找单一方法</li>
  *   <li>仅按方法名查找所有同名方法</li>
  *   <li>按参数类型精确查找单一构造函数</li>
  *   <li>查找目标类中的全部构造函数</li>
  *   <li>直接使用已有的可执行对象引用（跳过查找阶段）</li>
+ *   <li>按 JVM 签名精确查找方法或构造函数</li>
  * </ul>
  *
  * @author 焕晨HChen
@@ -47,6 +48,12 @@ import java.util.function.Function;
 public final class ChainData {
     // -------------------------- Data ------------------------------
 
+    /**
+     * 目标类，由 {@code ChainTool} 在创建数据实例后填入，参与相等性判断，
+     * 使来自不同类的同名同参数链式数据不会被误判为重复。
+     */
+    public Class<?> clazz;
+
     /**
      * 当前链式调用所采用的查找策略类型，运行时据此决定执行哪种方法查找逻辑。
      */
@@ -160,13 +167,40 @@ public final class ChainData {
         this.chainType = ChainType.EXECUTABLE;
     }
 
+    // ----------------------- Signature ----------------------------
+
+    /**
+     * 目标成员的 JVM 签名。
+     */
+    public MemberSignature signature;
+
+    /**
+     * 解析签名所使用的类加载器。
+     */
+    public ClassLoader classLoader;
+
+    /**
+     * 构造用于"按 JVM 签名精确查找方法或构造函数"场景的数据实例。
+     * <p>
+     * 查找策略自动设为 {@link ChainType#SIGNATURE}。
+     *
+     * @param signature   目标成员的签名
+     * @param classLoader 解析签名所使用的类加载器
+     */
+    public ChainData(@NonNull MemberSignature signature, ClassLoader classLoader) {
+        this.signature = signature;
+        this.classLoader = classLoader;
+        this.chainType = ChainType.SIGNATURE;
+    }
+
     // ---------------------------------------------------------------
 
     @NonNull
     @Override
     public String toString() {
         return "ChainData{" +
-            "chainType=" + chainType +
+            "clazz=" + clazz +
+            ", chainType=" + chainType +
             ", executables=" + Arrays.toString(executables) +
             ", absHook=" + absHook +
             ", throwable=" + throwable +
@@ -175,6 +209,8 @@ public final class ChainData {
             ", parameterTypes=" + Arrays.toString(parameterTypes) +
             ", executable=" + executable +
             ", methodName='" + methodName + '\'' +
+            ", signature=" + signature +
+            ", classLoader=" + classLoader +
             '}';
     }
 
@@ -182,19 +218,25 @@ public final class ChainData {
     public boolean equals(Object object) {
         if (!(object instanceof ChainData chainData)) return false;
 
-        return chainType == chainData.chainType &&
+        return Objects.equals(clazz, chainData.clazz) &&
+            chainType == chainData.chainType &&
             Arrays.deepEquals(parameterTypes, chainData.parameterTypes) &&
             Objects.equals(executable, chainData.executable) &&
-            Objects.equals(methodName, chainData.methodName);
+            Objects.equals(methodName, chainData.methodName) &&
+            Objects.equals(signature, chainData.signature) &&
+            Objects.equals(classLoader, chainData.classLoader);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(
+            clazz,
             chainType,
             Arrays.deepHashCode(parameterTypes),
             executable,
-            methodName
+            methodName,
+            signature,
+            classLoader
         );
     }
 }
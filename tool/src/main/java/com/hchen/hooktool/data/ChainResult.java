@@ -0,0 +1,96 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import io.github.libxposed.api.XposedInterface;
+
+/**
+ * 批量链式 Hook 中单条链式数据的执行结果。
+ *
+ * @param chainData   对应的链式数据
+ * @param status      执行状态
+ * @param hookHandles 已安装的 Hook 句柄；安装中途失败时为失败前已安装的部分
+ * @param throwable   查找或安装阶段的异常，仅在 {@link Status#SKIPPED} 或 {@link Status#FAILED} 时存在
+ * @author 焕晨HChen
+ * @noinspection DeconstructionCanBeUsed
+ */
+public record ChainResult(@NonNull ChainData chainData, @NonNull Status status,
+                          @NonNull XposedInterface.HookHandle[] hookHandles, @Nullable Throwable throwable) {
+    /**
+     * 链式数据的执行状态。
+     */
+    public enum Status {
+        /**
+         * 查找成功并已安装 Hook。
+         */
+        HOOKED,
+        /**
+         * 查找失败，但异常已被 {@code ignoreThrow} 或 {@code onThrow} 处理。
+         */
+        SKIPPED,
+        /**
+         * 与同一批次中更早登记的链式数据完全相同，未重复执行。
+         */
+        DUPLICATE,
+        /**
+         * 查找或安装失败，且异常未被处理。
+         */
+        FAILED
+    }
+
+    /**
+     * 判断该链式数据是否已成功安装 Hook。
+     *
+     * @return 状态为 {@link Status#HOOKED} 时返回 {@code true}
+     */
+    public boolean isHooked() {
+        return status == Status.HOOKED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ChainResult that)) return false;
+        return Objects.equals(chainData, that.chainData) &&
+            status == that.status &&
+            Arrays.equals(hookHandles, that.hookHandles) &&
+            Objects.equals(throwable, that.throwable);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chainData, status, Arrays.hashCode(hookHandles), throwable);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ChainResult{" +
+            "chainData=" + chainData +
+            ", status=" + status +
+            ", hookHandles=" + Arrays.toString(hookHandles) +
+            ", throwable=" + throwable +
+            '}';
+    }
+}
@@ -46,5 +46,10 @@ public enum ChainType {
     /**
      * 查找目标类中声明的全部构造函数。
      */
-    FIND_ALL_CONSTRUCTOR
+    FIND_ALL_CONSTRUCTOR,
+    /**
+     * 按 {@link MemberSignature} 描述的 JVM 签名精确查找方法或构造函数，
+     * 目标类由签名给出，仅用于 {@code ChainBatch} 批量模式。
+     */
+    SIGNATURE
 }
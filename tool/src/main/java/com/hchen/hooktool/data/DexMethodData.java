@@ -0,0 +1,95 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Dex 扫描命中的方法记录。
+ * <p>
+ * 记录仅包含 dex 中的描述信息，构造时不会加载任何类；需要反射对象时可通过
+ * {@link #toSignature()} 交由签名查找接口解析。
+ *
+ * @param className      声明类的二进制名称
+ * @param methodName     方法名，构造函数为 {@code <init>}
+ * @param parameterTypes 参数的 JVM 类型描述符
+ * @param returnType     返回值的 JVM 类型描述符
+ * @param accessFlags    dex 中记录的访问标志
+ * @param dexIndex       所在 dex 在安装包中的序号（{@code classes.dex} 为 0）
+ * @author 焕晨HChen
+ * @noinspection DeconstructionCanBeUsed
+ */
+public record DexMethodData(@NonNull String className, @NonNull String methodName,
+                            @NonNull String[] parameterTypes, @NonNull String returnType,
+                            int accessFlags, int dexIndex) {
+    /**
+     * 判断该方法是否为构造函数。
+     *
+     * @return 方法名为 {@code <init>} 时返回 {@code true}
+     */
+    public boolean isConstructor() {
+        return MemberSignature.CONSTRUCTOR_NAME.equals(methodName);
+    }
+
+    /**
+     * 转换为驻留的成员签名。
+     *
+     * @return 成员签名
+     */
+    @NonNull
+    public MemberSignature toSignature() {
+        StringBuilder sb = new StringBuilder(className).append('#').append(methodName).append('(');
+        for (String parameterType : parameterTypes) {
+            sb.append(parameterType);
+        }
+        return MemberSignature.of(sb.append(')').append(returnType).toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof DexMethodData that)) return false;
+        return accessFlags == that.accessFlags &&
+            dexIndex == that.dexIndex &&
+            Objects.equals(className, that.className) &&
+            Objects.equals(methodName, that.methodName) &&
+            Arrays.equals(parameterTypes, that.parameterTypes) &&
+            Objects.equals(returnType, that.returnType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(className, methodName, Arrays.hashCode(parameterTypes), returnType, accessFlags, dexIndex);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DexMethodData{" +
+            "className='" + className + '\'' +
+            ", methodName='" + methodName + '\'' +
+            ", parameterTypes=" + Arrays.toString(parameterTypes) +
+            ", returnType='" + returnType + '\'' +
+            ", accessFlags=" + accessFlags +
+            ", dexIndex=" + dexIndex +
+            '}';
+    }
+}
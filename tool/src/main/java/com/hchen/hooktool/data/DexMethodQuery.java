@@ -0,0 +1,335 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dex 层面的方法结构化查询条件。
+ * <p>
+ * 所有条件之间为“与”关系，未设置的条件不参与匹配。类型名称支持以下写法：
+ * <ul>
+ *   <li>基本类型关键字，如 {@code int}、{@code void}</li>
+ *   <li>二进制类名，如 {@code com.x.Foo$Inner}</li>
+ *   <li>源码风格数组，如 {@code int[]}、{@code java.lang.String[][]}</li>
+ *   <li>JVM 描述符，如 {@code [I}、{@code Ljava/lang/String;}</li>
+ * </ul>
+ * 调用的方法使用 {@link MemberSignature} 的签名格式，返回值描述符可省略。
+ * <pre>{@code
+ * DexMethodQuery query = new DexMethodQuery()
+ *     .returnType("void")
+ *     .parameterTypes("android.content.Context", "int")
+ *     .usingStrings("show_notification")
+ *     .invokeMethods("android.util.Log#d(Ljava/lang/String;Ljava/lang/String;)I")
+ *     .excludeAccessFlags(Modifier.STATIC);
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ */
+public final class DexMethodQuery {
+    @Nullable
+    private String declaringClass;
+    @Nullable
+    private String methodName;
+    @Nullable
+    private String returnType;
+    @Nullable
+    private String[] parameterTypes;
+    private int parameterCount = -1;
+    private int requiredAccessFlags;
+    private int excludedAccessFlags;
+    private final Set<String> usingStrings = new LinkedHashSet<>();
+    private final List<MemberSignature> invokedMethods = new ArrayList<>();
+
+    /**
+     * 限定方法所在的类。
+     *
+     * @param className 类名
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery declaringClass(@NonNull String className) {
+        this.declaringClass = toDescriptor(className);
+        return this;
+    }
+
+    /**
+     * 限定方法名。
+     *
+     * @param methodName 方法名
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery methodName(@NonNull String methodName) {
+        this.methodName = methodName;
+        return this;
+    }
+
+    /**
+     * 限定返回值类型。
+     *
+     * @param typeName 类型名称
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery returnType(@NonNull String typeName) {
+        this.returnType = toDescriptor(typeName);
+        return this;
+    }
+
+    /**
+     * 限定返回值类型。
+     *
+     * @param type 类型
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery returnType(@NonNull Class<?> type) {
+        return returnType(type.getName());
+    }
+
+    /**
+     * 限定完整的参数类型列表（同时限定参数个数）。
+     *
+     * @param typeNames 参数类型名称
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery parameterTypes(@NonNull String... typeNames) {
+        String[] descriptors = new String[typeNames.length];
+        for (int i = 0; i < typeNames.length; i++) {
+            descriptors[i] = toDescriptor(typeNames[i]);
+        }
+        this.parameterTypes = descriptors;
+        this.parameterCount = descriptors.length;
+        return this;
+    }
+
+    /**
+     * 限定完整的参数类型列表（同时限定参数个数）。
+     *
+     * @param types 参数类型
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery parameterTypes(@NonNull Class<?>... types) {
+        String[] typeNames = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            typeNames[i] = types[i].getName();
+        }
+        return parameterTypes(typeNames);
+    }
+
+    /**
+     * 仅限定参数个数。
+     *
+     * @param count 参数个数
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery parameterCount(int count) {
+        this.parameterCount = count;
+        return this;
+    }
+
+    /**
+     * 要求方法体中通过 {@code const-string} 引用了全部给定的字符串常量。
+     *
+     * @param strings 字符串常量
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery usingStrings(@NonNull String... strings) {
+        usingStrings.addAll(Arrays.asList(strings));
+        return this;
+    }
+
+    /**
+     * 要求方法体中调用了全部给定的方法。
+     *
+     * @param signatures 被调用方法的签名，格式见 {@link MemberSignature}
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery invokeMethods(@NonNull String... signatures) {
+        for (String signature : signatures) {
+            invokedMethods.add(MemberSignature.of(signature));
+        }
+        return this;
+    }
+
+    /**
+     * 要求方法包含全部给定的访问标志，取值同 {@link java.lang.reflect.Modifier}。
+     *
+     * @param flags 访问标志
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery accessFlags(int flags) {
+        this.requiredAccessFlags |= flags;
+        return this;
+    }
+
+    /**
+     * 要求方法不包含任何给定的访问标志，取值同 {@link java.lang.reflect.Modifier}。
+     *
+     * @param flags 访问标志
+     * @return 当前查询
+     */
+    @NonNull
+    public DexMethodQuery excludeAccessFlags(int flags) {
+        this.excludedAccessFlags |= flags;
+        return this;
+    }
+
+    // -------------------------- Getter ------------------------------
+
+    /**
+     * @return 声明类的类型描述符；未限定时返回 {@code null}
+     */
+    @Nullable
+    public String getDeclaringClass() {
+        return declaringClass;
+    }
+
+    /**
+     * @return 方法名；未限定时返回 {@code null}
+     */
+    @Nullable
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return 返回值的类型描述符；未限定时返回 {@code null}
+     */
+    @Nullable
+    public String getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * @return 参数的类型描述符数组；未限定时返回 {@code null}
+     */
+    @Nullable
+    public String[] getParameterTypes() {
+        return parameterTypes == null ? null : parameterTypes.clone();
+    }
+
+    /**
+     * @return 参数个数；未限定时返回 {@code -1}
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @return 必须包含的访问标志
+     */
+    public int getRequiredAccessFlags() {
+        return requiredAccessFlags;
+    }
+
+    /**
+     * @return 必须排除的访问标志
+     */
+    public int getExcludedAccessFlags() {
+        return excludedAccessFlags;
+    }
+
+    /**
+     * @return 方法体中必须引用的字符串常量
+     */
+    @NonNull
+    public String[] getUsingStrings() {
+        return usingStrings.toArray(new String[0]);
+    }
+
+    /**
+     * @return 方法体中必须调用的方法
+     */
+    @NonNull
+    public MemberSignature[] getInvokedMethods() {
+        return invokedMethods.toArray(new MemberSignature[0]);
+    }
+
+    /**
+     * 判断查询是否需要检查方法体。
+     *
+     * @return 设置了字符串或调用条件时返回 {@code true}
+     */
+    public boolean needsCode() {
+        return !usingStrings.isEmpty() || !invokedMethods.isEmpty();
+    }
+
+    /**
+     * 将类型名称转换为 JVM 类型描述符。
+     *
+     * @param typeName 类型名称，写法见类注释
+     * @return 类型描述符
+     */
+    @NonNull
+    public static String toDescriptor(@NonNull String typeName) {
+        String name = typeName.trim();
+        if (name.startsWith("[")) return name.replace('.', '/');
+        if (name.length() > 2 && name.startsWith("L") && name.endsWith(";")) return name.replace('.', '/');
+
+        StringBuilder sb = new StringBuilder();
+        while (name.endsWith("[]")) {
+            sb.append('[');
+            name = name.substring(0, name.length() - 2);
+        }
+        switch (name) {
+            case "boolean" -> sb.append('Z');
+            case "byte" -> sb.append('B');
+            case "char" -> sb.append('C');
+            case "short" -> sb.append('S');
+            case "int" -> sb.append('I');
+            case "long" -> sb.append('J');
+            case "float" -> sb.append('F');
+            case "double" -> sb.append('D');
+            case "void" -> sb.append('V');
+            default -> sb.append('L').append(name.replace('.', '/')).append(';');
+        }
+        return sb.toString();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DexMethodQuery{" +
+            "declaringClass='" + declaringClass + '\'' +
+            ", methodName='" + methodName + '\'' +
+            ", returnType='" + returnType + '\'' +
+            ", parameterTypes=" + Arrays.toString(parameterTypes) +
+            ", parameterCount=" + parameterCount +
+            ", requiredAccessFlags=" + requiredAccessFlags +
+            ", excludedAccessFlags=" + excludedAccessFlags +
+            ", usingStrings=" + usingStrings +
+            ", invokedMethods=" + invokedMethods +
+            '}';
+    }
+}
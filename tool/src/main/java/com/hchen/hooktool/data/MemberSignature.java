@@ -0,0 +1,330 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 以 JVM 描述符表示的成员签名。
+ * <p>
+ * 签名格式为 {@code 类名#成员名(参数描述符)返回值描述符}，例如：
+ * <pre>{@code
+ * com.x.Foo#bar(ILjava/lang/String;)V
+ * com.x.Foo$Inner#<init>([BZ)
+ * }</pre>
+ * <ul>
+ *   <li>类名使用二进制名称，{@code .} 与 {@code /} 均可作为包分隔符，内部类需使用 {@code $}</li>
+ *   <li>成员名为 {@code <init>} 时表示构造函数</li>
+ *   <li>返回值描述符可省略；给出时查找结果还需满足返回值类型一致</li>
+ * </ul>
+ * 签名在首次创建时被解析一次并驻留，只要实例仍被引用，相同字符串始终返回同一实例，
+ * 因此可以直接作为缓存键使用（比较与哈希均基于对象身份）。驻留表只以弱引用持有实例，
+ * 不再被使用的签名会被回收，驻留表不会随着出现过的签名数量无限增长。
+ * 解析得到的类型名称均为 {@link Class#forName(String)} 可直接接受的形式，
+ * 解析阶段不再需要任何字符串转换。
+ *
+ * @author 焕晨HChen
+ */
+public final class MemberSignature {
+    /**
+     * 构造函数的成员名。
+     */
+    public static final String CONSTRUCTOR_NAME = "<init>";
+
+    private static final ConcurrentHashMap<String, SignatureReference> signatures = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<MemberSignature> queue = new ReferenceQueue<>();
+
+    @NonNull
+    private final String descriptor;
+    @NonNull
+    private final String className;
+    @NonNull
+    private final String memberName;
+    @NonNull
+    private final String[] parameterTypeNames;
+    @NonNull
+    private final String[] parameterDescriptors;
+    @Nullable
+    private final String returnTypeName;
+    @Nullable
+    private final String returnDescriptor;
+
+    private MemberSignature(@NonNull String descriptor) {
+        this.descriptor = descriptor;
+
+        int hash = descriptor.indexOf('#');
+        int open = descriptor.indexOf('(', hash + 1);
+        int close = descriptor.indexOf(')', open + 1);
+        if (hash <= 0 || open <= hash + 1 || close == -1)
+            throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+
+        className = descriptor.substring(0, hash).replace('/', '.');
+        memberName = descriptor.substring(hash + 1, open);
+
+        ArrayList<String> parameters = new ArrayList<>();
+        int i = open + 1;
+        while (i < close) {
+            int end = descriptorEnd(descriptor, i, close);
+            if (descriptor.charAt(i) == 'V')
+                throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+            parameters.add(descriptor.substring(i, end));
+            i = end;
+        }
+        parameterDescriptors = parameters.toArray(new String[0]);
+        parameterTypeNames = new String[parameterDescriptors.length];
+        for (int j = 0; j < parameterDescriptors.length; j++) {
+            parameterTypeNames[j] = toTypeName(parameterDescriptors[j]);
+        }
+
+        if (close + 1 == descriptor.length()) {
+            returnDescriptor = null;
+            returnTypeName = null;
+        } else {
+            int end = descriptorEnd(descriptor, close + 1, descriptor.length());
+            if (end != descriptor.length())
+                throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+            returnDescriptor = descriptor.substring(close + 1);
+            returnTypeName = toTypeName(returnDescriptor);
+        }
+
+        if (isConstructor() && returnTypeName != null && !"void".equals(returnTypeName))
+            throw new IllegalArgumentException("Constructor signature must return void: " + descriptor);
+    }
+
+    /**
+     * 获取指定描述符对应的签名，首次调用时解析并驻留。
+     *
+     * @param descriptor 成员签名字符串
+     * @return 驻留的签名实例
+     * @throws IllegalArgumentException 签名格式不合法时抛出
+     */
+    @NonNull
+    public static MemberSignature of(@NonNull String descriptor) {
+        SignatureReference reference = signatures.get(descriptor);
+        MemberSignature signature = reference == null ? null : reference.get();
+        if (signature != null) return signature;
+
+        expungeStaleSignatures();
+        MemberSignature created = new MemberSignature(descriptor);
+        SignatureReference createdReference = new SignatureReference(created, queue);
+        while (true) {
+            reference = signatures.putIfAbsent(descriptor, createdReference);
+            if (reference == null) return created;
+
+            // 其他线程已驻留同一签名时使用其实例，已被回收的旧条目则直接替换
+            signature = reference.get();
+            if (signature != null) return signature;
+            if (signatures.replace(descriptor, reference, createdReference)) return created;
+        }
+    }
+
+    /**
+     * 移除实例已被回收的驻留条目。
+     */
+    private static void expungeStaleSignatures() {
+        Reference<? extends MemberSignature> reference;
+        while ((reference = queue.poll()) != null) {
+            SignatureReference stale = (SignatureReference) reference;
+            signatures.remove(stale.descriptor, stale);
+        }
+    }
+
+    /**
+     * 获取描述符中从 {@code start} 开始的单个类型描述符的结束位置。
+     */
+    private static int descriptorEnd(@NonNull String descriptor, int start, int limit) {
+        int i = start;
+        while (i < limit && descriptor.charAt(i) == '[') i++;
+        if (i >= limit)
+            throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+
+        switch (descriptor.charAt(i)) {
+            case 'Z', 'B', 'C', 'S', 'I', 'J', 'F', 'D' -> {
+                return i + 1;
+            }
+            case 'V' -> {
+                if (i != start)
+                    throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+                return i + 1;
+            }
+            case 'L' -> {
+                int semicolon = descriptor.indexOf(';', i + 1);
+                if (semicolon == -1 || semicolon >= limit || semicolon == i + 1)
+                    throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+                return semicolon + 1;
+            }
+            default -> throw new IllegalArgumentException("Invalid member signature: " + descriptor);
+        }
+    }
+
+    /**
+     * 将单个类型描述符转换为可被 {@link Class#forName(String)} 接受的名称；基本类型转换为关键字形式。
+     */
+    @NonNull
+    private static String toTypeName(@NonNull String descriptor) {
+        char first = descriptor.charAt(0);
+        if (first == '[') return descriptor.replace('/', '.');
+        if (first == 'L') return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        return switch (first) {
+            case 'Z' -> "boolean";
+            case 'B' -> "byte";
+            case 'C' -> "char";
+            case 'S' -> "short";
+            case 'I' -> "int";
+            case 'J' -> "long";
+            case 'F' -> "float";
+            case 'D' -> "double";
+            default -> "void";
+        };
+    }
+
+    /**
+     * 获取原始签名字符串。
+     *
+     * @return 签名字符串
+     */
+    @NonNull
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * 获取声明类的二进制名称。
+     *
+     * @return 类名
+     */
+    @NonNull
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * 获取成员名；构造函数为 {@link #CONSTRUCTOR_NAME}。
+     *
+     * @return 成员名
+     */
+    @NonNull
+    public String getMemberName() {
+        return memberName;
+    }
+
+    /**
+     * 判断签名是否表示构造函数。
+     *
+     * @return 表示构造函数时返回 {@code true}
+     */
+    public boolean isConstructor() {
+        return CONSTRUCTOR_NAME.equals(memberName);
+    }
+
+    /**
+     * 获取参数个数。
+     *
+     * @return 参数个数
+     */
+    public int getParameterCount() {
+        return parameterTypeNames.length;
+    }
+
+    /**
+     * 获取第 {@code index} 个参数的类型名称。
+     * <p>
+     * 基本类型为关键字形式（如 {@code int}），数组为 {@code [Ljava.lang.String;} 形式，其余为二进制类名。
+     *
+     * @param index 参数下标
+     * @return 类型名称
+     */
+    @NonNull
+    public String getParameterTypeName(int index) {
+        return parameterTypeNames[index];
+    }
+
+    /**
+     * 获取全部参数的类型名称。
+     *
+     * @return 类型名称数组副本
+     */
+    @NonNull
+    public String[] getParameterTypeNames() {
+        return parameterTypeNames.clone();
+    }
+
+    /**
+     * 获取第 {@code index} 个参数的 JVM 类型描述符，例如 {@code I}、{@code Ljava/lang/String;}。
+     *
+     * @param index 参数下标
+     * @return 类型描述符
+     */
+    @NonNull
+    public String getParameterDescriptor(int index) {
+        return parameterDescriptors[index];
+    }
+
+    /**
+     * 获取返回值的 JVM 类型描述符。
+     *
+     * @return 类型描述符；签名未指定返回值时返回 {@code null}
+     */
+    @Nullable
+    public String getReturnDescriptor() {
+        return returnDescriptor;
+    }
+
+    /**
+     * 获取返回值类型名称，格式同 {@link #getParameterTypeName(int)}。
+     *
+     * @return 返回值类型名称；签名未指定返回值时返回 {@code null}
+     */
+    @Nullable
+    public String getReturnTypeName() {
+        return returnTypeName;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "MemberSignature{" +
+            "className='" + className + '\'' +
+            ", memberName='" + memberName + '\'' +
+            ", parameterTypeNames=" + Arrays.toString(parameterTypeNames) +
+            ", returnTypeName='" + returnTypeName + '\'' +
+            '}';
+    }
+
+    /**
+     * 驻留表中的弱引用，记录描述符以便实例回收后移除对应条目。
+     */
+    private static final class SignatureReference extends WeakReference<MemberSignature> {
+        @NonNull
+        private final String descriptor;
+
+        private SignatureReference(@NonNull MemberSignature signature, @NonNull ReferenceQueue<MemberSignature> queue) {
+            super(signature, queue);
+            this.descriptor = signature.descriptor;
+        }
+    }
+}
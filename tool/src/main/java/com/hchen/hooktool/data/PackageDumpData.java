@@ -0,0 +1,82 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * {@code dumpsys package} 输出中 {@code Packages:} 段落的一条安装包记录。
+ * <p>
+ * 只包含常用字段，输出中缺少的数值字段为 {@code -1}，缺少的文本字段为 {@code null}。
+ *
+ * @param packageName      包名
+ * @param appId            应用 ID（较旧系统中显示为 {@code userId}）
+ * @param versionCode      版本号
+ * @param versionName      版本名称
+ * @param codePath         安装路径
+ * @param minSdk           最低 SDK 版本
+ * @param targetSdk        目标 SDK 版本
+ * @param firstInstallTime 首次安装时间，保持 dumpsys 输出的原始格式
+ * @param lastUpdateTime   最近更新时间，保持 dumpsys 输出的原始格式
+ * @author 焕晨HChen
+ * @noinspection DeconstructionCanBeUsed
+ */
+public record PackageDumpData(@NonNull String packageName, int appId, long versionCode,
+                              @Nullable String versionName, @Nullable String codePath,
+                              int minSdk, int targetSdk,
+                              @Nullable String firstInstallTime, @Nullable String lastUpdateTime) {
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PackageDumpData that)) return false;
+        return appId == that.appId &&
+            versionCode == that.versionCode &&
+            minSdk == that.minSdk &&
+            targetSdk == that.targetSdk &&
+            Objects.equals(packageName, that.packageName) &&
+            Objects.equals(versionName, that.versionName) &&
+            Objects.equals(codePath, that.codePath) &&
+            Objects.equals(firstInstallTime, that.firstInstallTime) &&
+            Objects.equals(lastUpdateTime, that.lastUpdateTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(packageName, appId, versionCode, versionName, codePath, minSdk, targetSdk,
+            firstInstallTime, lastUpdateTime);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PackageDumpData{" +
+            "packageName='" + packageName + '\'' +
+            ", appId=" + appId +
+            ", versionCode=" + versionCode +
+            ", versionName='" + versionName + '\'' +
+            ", codePath='" + codePath + '\'' +
+            ", minSdk=" + minSdk +
+            ", targetSdk=" + targetSdk +
+            ", firstInstallTime='" + firstInstallTime + '\'' +
+            ", lastUpdateTime='" + lastUpdateTime + '\'' +
+            '}';
+    }
+}
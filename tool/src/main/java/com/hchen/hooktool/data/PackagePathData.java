@@ -0,0 +1,54 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * {@code pm list packages -f} 输出中的一条安装包记录。
+ *
+ * @param packageName 包名
+ * @param apkPath     基础安装包路径
+ * @author 焕晨HChen
+ * @noinspection DeconstructionCanBeUsed
+ */
+public record PackagePathData(@NonNull String packageName, @NonNull String apkPath) {
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PackagePathData that)) return false;
+        return Objects.equals(packageName, that.packageName) &&
+            Objects.equals(apkPath, that.apkPath);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(packageName, apkPath);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PackagePathData{" +
+            "packageName='" + packageName + '\'' +
+            ", apkPath='" + apkPath + '\'' +
+            '}';
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * {@code ps -A} 输出中的一行进程记录。
+ * <p>
+ * 各字段按表头列名解析，输出中缺少的数值列为 {@code -1}，缺少的文本列为空字符串。
+ *
+ * @param user  进程所属用户
+ * @param pid   进程 PID
+ * @param ppid  父进程 PID
+ * @param vsz   虚拟内存大小（KiB）
+ * @param rss   常驻内存大小（KiB）
+ * @param state 进程状态，如 {@code S}、{@code R}
+ * @param name  进程名称
+ * @author 焕晨HChen
+ * @noinspection DeconstructionCanBeUsed
+ */
+public record ProcessData(@NonNull String user, int pid, int ppid, long vsz, long rss,
+                          @NonNull String state, @NonNull String name) {
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ProcessData that)) return false;
+        return pid == that.pid &&
+            ppid == that.ppid &&
+            vsz == that.vsz &&
+            rss == that.rss &&
+            Objects.equals(user, that.user) &&
+            Objects.equals(state, that.state) &&
+            Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(user, pid, ppid, vsz, rss, state, name);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ProcessData{" +
+            "user='" + user + '\'' +
+            ", pid=" + pid +
+            ", ppid=" + ppid +
+            ", vsz=" + vsz +
+            ", rss=" + rss +
+            ", state='" + state + '\'' +
+            ", name='" + name + '\'' +
+            '}';
+    }
+}
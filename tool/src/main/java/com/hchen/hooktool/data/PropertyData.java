@@ -0,0 +1,54 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * {@code getprop} 输出中的一条系统属性。
+ *
+ * @param key   属性名称
+ * @param value 属性值，值中的换行会被保留
+ * @author 焕晨HChen
+ * @noinspection DeconstructionCanBeUsed
+ */
+public record PropertyData(@NonNull String key, @NonNull String value) {
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PropertyData that)) return false;
+        return Objects.equals(key, that.key) &&
+            Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, value);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PropertyData{" +
+            "key='" + key + '\'' +
+            ", value='" + value + '\'' +
+            '}';
+    }
+}
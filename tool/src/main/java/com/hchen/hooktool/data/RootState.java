@@ -0,0 +1,42 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.data;
+
+/**
+ * Root 权限的可用状态。
+ * <p>
+ * 由 {@code ShellTool} 缓存的 Root 检测结果，可无阻塞地查询；
+ * Root 会话异常断开或主动失效后会回到 {@link #UNKNOWN}，等待下一次检测。
+ *
+ * @author 焕晨HChen
+ */
+public enum RootState {
+    /**
+     * 尚未检测，或检测结果已失效、正在重新检测。
+     */
+    UNKNOWN,
+    /**
+     * 已获得 Root 权限。
+     */
+    GRANTED,
+    /**
+     * 设备未 Root 或 Root 授权被拒绝。
+     */
+    DENIED
+}
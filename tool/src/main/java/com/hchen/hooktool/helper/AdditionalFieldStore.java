@@ -0,0 +1,338 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hchen.hooktool.data.AdditionalFieldKey;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * 附加字段的并发存储容器。
+ * <p>
+ * 以对象身份（{@link System#identityHashCode(Object)} 与 {@code ==}）为键并弱引用持有对象，
+ * 不会调用宿主对象的 {@code hashCode()} / {@code equals()}，对象被回收后其附加字段随之清理。
+ * <p>
+ * 容器按哈希分为若干段，写操作只锁定对象所在的段；读操作不加锁：
+ * 段内哈希表与条目链表在写入时整体替换，每个条目的值同样采用写时复制。
+ * 预先声明的 {@link AdditionalFieldKey} 直接以 {@link AdditionalFieldKey#getIndex()} 作为下标定位数值；
+ * 未声明的字符串键保存在对象各自的映射表中，不会占用全局槽位，动态生成的键名不会使数组无限增长。
+ *
+ * @author 焕晨HChen
+ */
+public final class AdditionalFieldStore {
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SEGMENT_SHIFT = 4; // log2(SEGMENT_COUNT)
+    private static final int INITIAL_TABLE_SIZE = 16;
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private final Segment[] segments;
+
+    public AdditionalFieldStore() {
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * 读取指定对象上某个键关联的值。
+     *
+     * @param obj 目标对象
+     * @param key 附加字段键
+     * @return 关联的值；未设置时返回 {@code null}
+     */
+    @Nullable
+    public Object get(@NonNull Object obj, @NonNull AdditionalFieldKey<?> key) {
+        int hash = System.identityHashCode(obj);
+        Entry entry = segmentFor(hash).find(obj, hash);
+        if (entry == null) return null;
+
+        Object[] values = entry.values;
+        int index = key.getIndex();
+        Object value = index < values.length ? values[index] : null;
+        if (value != null) return value;
+
+        // 键声明之前可能已通过字符串接口写入
+        HashMap<String, Object> named = entry.named;
+        return named == null ? null : named.get(key.getName());
+    }
+
+    /**
+     * 读取指定对象上某个字符串键关联的值。
+     * <p>
+     * 已声明为 {@link AdditionalFieldKey} 的键名与类型化接口共享同一个值。
+     *
+     * @param obj 目标对象
+     * @param key 键名
+     * @return 关联的值；未设置时返回 {@code null}
+     */
+    @Nullable
+    public Object get(@NonNull Object obj, @NonNull String key) {
+        AdditionalFieldKey<?> declared = AdditionalFieldKey.find(key);
+        if (declared != null) return get(obj, declared);
+
+        int hash = System.identityHashCode(obj);
+        Entry entry = segmentFor(hash).find(obj, hash);
+        if (entry == null) return null;
+
+        HashMap<String, Object> named = entry.named;
+        return named == null ? null : named.get(key);
+    }
+
+    /**
+     * 为指定对象设置某个键关联的值，设置为 {@code null} 等同于移除。
+     *
+     * @param obj   目标对象
+     * @param key   附加字段键
+     * @param value 需要关联的值
+     * @return 该键先前关联的值；之前未设置时返回 {@code null}
+     */
+    @Nullable
+    public Object put(@NonNull Object obj, @NonNull AdditionalFieldKey<?> key, @Nullable Object value) {
+        int hash = System.identityHashCode(obj);
+        return segmentFor(hash).put(obj, hash, key.getIndex(), key.getName(), value);
+    }
+
+    /**
+     * 为指定对象设置某个字符串键关联的值，设置为 {@code null} 等同于移除。
+     *
+     * @param obj   目标对象
+     * @param key   键名
+     * @param value 需要关联的值
+     * @return 该键先前关联的值；之前未设置时返回 {@code null}
+     */
+    @Nullable
+    public Object put(@NonNull Object obj, @NonNull String key, @Nullable Object value) {
+        AdditionalFieldKey<?> declared = AdditionalFieldKey.find(key);
+        if (declared != null) return put(obj, declared, value);
+
+        int hash = System.identityHashCode(obj);
+        return segmentFor(hash).put(obj, hash, -1, key, value);
+    }
+
+    /**
+     * 移除指定对象上某个键关联的值。
+     *
+     * @param obj 目标对象
+     * @param key 附加字段键
+     * @return 被移除的值；该键不存在时返回 {@code null}
+     */
+    @Nullable
+    public Object remove(@NonNull Object obj, @NonNull AdditionalFieldKey<?> key) {
+        return put(obj, key, null);
+    }
+
+    /**
+     * 移除指定对象上某个字符串键关联的值。
+     *
+     * @param obj 目标对象
+     * @param key 键名
+     * @return 被移除的值；该键不存在时返回 {@code null}
+     */
+    @Nullable
+    public Object remove(@NonNull Object obj, @NonNull String key) {
+        return put(obj, key, null);
+    }
+
+    /**
+     * 以散列后的低位选择分段。
+     * <p>
+     * ART 的身份哈希只有 28 位，不能使用高位；段内的桶下标取自其余位，避免与分段选择相关。
+     */
+    @NonNull
+    private Segment segmentFor(int hash) {
+        return segments[(hash ^ (hash >>> 7)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static int indexFor(int hash, int length) {
+        return (hash >>> SEGMENT_SHIFT) & (length - 1);
+    }
+
+    /**
+     * 弱引用条目。链表指针不可变，删除或扩容时复制前驱节点以保证无锁读取的一致性。
+     */
+    private static final class Entry extends WeakReference<Object> {
+        final int hash;
+        @Nullable
+        final Entry next;
+        @NonNull
+        volatile Object[] values;
+        // 未声明的字符串键，写时复制，没有时为 null
+        @Nullable
+        volatile HashMap<String, Object> named;
+
+        Entry(@NonNull Object referent, int hash, @Nullable Entry next, @NonNull Object[] values,
+              @Nullable HashMap<String, Object> named, @NonNull ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = hash;
+            this.next = next;
+            this.values = values;
+            this.named = named;
+        }
+
+        private boolean isEmpty() {
+            HashMap<String, Object> map = named;
+            if (map != null && !map.isEmpty()) return false;
+            for (Object v : values) {
+                if (v != null) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class Segment {
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        private volatile Entry[] table = new Entry[INITIAL_TABLE_SIZE];
+        private int count;
+
+        @Nullable
+        Entry find(@NonNull Object obj, int hash) {
+            Entry[] tab = table;
+            for (Entry e = tab[indexFor(hash, tab.length)]; e != null; e = e.next) {
+                if (e.hash == hash && e.get() == obj) return e;
+            }
+            return null;
+        }
+
+        /**
+         * 写入一个值。
+         *
+         * @param index 已声明键的槽位序号；为 {@code -1} 时按 {@code name} 写入对象自己的映射表
+         * @param name  键名
+         */
+        @Nullable
+        synchronized Object put(@NonNull Object obj, int hash, int index, @NonNull String name, @Nullable Object value) {
+            expungeStaleEntries();
+
+            Entry entry = find(obj, hash);
+            if (entry == null) {
+                if (value == null) return null;
+
+                if (count + 1 > table.length * 3 / 4) resize();
+                Entry[] tab = table;
+                int i = indexFor(hash, tab.length);
+                Object[] values = EMPTY_VALUES;
+                HashMap<String, Object> named = null;
+                if (index >= 0) {
+                    values = new Object[index + 1];
+                    values[index] = value;
+                } else {
+                    named = new HashMap<>(4);
+                    named.put(name, value);
+                }
+                tab[i] = new Entry(obj, hash, tab[i], values, named, queue);
+                table = tab; // volatile 写，发布新条目
+                count++;
+                return null;
+            }
+
+            Object previous;
+            HashMap<String, Object> oldNamed = entry.named;
+            if (index >= 0) {
+                Object[] old = entry.values;
+                previous = index < old.length ? old[index] : null;
+                // 该键声明之前通过字符串接口写入的值，迁移到槽位中
+                if (oldNamed != null && oldNamed.containsKey(name)) {
+                    if (previous == null) previous = oldNamed.get(name);
+                    HashMap<String, Object> named = new HashMap<>(oldNamed);
+                    named.remove(name);
+                    entry.named = named.isEmpty() ? null : named;
+                } else if (previous == value) {
+                    return previous;
+                }
+
+                Object[] values = Arrays.copyOf(old, Math.max(old.length, index + 1));
+                values[index] = value;
+                entry.values = values;
+            } else {
+                previous = oldNamed == null ? null : oldNamed.get(name);
+                if (previous == value) return previous;
+
+                HashMap<String, Object> named = oldNamed == null ? new HashMap<>(4) : new HashMap<>(oldNamed);
+                if (value == null) named.remove(name);
+                else named.put(name, value);
+                entry.named = named.isEmpty() ? null : named;
+            }
+
+            if (value == null && entry.isEmpty()) {
+                unlink(entry);
+                entry.values = EMPTY_VALUES;
+                entry.named = null;
+            }
+            return previous;
+        }
+
+        private void resize() {
+            Entry[] oldTab = table;
+            Entry[] newTab = new Entry[oldTab.length << 1];
+            for (Entry head : oldTab) {
+                for (Entry e = head; e != null; e = e.next) {
+                    Object referent = e.get();
+                    if (referent == null) {
+                        count--;
+                        continue;
+                    }
+                    int i = indexFor(e.hash, newTab.length);
+                    newTab[i] = new Entry(referent, e.hash, newTab[i], e.values, e.named, queue);
+                }
+            }
+            table = newTab;
+        }
+
+        private void expungeStaleEntries() {
+            Object ref;
+            while ((ref = queue.poll()) != null) {
+                unlink((Entry) ref);
+            }
+        }
+
+        /**
+         * 从当前表中移除指定条目；条目已不在表中（例如扩容时被复制替换）时忽略。
+         */
+        private void unlink(@NonNull Entry target) {
+            Entry[] tab = table;
+            int i = indexFor(target.hash, tab.length);
+            Entry head = tab[i];
+            Entry e = head;
+            while (e != null && e != target) {
+                e = e.next;
+            }
+            if (e == null) return;
+
+            Entry newHead = target.next;
+            for (Entry p = head; p != target; p = p.next) {
+                Object referent = p.get();
+                if (referent == null) {
+                    count--;
+                    continue;
+                }
+                newHead = new Entry(referent, p.hash, newHead, p.values, p.named, queue);
+            }
+            tab[i] = newHead;
+            table = tab;
+            count--;
+        }
+    }
+}
@@ -18,6 +18,8 @@
  */
 package com.hchen.hooktool.helper
 
+import com.hchen.hooktool.data.AdditionalFieldKey
+import com.hchen.hooktool.data.MemberSignature
 import com.hchen.hooktool.helper.CoreHelper.findClass
 import com.hchen.hooktool.helper.CoreHelper.findConstructorBestMatch
 import com.hchen.hooktool.helper.CoreHelper.findConstructorExact
@@ -27,12 +29,11 @@ import com.hchen.hooktool.helper.CoreHelper.findMethodBestMatch
 import com.hchen.hooktool.helper.CoreHelper.findMethodExact
 import com.hchen.hooktool.helper.CoreHelper.findMethodExactWithClasses
 import com.hchen.hooktool.helper.CoreHelper.getAdditionalInstanceField
-import com.hchen.hooktool.helper.CoreHelper.getInterfaceDistance
-import com.hchen.hooktool.helper.CoreHelper.getObjectTransformationCost
-import com.hchen.hooktool.helper.CoreHelper.getPrimitivePromotionCost
 import com.hchen.hooktool.helper.CoreHelper.removeAdditionalInstanceField
 import com.hchen.hooktool.helper.CoreHelper.setAdditionalInstanceField
+import java.lang.ref.SoftReference
 import java.lang.reflect.Constructor
+import java.lang.reflect.Executable
 import java.lang.reflect.Field
 import java.lang.reflect.InvocationTargetException
 import java.lang.reflect.Method
@@ -51,7 +52,8 @@ import java.util.concurrent.ConcurrentHashMap
  * - 为任意对象 / 类动态附加额外的键值对字段
  *
  * 内部使用 [ConcurrentHashMap] 对已解析的 [Field]、[Method]、[Constructor] 进行缓存，
- * 避免重复的反射查找开销。类型兼容性判断严格遵循 Apache Commons Lang 的规范，
+ * 避免重复的反射查找开销。成员遍历基于 [MemberIndex]，最佳匹配的类型兼容性判断与评分
+ * 由 [OverloadResolver] 完成，严格遵循 Apache Commons Lang 的规范，
  * 并完整支持 Java 8+ 接口 default 方法的深度查找。
  *
  * 本类为 `internal` 可见性，仅供 `tool` 模块内部使用，不属于对外公开的 API。
@@ -201,433 +203,6 @@ object CoreHelper {
         return classes as Array<Class<*>>
     }
 
-    /**
-     * 递归地在类的继承链及接口树中查找指定名称的字段。
-     *
-     * 搜索顺序为：当前类直接声明的字段 → 当前类实现的接口树中的常量字段 → 父类（逐级向上）。
-     * 一旦找到即返回，全部遍历完毕仍未找到则抛出异常。
-     *
-     * @param clazz     开始搜索的类。
-     * @param fieldName 需要查找的字段名称。
-     * @return 匹配的 [Field] 对象（尚未设置可访问性）。
-     * @throws NoSuchFieldException 在整个继承链和接口树中均未找到该字段时抛出。
-     */
-    private fun findFieldRecursiveImpl(clazz: Class<*>, fieldName: String): Field {
-        var clz: Class<*>? = clazz
-        while (clz != null && clz != Any::class.java) {
-            try {
-                return clz.getDeclaredField(fieldName)
-            } catch (_: NoSuchFieldException) {
-            }
-
-            for (iface in clz.interfaces) {
-                val f = findInterfaceFieldRecursive(iface, fieldName)
-                if (f != null) return f
-            }
-            clz = clz.superclass
-        }
-        throw NoSuchFieldException(fieldName)
-    }
-
-    /**
-     * 在接口及其父接口中递归查找指定名称的字段（即接口常量）。
-     *
-     * @param iface     需要搜索的接口。
-     * @param fieldName 需要查找的字段名称。
-     * @return 匹配的 [Field] 对象；未找到时返回 `null`。
-     */
-    private fun findInterfaceFieldRecursive(iface: Class<*>, fieldName: String): Field? {
-        try {
-            val f = iface.getDeclaredField(fieldName)
-            if (Modifier.isStatic(f.modifiers)) return f
-        } catch (_: NoSuchFieldException) {
-        }
-        for (superIface in iface.interfaces) {
-            val f = findInterfaceFieldRecursive(superIface, fieldName)
-            if (f != null) return f
-        }
-        return null
-    }
-
-    /**
-     * 判断源参数类型数组 [from] 是否可逐一赋值给目标参数类型数组 [to]。
-     *
-     * 两个数组长度必须一致。对于 [from] 中为 `null` 的元素，仅当 [to] 对应位置为非基本类型时才视为兼容。
-     *
-     * @param from 源参数类型数组（元素可为 `null`）。
-     * @param to   目标参数类型数组。
-     * @return 所有位置均可赋值时返回 `true`。
-     */
-    private fun isAssignable(from: Array<Class<*>?>, to: Array<Class<*>>): Boolean {
-        if (from.size != to.size) return false
-        for (i in from.indices) {
-            val fromType = from[i]
-            if (fromType == null) {
-                if (to[i].isPrimitive) return false
-            } else if (!isAssignable(fromType, to[i])) return false
-        }
-        return true
-    }
-
-    /**
-     * 判断源类型 [from] 是否可以赋值给目标类型 [to]。
-     *
-     * 综合考虑以下情形：
-     * - 直接的 `isAssignableFrom` 继承 / 实现关系
-     * - 基本类型之间的宽化转换（如 `int` → `long`）
-     * - 基本类型与对应包装类型之间的装箱 / 拆箱（如 `int` ↔ `Integer`）
-     *
-     * @param from 源类型。
-     * @param to   目标类型。
-     * @return [from] 可赋值给 [to] 时返回 `true`。
-     */
-    private fun isAssignable(from: Class<*>, to: Class<*>): Boolean {
-        if (to.isAssignableFrom(from)) return true
-
-        if (from.isPrimitive && to.isPrimitive) {
-            return isPrimitiveAssignable(from, to)
-        }
-
-        if (from.isPrimitive) {
-            val wrapper = getWrapperType(from)
-            return to.isAssignableFrom(wrapper)
-        }
-
-        if (to.isPrimitive) {
-            val unboxedFrom = getPrimitiveType(from)
-            if (unboxedFrom != null) {
-                return isPrimitiveAssignable(unboxedFrom, to)
-            }
-            return false
-        }
-        return false
-    }
-
-    /**
-     * 判断基本类型 [from] 是否可以通过 Java 规范定义的宽化转换赋值给 [to]。
-     *
-     * 例如 `int` 可宽化为 `long`、`float`、`double`，但不可宽化为 `short`。
-     *
-     * @param from 源基本类型。
-     * @param to   目标基本类型。
-     * @return 若可宽化则返回 `true`。
-     */
-    private fun isPrimitiveAssignable(from: Class<*>, to: Class<*>): Boolean {
-        if (from == to) return true
-        return getPrimitiveWideningSteps(from.name, to.name) != -1
-    }
-
-    /**
-     * 获取给定基本类型对应的包装类型。
-     *
-     * 例如：`int` → `Integer`，`boolean` → `Boolean`。
-     * 如果传入的类型本身不是基本类型，则原样返回。
-     *
-     * @param type 基本类型或其他类型。
-     * @return 对应的包装类型；如果 [type] 非基本类型则返回 [type] 自身。
-     */
-    private fun getWrapperType(type: Class<*>): Class<*> {
-        return when (type) {
-            Boolean::class.javaPrimitiveType -> Boolean::class.javaObjectType
-            Byte::class.javaPrimitiveType -> Byte::class.javaObjectType
-            Char::class.javaPrimitiveType -> Char::class.javaObjectType
-            Short::class.javaPrimitiveType -> Short::class.javaObjectType
-            Int::class.javaPrimitiveType -> Int::class.javaObjectType
-            Long::class.javaPrimitiveType -> Long::class.javaObjectType
-            Float::class.javaPrimitiveType -> Float::class.javaObjectType
-            Double::class.javaPrimitiveType -> Double::class.javaObjectType
-            Void::class.javaPrimitiveType -> Void::class.javaObjectType
-            else -> type
-        }
-    }
-
-    /**
-     * 获取给定包装类型对应的基本类型。
-     *
-     * 例如：`Integer` → `int`，`Boolean` → `boolean`。
-     * 如果传入的类型不是包装类型，则返回 `null`。
-     *
-     * @param type 包装类型或其他类型。
-     * @return 对应的基本类型；如果无法转换则返回 `null`。
-     */
-    private fun getPrimitiveType(type: Class<*>): Class<*>? {
-        return when (type) {
-            Boolean::class.javaObjectType -> Boolean::class.javaPrimitiveType
-            Byte::class.javaObjectType -> Byte::class.javaPrimitiveType
-            Char::class.javaObjectType -> Char::class.javaPrimitiveType
-            Short::class.javaObjectType -> Short::class.javaPrimitiveType
-            Int::class.javaObjectType -> Int::class.javaPrimitiveType
-            Long::class.javaObjectType -> Long::class.javaPrimitiveType
-            Float::class.javaObjectType -> Float::class.javaPrimitiveType
-            Double::class.javaObjectType -> Double::class.javaPrimitiveType
-            Void::class.javaObjectType -> Void::class.javaPrimitiveType
-            else -> null
-        }
-    }
-
-    /**
-     * 计算从基本类型 [srcName] 到 [destName] 所需的宽化转换步数。
-     *
-     * 遵循 Java 语言规范定义的拓宽基本类型转换链：
-     * - `byte` → `short` → `int` → `long` → `float` → `double`
-     * - `char` → `int` → `long` → `float` → `double`
-     *
-     * @param srcName  源基本类型名称（如 `"int"`）。
-     * @param destName 目标基本类型名称（如 `"long"`）。
-     * @return 所需的宽化步数；无法宽化时返回 `-1`。
-     */
-    private fun getPrimitiveWideningSteps(srcName: String, destName: String): Int {
-        return when (srcName) {
-            "byte" -> when (destName) {
-                "short" -> 1
-                "int" -> 2
-                "long" -> 3
-                "float" -> 4
-                "double" -> 5
-                else -> -1
-            }
-
-            "short" -> when (destName) {
-                "int" -> 1
-                "long" -> 2
-                "float" -> 3
-                "double" -> 4
-                else -> -1
-            }
-
-            "char" -> when (destName) {
-                "int" -> 1
-                "long" -> 2
-                "float" -> 3
-                "double" -> 4
-                else -> -1
-            }
-
-            "int" -> when (destName) {
-                "long" -> 1
-                "float" -> 2
-                "double" -> 3
-                else -> -1
-            }
-
-            "long" -> when (destName) {
-                "float" -> 1
-                "double" -> 2
-                else -> -1
-            }
-
-            "float" -> when (destName) {
-                "double" -> 1
-                else -> -1
-            }
-
-            else -> -1
-        }
-    }
-
-    /**
-     * 计算源类型到目标基本类型之间的类型提升代价。
-     *
-     * 如果 [srcType] 为包装类型，先进行拆箱（代价 0.1），再累加宽化步数的代价（每步 0.1）。
-     * `void` 和 `boolean` 类型之间的转换代价为 [Float.MAX_VALUE]，表示不可转换。
-     *
-     * @param srcType  源类型（包装类型或基本类型均可）。
-     * @param destType 目标基本类型。
-     * @return 转换代价，数值越小表示兼容性越好；不可转换时返回 [Float.MAX_VALUE]。
-     */
-    private fun getPrimitivePromotionCost(srcType: Class<*>, destType: Class<*>): Float {
-        var cost = 0.0f
-        var cls: Class<*>? = srcType
-        if (cls != null && !cls.isPrimitive) {
-            cost += 0.1f // 拆箱代价
-            cls = getPrimitiveType(cls)
-        }
-        if (cls == null) return 1.5f
-        if (cls == destType) return cost
-        if (cls == Void::class.javaPrimitiveType || cls == Boolean::class.javaPrimitiveType) return Float.MAX_VALUE
-
-        val steps = getPrimitiveWideningSteps(cls.name, destType.name)
-        if (steps == -1) return Float.MAX_VALUE
-
-        cost += 0.1f * steps
-        return cost
-    }
-
-    /**
-     * 计算源类型到目标类型之间的对象转换代价。
-     *
-     * 处理逻辑按优先级排列：
-     * - 目标类型为基本类型时，委托给 [getPrimitivePromotionCost]；若源类型为 `null` 则返回 [Float.MAX_VALUE]
-     * - 源类型为 `null`（非基本类型目标）时代价固定为 1.5
-     * - 源类型与目标类型完全相同时代价为 0
-     * - 双方均为数组类型时，递归计算组件类型的转换代价并加收 0.1 的数组维度附加代价
-     * - 否则沿继承链向上遍历，若目标为接口则委托 [getInterfaceDistance] 计算精确的接口距离代价，
-     *   每向上一级父类的代价为 1.0
-     *
-     * @param srcType  源类型，为 `null` 表示运行时值为 `null`。
-     * @param destType 目标类型。
-     * @return 转换代价，数值越小表示兼容性越好；不可转换时返回 [Float.MAX_VALUE]。
-     */
-    private fun getObjectTransformationCost(srcType: Class<*>?, destType: Class<*>): Float {
-        if (destType.isPrimitive) {
-            if (srcType == null) return Float.MAX_VALUE
-            return getPrimitivePromotionCost(srcType, destType)
-        }
-        if (srcType == null) return 1.5f
-        if (srcType == destType) return 0.0f
-
-        if (srcType.isArray && destType.isArray) {
-            return getObjectTransformationCost(srcType.componentType, destType.componentType!!) + 0.1f
-        }
-
-        var cost = 0f
-        var src: Class<*>? = srcType
-        while (src != null && src != destType) {
-            if (destType.isInterface && destType.isAssignableFrom(src)) {
-                cost += getInterfaceDistance(src, destType)
-                break
-            }
-            cost++
-            src = src.superclass
-        }
-        if (src == null) cost += 1.5f
-        return cost
-    }
-
-    /**
-     * 递归计算源类型到目标接口之间的继承距离代价。
-     *
-     * 沿源类型的接口和父类递归搜索，记录到达目标接口的最短路径：
-     * - 每经过一个直接接口的代价为 0.25
-     * - 每经过一个父类的代价为 1.0
-     *
-     * @param src  源类型。
-     * @param dest 目标接口类型。
-     * @return 到达目标接口的最小转换代价；无法到达时返回 [Float.MAX_VALUE]。
-     */
-    private fun getInterfaceDistance(src: Class<*>, dest: Class<*>): Float {
-        if (src == dest) return 0f
-        var minCost = Float.MAX_VALUE
-        for (iface in src.interfaces) {
-            if (dest.isAssignableFrom(iface)) {
-                val cost = 0.25f + getInterfaceDistance(iface, dest)
-                if (cost < minCost) minCost = cost
-            }
-        }
-        val superclass = src.superclass
-        if (superclass != null && dest.isAssignableFrom(superclass)) {
-            val cost = 1.0f + getInterfaceDistance(superclass, dest)
-            if (cost < minCost) minCost = cost
-        }
-        return minCost
-    }
-
-    /**
-     * 计算参数列表的总类型转换代价。
-     *
-     * 逐一对比 [srcArgs] 和 [destArgs] 中每个位置的类型，累加 [getObjectTransformationCost] 的结果。
-     *
-     * @param srcArgs  源参数类型数组（元素可为 `null`）。
-     * @param destArgs 目标参数类型数组。
-     * @return 所有参数的总转换代价。
-     */
-    private fun getTotalTransformationCost(srcArgs: Array<Class<*>?>, destArgs: Array<Class<*>>): Float {
-        var totalCost = 0f
-        for (i in srcArgs.indices) {
-            totalCost += getObjectTransformationCost(srcArgs[i], destArgs[i])
-        }
-        return totalCost
-    }
-
-    /**
-     * 在类的继承链及接口树中收集与指定名称和参数类型兼容的所有方法。
-     *
-     * 搜索分两轮进行：
-     * 1. 沿继承链向上遍历（当前类 → 父类），收集直接声明的方法；bridge 方法和 synthetic 方法会被过滤，
-     *    仅第一轮（当前类）包含 `private` 方法。
-     * 2. 从当前类出发沿继承链向上遍历接口树（深度优先递归），收集接口中声明的 default 方法，
-     *    排除静态、私有、bridge 和 synthetic 方法。
-     *
-     * 通过 [seen] 集合对方法签名进行去重，避免同一方法被重复收集。
-     *
-     * @param clazz          开始搜索的类。
-     * @param name           需要查找的方法名称。
-     * @param parameterTypes 期望的参数类型数组（元素可为 `null`）。
-     * @param result         用于收集匹配方法的可变列表。
-     */
-    private fun collectMethodsBestMatch(clazz: Class<*>, name: String, parameterTypes: Array<Class<*>?>, result: MutableList<Method>) {
-        val seen = HashSet<String>()
-
-        var clz: Class<*>? = clazz
-        var considerPrivate = true
-        while (clz != null) {
-            for (method in clz.declaredMethods) {
-                if (method.isBridge || method.isSynthetic) continue
-                if (!considerPrivate && Modifier.isPrivate(method.modifiers)) continue
-                if (method.name == name && isAssignable(parameterTypes, method.parameterTypes)) {
-                    val sig = method.name + method.parameterTypes.contentToString()
-                    if (seen.add(sig)) {
-                        result.add(method)
-                    }
-                }
-            }
-            considerPrivate = false
-            clz = clz.superclass
-        }
-
-        clz = clazz
-        while (clz != null) {
-            for (iface in clz.interfaces) {
-                collectInterfaceMethodsRecursive(iface, name, parameterTypes, seen, result)
-            }
-            clz = clz.superclass
-        }
-    }
-
-    /**
-     * 在接口及其父接口中递归收集与指定名称和参数类型兼容的方法。
-     *
-     * 用于支持 Java 8+ 接口 default 方法的深度查找。接口中的静态方法、私有方法、
-     * bridge 方法和 synthetic 方法会被跳过，因为它们不可被实现类继承或为编译器生成的辅助方法。
-     * 通过 [seen] 集合对方法签名进行去重。
-     *
-     * @param iface          需要搜索的接口。
-     * @param name           需要查找的方法名称。
-     * @param parameterTypes 期望的参数类型数组（元素可为 `null`）。
-     * @param seen           已收集过的方法签名集合，用于去重。
-     * @param result         用于收集匹配方法的可变列表。
-     */
-    private fun collectInterfaceMethodsRecursive(iface: Class<*>, name: String, parameterTypes: Array<Class<*>?>, seen: HashSet<String>, result: MutableList<Method>) {
-        for (method in iface.declaredMethods) {
-            if (Modifier.isStatic(method.modifiers) || Modifier.isPrivate(method.modifiers) || method.isBridge || method.isSynthetic) continue
-            if (method.name == name && isAssignable(parameterTypes, method.parameterTypes)) {
-                val sig = method.name + method.parameterTypes.contentToString()
-                if (seen.add(sig)) {
-                    result.add(method)
-                }
-            }
-        }
-        for (superIface in iface.interfaces) {
-            collectInterfaceMethodsRecursive(superIface, name, parameterTypes, seen, result)
-        }
-    }
-
-    /**
-     * 比较候选方法 / 构造函数相对于当前最佳匹配的参数匹配优劣。
-     *
-     * 使用与 Apache Commons Lang `MemberUtils.compareMethodFit` 一致的继承距离算法。
-     *
-     * @param candidateParams 候选者的参数类型数组。
-     * @param currentParams   当前最佳匹配的参数类型数组。
-     * @param parameterTypes  期望的参数类型数组（元素可为 `null`）。
-     * @return 负值表示候选者更优，正值表示当前匹配更优，零表示两者同等。
-     */
-    private fun compareFit(candidateParams: Array<Class<*>>, currentParams: Array<Class<*>>, parameterTypes: Array<Class<*>?>): Int {
-        val candidateCost = getTotalTransformationCost(parameterTypes, candidateParams)
-        val currentCost = getTotalTransformationCost(parameterTypes, currentParams)
-        return candidateCost.compareTo(currentCost)
-    }
-
     // ==================== Class ====================
 
     /**
@@ -684,6 +259,8 @@ object CoreHelper {
      * - 数组类型（如 `"int[]"`、`"java.lang.String[]"`）
      * - 普通类名及内部类（如果直接查找失败，会自动尝试将 `.` 替换为 `$` 以解析内部类）
      *
+     * 启用持久化缓存时，需要重试才能解析的类名会被记录到 [MemberCacheHelper]，后续启动直接命中。
+     *
      * @param className   需要查找的类名。
      * @param classLoader 用于加载类的类加载器，为 `null` 时使用安全类加载器。
      * @return 对应的 [Class] 对象。
@@ -691,13 +268,24 @@ object CoreHelper {
      */
     @JvmStatic
     fun findClass(className: String, classLoader: ClassLoader?): Class<*> {
+        val persisted = MemberCacheHelper.lookupClass(className)
+        if (persisted != null) {
+            try {
+                return Class.forName(persisted, false, classLoader)
+            } catch (_: ClassNotFoundException) {
+                MemberCacheHelper.invalidateClass(className)
+            }
+        }
+
         var next = className
         var lastDotIndex = -1
         do {
             try {
                 val primitive = PRIMITIVE_NAME_MAP[next]
                 if (primitive != null) return primitive
-                return Class.forName(toCanonicalName(next), false, classLoader)
+                val clazz = Class.forName(toCanonicalName(next), false, classLoader)
+                if (next !== className) MemberCacheHelper.recordClass(className, clazz.name)
+                return clazz
             } catch (_: ClassNotFoundException) {
                 lastDotIndex = next.lastIndexOf('.')
                 if (lastDotIndex != -1) {
@@ -731,7 +319,8 @@ object CoreHelper {
     /**
      * 在指定类中查找具有给定名称的字段，支持沿继承链及接口树向上递归查找。
      *
-     * 查找结果会被缓存。找到的字段会自动设置为可访问。
+     * 搜索顺序为：当前类直接声明的字段 → 当前类实现的接口树中的常量字段 → 父类（逐级向上），
+     * 各级的查找均读取 [MemberIndex]。查找结果会被缓存。找到的字段会自动设置为可访问。
      *
      * @param clazz     需要查找字段的类。
      * @param fieldName 字段的名称。
@@ -741,11 +330,11 @@ object CoreHelper {
     @JvmStatic
     fun findField(clazz: Class<*>, fieldName: String): Field {
         return getFieldCacheMap(clazz).computeIfAbsent(fieldName) { k ->
-            try {
-                val field = findFieldRecursiveImpl(clazz, k)
+            val field = MemberIndex.of(clazz).findField(k)
+            if (field != null) {
                 field.isAccessible = true
                 Optional.of(field)
-            } catch (_: NoSuchFieldException) {
+            } else {
                 Optional.empty()
             }
         }.orElseThrow { NoSuchFieldError("${clazz.name}#$fieldName") }
@@ -769,6 +358,50 @@ object CoreHelper {
         }
     }
 
+    // ==================== Declared Members ====================
+
+    /**
+     * 判断指定类中是否直接声明了给定名称的方法（忽略参数签名）。
+     *
+     * 读取 [MemberIndex]，不会复制类的方法数组。
+     *
+     * @param clazz      需要检查的类。
+     * @param methodName 方法名称。
+     * @return 存在同名方法时返回 `true`。
+     */
+    @JvmStatic
+    fun hasDeclaredMethod(clazz: Class<*>, methodName: String): Boolean {
+        return MemberIndex.of(clazz).hasDeclaredMethod(methodName)
+    }
+
+    /**
+     * 获取指定类中直接声明的方法，可选按名称过滤。
+     *
+     * 读取 [MemberIndex]，返回的数组为副本，可被调用方自由修改。
+     *
+     * @param clazz      需要查找的类。
+     * @param methodName 方法名称；为 `null` 时返回全部声明方法。
+     * @return 匹配的 [Method] 数组。
+     */
+    @JvmStatic
+    fun getDeclaredMethods(clazz: Class<*>, methodName: String?): Array<Method> {
+        val index = MemberIndex.of(clazz)
+        return (if (methodName == null) index.declaredMethods else index.declaredMethods(methodName)).clone()
+    }
+
+    /**
+     * 获取指定类中声明的全部构造函数。
+     *
+     * 读取 [MemberIndex]，返回的数组为副本，可被调用方自由修改。
+     *
+     * @param clazz 需要查找的类。
+     * @return 声明的 [Constructor] 数组。
+     */
+    @JvmStatic
+    fun getDeclaredConstructors(clazz: Class<*>): Array<Constructor<*>> {
+        return MemberIndex.of(clazz).declaredConstructors.clone()
+    }
+
     // ==================== Method Exact ====================
 
     /**
@@ -814,7 +447,7 @@ object CoreHelper {
     /**
      * 在指定类中查找精确匹配的方法（参数类型已解析为 [Class] 对象）。
      *
-     * 支持从实体类及其实现的接口树中查找继承的 default 方法。
+     * 支持从实体类及其实现的接口树中查找继承的 default 方法，沿继承链的查找通过 [MemberIndex] 完成。
      * 查找结果会被缓存。
      *
      * @param clazz          需要查找方法的类。
@@ -825,75 +458,33 @@ object CoreHelper {
      */
     @JvmStatic
     fun findMethodExactWithClasses(clazz: Class<*>, methodName: String, vararg parameterTypes: Class<*>): Method {
-        val sig = "$methodName#${parameterTypes.joinToString { it.name }}#exact"
-        return getMethodCacheMap(clazz).computeIfAbsent(sig) {
-            try {
-                val method = findMethodExactRecursive(clazz, methodName, arrayOf(*parameterTypes))
-                method.isAccessible = true
-                Optional.of(method)
-            } catch (_: NoSuchMethodException) {
-                Optional.empty()
-            }
-        }.orElseThrow { NoSuchMethodError("${clazz.name}#$methodName(${parameterTypes.joinToString { it.name }})") }
+        return findMethodExactWithTypes(clazz, methodName, parameterTypes)
     }
 
     /**
-     * 递归查找精确匹配的方法，支持从实体类及接口树中查找继承的 default 方法。
+     * 在指定类中查找精确匹配的方法，参数类型以数组形式直接传入。
      *
-     * 搜索分两轮进行：
-     * 1. 沿继承链向上遍历（当前类 → 父类），在直接声明的方法中查找。
-     * 2. 从当前类出发沿继承链向上遍历接口树（深度优先），在接口声明的方法中查找，
-     *    排除静态和私有方法。
+     * 与 [findMethodExactWithClasses] 等价，但 Kotlin 调用方持有现成数组时无需展开为可变参数，
+     * 从而避免展开时的数组复制。查找结果会被缓存。
      *
-     * @param clazz          开始搜索的类。
-     * @param name           需要查找的方法名称。
-     * @param parameterTypes 精确匹配的参数类型数组。
-     * @return 匹配的 [Method] 对象。
-     * @throws NoSuchMethodException 在类及所有接口中均未找到该方法时抛出。
+     * @param clazz          需要查找方法的类。
+     * @param methodName     方法名称。
+     * @param parameterTypes 精确匹配的参数类型数组，调用期间不会被修改或持有。
+     * @return 已设置可访问标志的 [Method] 对象。
+     * @throws NoSuchMethodError 类中未找到精确匹配的方法时抛出。
      */
-    private fun findMethodExactRecursive(clazz: Class<*>, name: String, parameterTypes: Array<Class<*>>): Method {
-        var clz: Class<*>? = clazz
-        while (clz != null) {
-            try {
-                return clz.getDeclaredMethod(name, *parameterTypes)
-            } catch (_: NoSuchMethodException) {
-            }
-            clz = clz.superclass
-        }
-
-        clz = clazz
-        while (clz != null) {
-            for (iface in clz.interfaces) {
-                val m = findInterfaceMethodExactRecursive(iface, name, parameterTypes)
-                if (m != null) return m
+    @JvmStatic
+    fun findMethodExactWithTypes(clazz: Class<*>, methodName: String, parameterTypes: Array<out Class<*>>): Method {
+        val sig = "$methodName#${parameterTypes.joinToString { it.name }}#exact"
+        return getMethodCacheMap(clazz).computeIfAbsent(sig) {
+            val method = MemberIndex.of(clazz).findMethodExact(methodName, parameterTypes)
+            if (method != null) {
+                method.isAccessible = true
+                Optional.of(method)
+            } else {
+                Optional.empty()
             }
-            clz = clz.superclass
-        }
-        throw NoSuchMethodException()
-    }
-
-    /**
-     * 在接口及其父接口中递归查找精确匹配的方法。
-     *
-     * 用于支持 Java 8+ 接口 default 方法的查找。接口中的静态方法和私有方法会被排除，
-     * 因为静态方法不可被实现类继承，私有方法对外不可见。
-     *
-     * @param iface          需要搜索的接口。
-     * @param name           需要查找的方法名称。
-     * @param parameterTypes 精确匹配的参数类型数组。
-     * @return 匹配的 [Method] 对象；未找到时返回 `null`。
-     */
-    private fun findInterfaceMethodExactRecursive(iface: Class<*>, name: String, parameterTypes: Array<Class<*>>): Method? {
-        try {
-            val m = iface.getDeclaredMethod(name, *parameterTypes)
-            if (!Modifier.isStatic(m.modifiers) && !Modifier.isPrivate(m.modifiers)) return m
-        } catch (_: NoSuchMethodException) {
-        }
-        for (superIface in iface.interfaces) {
-            val m = findInterfaceMethodExactRecursive(superIface, name, parameterTypes)
-            if (m != null) return m
-        }
-        return null
+        }.orElseThrow { NoSuchMethodError("${clazz.name}#$methodName(${parameterTypes.joinToString { it.name }})") }
     }
 
     /**
@@ -947,7 +538,8 @@ object CoreHelper {
      * 当所有参数类型均非 `null` 时，优先尝试精确匹配（[findMethodExactWithClasses]）。
      * 精确匹配失败则回退到最佳匹配模式：收集所有兼容的候选方法，
      * 通过基于继承距离的评分算法选出最优解。
-     * 查找结果会被缓存。
+     * 查找结果会被缓存；启用持久化缓存时，最佳匹配结果还会被记录到 [MemberCacheHelper]，
+     * 后续启动经校验后直接复用，跳过候选搜索。
      *
      * @param clazz          需要查找方法的类。
      * @param methodName     方法名称。
@@ -967,16 +559,16 @@ object CoreHelper {
 
         val sig = "$methodName#${parameterTypes.joinToString { it?.name ?: "null" }}#best"
         return getMethodCacheMap(clazz).computeIfAbsent(sig) {
-            val candidates = mutableListOf<Method>()
-            collectMethodsBestMatch(clazz, methodName, arrayOf(*parameterTypes), candidates)
-            var bestMatch: Method? = null
-            for (method in candidates) {
-                if (bestMatch == null || compareFit(method.parameterTypes, bestMatch.parameterTypes, arrayOf(*parameterTypes)) < 0) {
-                    bestMatch = method
-                }
+            val persisted = MemberCacheHelper.restoreMethod(clazz, sig)
+            if (persisted != null) {
+                persisted.isAccessible = true
+                return@computeIfAbsent Optional.of(persisted)
             }
+
+            val bestMatch = OverloadResolver.selectBest(MemberIndex.of(clazz).bestMatchCandidates(methodName), parameterTypes)
             if (bestMatch != null) {
                 bestMatch.isAccessible = true
+                MemberCacheHelper.recordMethod(clazz, sig, bestMatch)
                 Optional.of(bestMatch)
             } else {
                 Optional.empty()
@@ -1078,13 +670,28 @@ object CoreHelper {
      */
     @JvmStatic
     fun findConstructorExactWithClasses(clazz: Class<*>, vararg parameterTypes: Class<*>): Constructor<*> {
+        return findConstructorExactWithTypes(clazz, parameterTypes)
+    }
+
+    /**
+     * 在指定类中查找精确匹配的构造函数，参数类型以数组形式直接传入。
+     *
+     * 与 [findConstructorExactWithClasses] 等价，但无需展开为可变参数。查找结果会被缓存。
+     *
+     * @param clazz          需要查找构造函数的类。
+     * @param parameterTypes 精确匹配的参数类型数组，调用期间不会被修改或持有。
+     * @return 已设置可访问标志的 [Constructor] 对象。
+     * @throws NoSuchMethodError 类中未找到精确匹配的构造函数时抛出。
+     */
+    @JvmStatic
+    fun findConstructorExactWithTypes(clazz: Class<*>, parameterTypes: Array<out Class<*>>): Constructor<*> {
         val sig = "${parameterTypes.joinToString { it.name }}#exact"
         return getConstructorCacheMap(clazz).computeIfAbsent(sig) {
-            try {
-                val constructor = clazz.getDeclaredConstructor(*parameterTypes)
+            val constructor = MemberIndex.of(clazz).declaredConstructor(parameterTypes)
+            if (constructor != null) {
                 constructor.isAccessible = true
                 Optional.of(constructor)
-            } catch (_: NoSuchMethodException) {
+            } else {
                 Optional.empty()
             }
         }.orElseThrow { NoSuchMethodError("${clazz.name}<init>(${parameterTypes.joinToString { it.name }})") }
@@ -1139,7 +746,7 @@ object CoreHelper {
      * 当所有参数类型均非 `null` 时，优先尝试精确匹配（[findConstructorExactWithClasses]）。
      * 精确匹配失败则回退到最佳匹配模式：遍历所有已声明的构造函数，
      * 通过基于继承距离的评分算法选出最优解。
-     * 查找结果会被缓存。
+     * 查找结果会被缓存；启用持久化缓存时同样会记录到 [MemberCacheHelper]。
      *
      * @param clazz          需要查找构造函数的类。
      * @param parameterTypes 参数类型数组（元素可为 `null`，表示该位置通配）。
@@ -1158,16 +765,16 @@ object CoreHelper {
 
         val sig = "${parameterTypes.joinToString { it?.name ?: "null" }}#best"
         return getConstructorCacheMap(clazz).computeIfAbsent(sig) {
-            var bestMatch: Constructor<*>? = null
-            for (constructor in clazz.declaredConstructors) {
-                if (isAssignable(arrayOf(*parameterTypes), constructor.parameterTypes)) {
-                    if (bestMatch == null || compareFit(constructor.parameterTypes, bestMatch.parameterTypes, arrayOf(*parameterTypes)) < 0) {
-                        bestMatch = constructor
-                    }
-                }
+            val persisted = MemberCacheHelper.restoreConstructor(clazz, sig)
+            if (persisted != null) {
+                persisted.isAccessible = true
+                return@computeIfAbsent Optional.of(persisted)
             }
+
+            val bestMatch = OverloadResolver.selectBest(MemberIndex.of(clazz).declaredConstructors(parameterTypes.size), parameterTypes)
             if (bestMatch != null) {
                 bestMatch.isAccessible = true
+                MemberCacheHelper.recordConstructor(clazz, sig, bestMatch)
                 Optional.of(bestMatch)
             } else {
                 Optional.empty()
@@ -1215,6 +822,146 @@ object CoreHelper {
         return findConstructorBestMatch(clazz, *resolvedTypes)
     }
 
+    // ==================== Signature ====================
+
+    /**
+     * 签名解析缓存，以 [ClassLoader] 为键，驻留的 [MemberSignature] 到 [Optional] 包装的 [Executable] 的并发映射为值。
+     *
+     * 由于签名实例是驻留的，映射的比较与哈希均基于对象身份，命中时无需任何字符串处理。
+     * 映射中的成员经其声明类强引用着类加载器，直接作为值会使弱键永远无法回收，因此值以软引用保存。
+     */
+    private val signatureCache = WeakHashMap<ClassLoader, SoftReference<ConcurrentHashMap<MemberSignature, Optional<Executable>>>>()
+
+    /**
+     * 获取指定类加载器对应的签名解析缓存映射。
+     *
+     * @param classLoader 目标类加载器。
+     * @return 该类加载器对应的签名解析缓存映射。
+     */
+    private fun getSignatureCacheMap(classLoader: ClassLoader): ConcurrentHashMap<MemberSignature, Optional<Executable>> {
+        synchronized(signatureCache) {
+            return signatureCache[classLoader]?.get()
+                ?: ConcurrentHashMap<MemberSignature, Optional<Executable>>().also { signatureCache[classLoader] = SoftReference(it) }
+        }
+    }
+
+    /**
+     * 加载 [MemberSignature] 解析出的类型名称。
+     *
+     * @param typeName    基本类型关键字或 [Class.forName] 可接受的类型名称。
+     * @param classLoader 用于加载类的类加载器。
+     * @return 对应的 [Class] 对象。
+     * @throws NoClassDefFoundError 类型无法加载时抛出。
+     */
+    private fun loadSignatureType(typeName: String, classLoader: ClassLoader): Class<*> {
+        PRIMITIVE_NAME_MAP[typeName]?.let { return it }
+        return try {
+            Class.forName(typeName, false, classLoader)
+        } catch (_: ClassNotFoundException) {
+            throw NoClassDefFoundError(typeName)
+        }
+    }
+
+    /**
+     * 根据 JVM 描述符签名查找方法或构造函数。
+     *
+     * 签名格式见 [MemberSignature]。解析结果以签名实例为键按类加载器缓存，
+     * 同一签名的重复查找只需一次身份哈希查表。找到的成员会自动设置为可访问。
+     *
+     * @param signature   成员签名。
+     * @param classLoader 用于加载类的类加载器，为 `null` 时使用安全类加载器。
+     * @return 已设置可访问标志的 [Method] 或 [Constructor] 对象。
+     * @throws NoClassDefFoundError 声明类或某个参数类型无法加载时抛出。
+     * @throws NoSuchMethodError    类中未找到与签名一致的成员时抛出。
+     */
+    @JvmStatic
+    fun findMemberBySignature(signature: MemberSignature, classLoader: ClassLoader?): Executable {
+        val safeClassLoader = getSafeClassLoader(classLoader)
+        return getSignatureCacheMap(safeClassLoader).computeIfAbsent(signature) {
+            val clazz = findClass(signature.className, safeClassLoader)
+            val parameterTypes = Array(signature.parameterCount) { loadSignatureType(signature.getParameterTypeName(it), safeClassLoader) }
+            val member: Executable? = if (signature.isConstructor) {
+                MemberIndex.of(clazz).declaredConstructor(parameterTypes)
+            } else {
+                val returnType = signature.returnTypeName?.let { loadSignatureType(it, safeClassLoader) }
+                MemberIndex.of(clazz).findMethodExact(signature.memberName, parameterTypes, returnType)
+            }
+            if (member != null) {
+                member.isAccessible = true
+                Optional.of(member)
+            } else {
+                Optional.empty()
+            }
+        }.orElseThrow { NoSuchMethodError(signature.descriptor) }
+    }
+
+    /**
+     * 根据 JVM 描述符签名字符串查找方法或构造函数。
+     *
+     * @param signature   成员签名字符串，首次使用时解析并驻留。
+     * @param classLoader 用于加载类的类加载器，为 `null` 时使用安全类加载器。
+     * @return 已设置可访问标志的 [Method] 或 [Constructor] 对象。
+     * @throws IllegalArgumentException 签名格式不合法时抛出。
+     * @throws NoClassDefFoundError     声明类或某个参数类型无法加载时抛出。
+     * @throws NoSuchMethodError        类中未找到与签名一致的成员时抛出。
+     */
+    @JvmStatic
+    fun findMemberBySignature(signature: String, classLoader: ClassLoader?): Executable {
+        return findMemberBySignature(MemberSignature.of(signature), classLoader)
+    }
+
+    /**
+     * 根据 JVM 描述符签名查找方法或构造函数，查找失败时返回 `null`。
+     *
+     * 是 [findMemberBySignature] 的安全版本，不会因成员或类型缺失而抛出异常。
+     *
+     * @param signature   成员签名。
+     * @param classLoader 用于加载类的类加载器，可为 `null`。
+     * @return 已设置可访问标志的 [Method] 或 [Constructor] 对象；如果不存在则返回 `null`。
+     */
+    @JvmStatic
+    fun findMemberBySignatureIfExists(signature: MemberSignature, classLoader: ClassLoader?): Executable? {
+        return try {
+            findMemberBySignature(signature, classLoader)
+        } catch (_: NoClassDefFoundError) {
+            null
+        } catch (_: NoSuchMethodError) {
+            null
+        }
+    }
+
+    /**
+     * 根据 JVM 描述符签名查找方法。
+     *
+     * @param signature   方法签名。
+     * @param classLoader 用于加载类的类加载器，为 `null` 时使用安全类加载器。
+     * @return 已设置可访问标志的 [Method] 对象。
+     * @throws IllegalArgumentException 签名表示的是构造函数时抛出。
+     * @throws NoClassDefFoundError     声明类或某个参数类型无法加载时抛出。
+     * @throws NoSuchMethodError        类中未找到与签名一致的方法时抛出。
+     */
+    @JvmStatic
+    fun findMethodBySignature(signature: MemberSignature, classLoader: ClassLoader?): Method {
+        require(!signature.isConstructor) { "Signature is a constructor: ${signature.descriptor}" }
+        return findMemberBySignature(signature, classLoader) as Method
+    }
+
+    /**
+     * 根据 JVM 描述符签名查找构造函数。
+     *
+     * @param signature   构造函数签名，成员名必须为 `<init>`。
+     * @param classLoader 用于加载类的类加载器，为 `null` 时使用安全类加载器。
+     * @return 已设置可访问标志的 [Constructor] 对象。
+     * @throws IllegalArgumentException 签名表示的不是构造函数时抛出。
+     * @throws NoClassDefFoundError     声明类或某个参数类型无法加载时抛出。
+     * @throws NoSuchMethodError        类中未找到与签名一致的构造函数时抛出。
+     */
+    @JvmStatic
+    fun findConstructorBySignature(signature: MemberSignature, classLoader: ClassLoader?): Constructor<*> {
+        require(signature.isConstructor) { "Signature is not a constructor: ${signature.descriptor}" }
+        return findMemberBySignature(signature, classLoader) as Constructor<*>
+    }
+
     // ==================== Call Method ====================
 
     /**
@@ -1477,19 +1224,18 @@ object CoreHelper {
     // ==================== Additional Fields ====================
 
     /**
-     * 附加实例字段的存储容器。
+     * 附加字段的存储容器。
      *
-     * 以 [WeakHashMap] 弱引用持有对象键，当对象被 GC 回收后，
-     * 其对应的附加字段会自动清理，从而避免内存泄漏。
-     * 所有访问均通过 [synchronized] 保证线程安全。
+     * 以对象身份弱引用持有对象键，当对象被 GC 回收后，其对应的附加字段会自动清理；
+     * 读取无锁，写入仅锁定对象所在的分段，详见 [AdditionalFieldStore]。
      */
-    private val additionalFields = WeakHashMap<Any, HashMap<String, Any?>>()
+    private val additionalFields = AdditionalFieldStore()
 
     /**
      * 为指定对象设置一个附加的实例字段。
      *
      * 附加字段不依赖于类的字段定义，可为任意对象动态关联键值对数据。
-     * 如果指定的键已存在，则更新其值并返回旧值。
+     * 如果指定的键已存在，则更新其值并返回旧值；设置为 `null` 等同于移除。
      *
      * @param obj   目标对象实例。
      * @param key   字段键名。
@@ -1498,10 +1244,23 @@ object CoreHelper {
      */
     @JvmStatic
     fun setAdditionalInstanceField(obj: Any, key: String, value: Any?): Any? {
-        synchronized(additionalFields) {
-            val map = additionalFields.getOrPut(obj) { HashMap() }
-            return map.put(key, value)
-        }
+        return additionalFields.put(obj, key, value)
+    }
+
+    /**
+     * 为指定对象设置一个类型化的附加实例字段。
+     *
+     * 与字符串键版本共享同一存储，但省去了每次访问时的键名查找，适合在热路径中使用。
+     *
+     * @param obj   目标对象实例。
+     * @param key   附加字段键。
+     * @param value 需要设置的值，可为 `null`。
+     * @return 该键先前关联的值；如果之前未设置则返回 `null`。
+     */
+    @JvmStatic
+    @Suppress("UNCHECKED_CAST")
+    fun <T> setAdditionalInstanceField(obj: Any, key: AdditionalFieldKey<T>, value: T?): T? {
+        return additionalFields.put(obj, key, value) as T?
     }
 
     /**
@@ -1513,16 +1272,26 @@ object CoreHelper {
      */
     @JvmStatic
     fun getAdditionalInstanceField(obj: Any, key: String): Any? {
-        synchronized(additionalFields) {
-            val map = additionalFields[obj] ?: return null
-            return map[key]
-        }
+        return additionalFields.get(obj, key)
+    }
+
+    /**
+     * 读取指定对象的类型化附加实例字段值。
+     *
+     * @param obj 目标对象实例。
+     * @param key 附加字段键。
+     * @return 该键关联的值；如果未设置则返回 `null`。
+     */
+    @JvmStatic
+    @Suppress("UNCHECKED_CAST")
+    fun <T> getAdditionalInstanceField(obj: Any, key: AdditionalFieldKey<T>): T? {
+        return additionalFields.get(obj, key) as T?
     }
 
     /**
      * 移除指定对象的附加实例字段。
      *
-     * 如果移除后该对象不再拥有任何附加字段，则同时清理该对象的映射条目。
+     * 如果移除后该对象不再拥有任何附加字段，则同时清理该对象的条目。
      *
      * @param obj 目标对象实例。
      * @param key 字段键名。
@@ -1530,14 +1299,20 @@ object CoreHelper {
      */
     @JvmStatic
     fun removeAdditionalInstanceField(obj: Any, key: String): Any? {
-        synchronized(additionalFields) {
-            val map = additionalFields[obj] ?: return null
-            val removed = map.remove(key)
-            if (map.isEmpty()) {
-                additionalFields.remove(obj)
-            }
-            return removed
-        }
+        return additionalFields.remove(obj, key)
+    }
+
+    /**
+     * 移除指定对象的类型化附加实例字段。
+     *
+     * @param obj 目标对象实例。
+     * @param key 附加字段键。
+     * @return 被移除的值；如果该键不存在则返回 `null`。
+     */
+    @JvmStatic
+    @Suppress("UNCHECKED_CAST")
+    fun <T> removeAdditionalInstanceField(obj: Any, key: AdditionalFieldKey<T>): T? {
+        return additionalFields.remove(obj, key) as T?
     }
 
     /**
@@ -1555,6 +1330,19 @@ object CoreHelper {
         return setAdditionalInstanceField(clazz, key, value)
     }
 
+    /**
+     * 为指定类设置一个类型化的附加静态字段。
+     *
+     * @param clazz 目标类。
+     * @param key   附加字段键。
+     * @param value 需要设置的值，可为 `null`。
+     * @return 该键先前关联的值；如果之前未设置则返回 `null`。
+     */
+    @JvmStatic
+    fun <T> setAdditionalStaticField(clazz: Class<*>, key: AdditionalFieldKey<T>, value: T?): T? {
+        return setAdditionalInstanceField(clazz, key, value)
+    }
+
     /**
      * 读取指定类的附加静态字段值。
      *
@@ -1569,6 +1357,18 @@ object CoreHelper {
         return getAdditionalInstanceField(clazz, key)
     }
 
+    /**
+     * 读取指定类的类型化附加静态字段值。
+     *
+     * @param clazz 目标类。
+     * @param key   附加字段键。
+     * @return 该键关联的值；如果未设置则返回 `null`。
+     */
+    @JvmStatic
+    fun <T> getAdditionalStaticField(clazz: Class<*>, key: AdditionalFieldKey<T>): T? {
+        return getAdditionalInstanceField(clazz, key)
+    }
+
     /**
      * 移除指定类的附加静态字段。
      *
@@ -1582,4 +1382,16 @@ object CoreHelper {
     fun removeAdditionalStaticField(clazz: Class<*>, key: String): Any? {
         return removeAdditionalInstanceField(clazz, key)
     }
+
+    /**
+     * 移除指定类的类型化附加静态字段。
+     *
+     * @param clazz 目标类。
+     * @param key   附加字段键。
+     * @return 被移除的值；如果该键不存在则返回 `null`。
+     */
+    @JvmStatic
+    fun <T> removeAdditionalStaticField(clazz: Class<*>, key: AdditionalFieldKey<T>): T? {
+        return removeAdditionalInstanceField(clazz, key)
+    }
 }
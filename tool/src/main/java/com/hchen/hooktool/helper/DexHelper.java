@@ -0,0 +1,831 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hchen.hooktool.data.DexMethodData;
+import com.hchen.hooktool.data.DexMethodQuery;
+import com.hchen.hooktool.data.MemberSignature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Dex 文件解析与结构化方法搜索。
+ * <p>
+ * 直接读取安装包中的 {@code classes*.dex}：未压缩（STORED）的条目通过解析 zip 本地文件头定位后
+ * 以 {@link FileChannel#map} 映射，压缩条目则解压到内存。解析只依赖 dex 的索引表与
+ * {@code class_data_item} / {@code code_item}，全程不会加载或链接任何宿主类。
+ * <p>
+ * 方法体扫描按指令宽度表逐条跳过指令，仅关注 {@code const-string(/jumbo)} 与
+ * {@code invoke-*} 系列指令，并正确跳过 switch / fill-array-data 伪指令负载。
+ *
+ * @author 焕晨HChen
+ */
+public final class DexHelper {
+    private static final int ZIP_EOCD_SIGNATURE = 0x06054b50;
+    private static final int ZIP_CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int ZIP_LOCAL_SIGNATURE = 0x04034b50;
+    private static final int ZIP_METHOD_STORED = 0;
+    private static final int ZIP_EOCD_SIZE = 22;
+    private static final int DEX_ENDIAN_CONSTANT = 0x12345678;
+    private static final int NO_INDEX = -1;
+
+    /**
+     * 各操作码对应的指令宽度（以 16 位代码单元计），未使用的操作码按 1 处理。
+     */
+    private static final byte[] OPCODE_WIDTHS = new byte[256];
+
+    static {
+        Arrays.fill(OPCODE_WIDTHS, (byte) 1);
+        setWidth(2, 0x02, 0x05, 0x08, 0x13, 0x15, 0x16, 0x19, 0x1a, 0x1c, 0x1f, 0x20, 0x22, 0x23, 0x29, 0xfe, 0xff);
+        setWidth(3, 0x03, 0x06, 0x09, 0x14, 0x17, 0x1b, 0x24, 0x25, 0x26, 0x2a, 0x2b, 0x2c, 0xfc, 0xfd);
+        setWidth(5, 0x18);
+        setWidth(4, 0xfa, 0xfb);
+        setWidthRange(2, 0x2d, 0x3d); // cmpkind、if-test、if-testz
+        setWidthRange(2, 0x44, 0x6d); // aget/aput、iget/iput、sget/sput
+        setWidthRange(3, 0x6e, 0x72); // invoke-kind
+        setWidthRange(3, 0x74, 0x78); // invoke-kind/range
+        setWidthRange(2, 0x90, 0xaf); // binop
+        setWidthRange(2, 0xd0, 0xe2); // binop/lit16、binop/lit8
+    }
+
+    private DexHelper() {
+    }
+
+    private static void setWidth(int width, int... opcodes) {
+        for (int opcode : opcodes) {
+            OPCODE_WIDTHS[opcode] = (byte) width;
+        }
+    }
+
+    private static void setWidthRange(int width, int from, int to) {
+        for (int opcode = from; opcode <= to; opcode++) {
+            OPCODE_WIDTHS[opcode] = (byte) width;
+        }
+    }
+
+    // ==================== Open ====================
+
+    /**
+     * 打开安装包中的全部 {@code classes*.dex}。
+     *
+     * @param apk        安装包文件
+     * @param firstIndex 第一个 dex 的序号，用于在基础包与拆分包之间连续编号
+     * @return 按 {@code classes.dex}、{@code classes2.dex}… 顺序排列的 dex 列表
+     * @throws IOException 安装包无法读取或格式不正确时抛出
+     */
+    @NonNull
+    public static List<Dex> open(@NonNull File apk, int firstIndex) throws IOException {
+        TreeMap<Integer, ByteBuffer> buffers = new TreeMap<>();
+        List<String> deflated = new ArrayList<>();
+
+        try (RandomAccessFile file = new RandomAccessFile(apk, "r"); FileChannel channel = file.getChannel()) {
+            long fileSize = channel.size();
+            int tailSize = (int) Math.min(fileSize, 0xffff + ZIP_EOCD_SIZE);
+            ByteBuffer tail = read(channel, fileSize - tailSize, tailSize);
+
+            int eocd = -1;
+            for (int i = tailSize - ZIP_EOCD_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == ZIP_EOCD_SIGNATURE) {
+                    eocd = i;
+                    break;
+                }
+            }
+            if (eocd == -1) throw new IOException("Not a zip file: " + apk);
+
+            int entryCount = tail.getShort(eocd + 10) & 0xffff;
+            long centralSize = tail.getInt(eocd + 12) & 0xffffffffL;
+            long centralOffset = tail.getInt(eocd + 16) & 0xffffffffL;
+            ByteBuffer central = read(channel, centralOffset, (int) centralSize);
+
+            int p = 0;
+            for (int i = 0; i < entryCount; i++) {
+                if (central.getInt(p) != ZIP_CENTRAL_SIGNATURE)
+                    throw new IOException("Corrupted central directory: " + apk);
+
+                int method = central.getShort(p + 10) & 0xffff;
+                long size = central.getInt(p + 24) & 0xffffffffL;
+                int nameLength = central.getShort(p + 28) & 0xffff;
+                int extraLength = central.getShort(p + 30) & 0xffff;
+                int commentLength = central.getShort(p + 32) & 0xffff;
+                long localOffset = central.getInt(p + 42) & 0xffffffffL;
+                String name = new String(central.array(), p + 46, nameLength, StandardCharsets.UTF_8);
+                p += 46 + nameLength + extraLength + commentLength;
+
+                int number = dexNumber(name);
+                if (number == NO_INDEX) continue;
+                if (method == ZIP_METHOD_STORED) {
+                    ByteBuffer local = read(channel, localOffset, 30);
+                    if (local.getInt(0) != ZIP_LOCAL_SIGNATURE)
+                        throw new IOException("Corrupted local header: " + name);
+                    long dataOffset = localOffset + 30 + (local.getShort(26) & 0xffff) + (local.getShort(28) & 0xffff);
+                    buffers.put(number, channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, size));
+                } else {
+                    deflated.add(name);
+                }
+            }
+        }
+
+        if (!deflated.isEmpty()) {
+            try (ZipFile zip = new ZipFile(apk)) {
+                for (String name : deflated) {
+                    ZipEntry entry = zip.getEntry(name);
+                    byte[] bytes = new byte[(int) entry.getSize()];
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        int n = 0;
+                        while (n < bytes.length) {
+                            int r = in.read(bytes, n, bytes.length - n);
+                            if (r < 0) throw new IOException("Truncated entry: " + name);
+                            n += r;
+                        }
+                    }
+                    buffers.put(dexNumber(name), ByteBuffer.wrap(bytes));
+                }
+            }
+        }
+
+        List<Dex> result = new ArrayList<>(buffers.size());
+        for (ByteBuffer buffer : buffers.values()) {
+            result.add(new Dex(buffer, firstIndex + result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * 解析 {@code classes.dex} / {@code classesN.dex} 的序号，其余条目返回 {@link #NO_INDEX}。
+     */
+    private static int dexNumber(@NonNull String name) {
+        if (!name.startsWith("classes") || !name.endsWith(".dex")) return NO_INDEX;
+        String digits = name.substring(7, name.length() - 4);
+        if (digits.isEmpty()) return 1;
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) return NO_INDEX;
+        }
+        return Integer.parseInt(digits);
+    }
+
+    @NonNull
+    private static ByteBuffer read(@NonNull FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Unexpected end of file");
+        }
+        return buffer;
+    }
+
+    // ==================== Search ====================
+
+    /**
+     * 在单个 dex 中按查询条件搜索方法。
+     *
+     * @param dex   目标 dex
+     * @param query 查询条件
+     * @param out   命中结果的输出列表
+     */
+    public static void search(@NonNull Dex dex, @NonNull DexMethodQuery query, @NonNull List<DexMethodData> out) {
+        QueryPlan plan = QueryPlan.create(dex, query);
+        if (plan == null) return; // 所需的字符串、类型或方法在该 dex 中不存在
+
+        for (int classDef = 0; classDef < dex.classDefCount; classDef++) {
+            if (plan.declaringClass != NO_INDEX && dex.getClassDefType(classDef) != plan.declaringClass) continue;
+            dex.visitMethods(classDef, (methodIdx, accessFlags, codeOff) -> {
+                if (plan.matches(dex, methodIdx, accessFlags, codeOff)) out.add(dex.toMethodData(methodIdx, accessFlags));
+            });
+        }
+    }
+
+    /**
+     * 借助预先构建的索引在单个 dex 中搜索方法，字符串与调用条件直接在索引中比对，不再扫描方法体。
+     *
+     * @param dex   目标 dex
+     * @param index 该 dex 的索引，见 {@link DexIndexHelper}
+     * @param query 查询条件
+     * @param out   命中结果的输出列表
+     */
+    public static void search(@NonNull Dex dex, @NonNull DexIndexHelper.Index index, @NonNull DexMethodQuery query, @NonNull List<DexMethodData> out) {
+        QueryPlan plan = QueryPlan.create(dex, query);
+        if (plan == null) return;
+
+        for (int i = 0, size = index.size(); i < size; i++) {
+            int methodIdx = index.getMethodIdx(i);
+            int accessFlags = index.getAccessFlags(i);
+            if (plan.declaringClass != NO_INDEX && dex.getMethodClass(methodIdx) != plan.declaringClass) continue;
+            if (plan.matchesSignature(dex, methodIdx, accessFlags) && plan.matchesIndex(index, i))
+                out.add(dex.toMethodData(methodIdx, accessFlags));
+        }
+    }
+
+    /**
+     * 将查询条件转换为某个 dex 内索引后的匹配计划。
+     */
+    private static final class QueryPlan {
+        int declaringClass = NO_INDEX;
+        int methodName = NO_INDEX;
+        int returnType = NO_INDEX;
+        int[] parameterTypes;
+        int parameterCount;
+        int requiredAccessFlags;
+        int excludedAccessFlags;
+        int[] strings;
+        int[][] invokes;
+
+        /**
+         * @return 匹配计划；查询所需的任一元素在 dex 中不存在时返回 {@code null}
+         */
+        @Nullable
+        static QueryPlan create(@NonNull Dex dex, @NonNull DexMethodQuery query) {
+            QueryPlan plan = new QueryPlan();
+            if (query.getDeclaringClass() != null) {
+                plan.declaringClass = dex.findType(query.getDeclaringClass());
+                if (plan.declaringClass == NO_INDEX) return null;
+            }
+            if (query.getMethodName() != null) {
+                plan.methodName = dex.findString(query.getMethodName());
+                if (plan.methodName == NO_INDEX) return null;
+            }
+            if (query.getReturnType() != null) {
+                plan.returnType = dex.findType(query.getReturnType());
+                if (plan.returnType == NO_INDEX) return null;
+            }
+            String[] parameterTypes = query.getParameterTypes();
+            if (parameterTypes != null) {
+                plan.parameterTypes = dex.findTypes(parameterTypes);
+                if (plan.parameterTypes == null) return null;
+            }
+            plan.parameterCount = query.getParameterCount();
+            plan.requiredAccessFlags = query.getRequiredAccessFlags();
+            plan.excludedAccessFlags = query.getExcludedAccessFlags();
+
+            String[] strings = query.getUsingStrings();
+            plan.strings = new int[strings.length];
+            for (int i = 0; i < strings.length; i++) {
+                plan.strings[i] = dex.findString(strings[i]);
+                if (plan.strings[i] == NO_INDEX) return null;
+            }
+
+            MemberSignature[] invokes = query.getInvokedMethods();
+            plan.invokes = new int[invokes.length][];
+            for (int i = 0; i < invokes.length; i++) {
+                plan.invokes[i] = dex.findMethods(invokes[i]);
+                if (plan.invokes[i].length == 0) return null;
+            }
+            return plan;
+        }
+
+        boolean matches(@NonNull Dex dex, int methodIdx, int accessFlags, int codeOff) {
+            if (!matchesSignature(dex, methodIdx, accessFlags)) return false;
+            if (strings.length == 0 && invokes.length == 0) return true;
+            if (codeOff == 0) return false;
+            return new CodeMatcher(strings, invokes).scan(dex, codeOff);
+        }
+
+        boolean matchesIndex(@NonNull DexIndexHelper.Index index, int i) {
+            for (int string : strings) {
+                if (!index.usesString(i, string)) return false;
+            }
+            for (int[] invoke : invokes) {
+                if (!index.invokesAny(i, invoke)) return false;
+            }
+            return true;
+        }
+
+        boolean matchesSignature(@NonNull Dex dex, int methodIdx, int accessFlags) {
+            if ((accessFlags & requiredAccessFlags) != requiredAccessFlags) return false;
+            if ((accessFlags & excludedAccessFlags) != 0) return false;
+            if (methodName != NO_INDEX && dex.getMethodName(methodIdx) != methodName) return false;
+
+            int proto = dex.getMethodProto(methodIdx);
+            if (returnType != NO_INDEX && dex.getProtoReturnType(proto) != returnType) return false;
+            if (parameterCount != -1 && dex.getProtoParameterCount(proto) != parameterCount) return false;
+            if (parameterTypes != null) {
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (dex.getProtoParameterType(proto, i) != parameterTypes[i]) return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 扫描方法体，判断其是否引用了全部所需的字符串与方法。
+     */
+    private static final class CodeMatcher implements CodeVisitor {
+        private final int[] strings;
+        private final int[][] invokes;
+        private final boolean[] stringFound;
+        private final boolean[] invokeFound;
+        private int remaining;
+
+        CodeMatcher(@NonNull int[] strings, @NonNull int[][] invokes) {
+            this.strings = strings;
+            this.invokes = invokes;
+            this.stringFound = new boolean[strings.length];
+            this.invokeFound = new boolean[invokes.length];
+            this.remaining = strings.length + invokes.length;
+        }
+
+        boolean scan(@NonNull Dex dex, int codeOff) {
+            dex.visitCode(codeOff, this);
+            return remaining == 0;
+        }
+
+        @Override
+        public boolean visitString(int stringIdx) {
+            for (int i = 0; i < strings.length; i++) {
+                if (!stringFound[i] && strings[i] == stringIdx) {
+                    stringFound[i] = true;
+                    remaining--;
+                }
+            }
+            return remaining > 0;
+        }
+
+        @Override
+        public boolean visitInvoke(int methodIdx) {
+            for (int i = 0; i < invokes.length; i++) {
+                if (!invokeFound[i] && Arrays.binarySearch(invokes[i], methodIdx) >= 0) {
+                    invokeFound[i] = true;
+                    remaining--;
+                }
+            }
+            return remaining > 0;
+        }
+    }
+
+    // ==================== Dex ====================
+
+    /**
+     * 方法访问回调。
+     */
+    public interface MethodVisitor {
+        /**
+         * @param methodIdx   方法在 {@code method_ids} 中的索引
+         * @param accessFlags 访问标志
+         * @param codeOff     {@code code_item} 的偏移；抽象或 native 方法为 0
+         */
+        void visit(int methodIdx, int accessFlags, int codeOff);
+    }
+
+    /**
+     * 指令访问回调，返回 {@code false} 时停止扫描当前方法体。
+     */
+    public interface CodeVisitor {
+        /**
+         * @param stringIdx {@code const-string} 引用的字符串索引
+         * @return 是否继续扫描
+         */
+        boolean visitString(int stringIdx);
+
+        /**
+         * @param methodIdx {@code invoke-*} 调用的方法索引
+         * @return 是否继续扫描
+         */
+        boolean visitInvoke(int methodIdx);
+    }
+
+    /**
+     * 单个 dex 文件的只读视图。
+     * <p>
+     * 所有读取均使用绝对位置访问，不修改缓冲区状态，可在多个线程间共享。
+     */
+    public static final class Dex {
+        @NonNull
+        private final ByteBuffer data;
+        private final int index;
+        private final int stringIdsSize;
+        private final int stringIdsOff;
+        private final int typeIdsSize;
+        private final int typeIdsOff;
+        private final int protoIdsOff;
+        private final int methodIdsSize;
+        private final int methodIdsOff;
+        private final int classDefCount;
+        private final int classDefsOff;
+        @NonNull
+        private final String[] strings;
+
+        Dex(@NonNull ByteBuffer data, int index) throws IOException {
+            this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+            this.index = index;
+            if (data.capacity() < 0x70 || data.get(0) != 'd' || data.get(1) != 'e' || data.get(2) != 'x' ||
+                data.getInt(40) != DEX_ENDIAN_CONSTANT)
+                throw new IOException("Not a dex file: classes" + (index + 1) + ".dex");
+
+            stringIdsSize = data.getInt(56);
+            stringIdsOff = data.getInt(60);
+            typeIdsSize = data.getInt(64);
+            typeIdsOff = data.getInt(68);
+            protoIdsOff = data.getInt(76);
+            methodIdsSize = data.getInt(88);
+            methodIdsOff = data.getInt(92);
+            classDefCount = data.getInt(96);
+            classDefsOff = data.getInt(100);
+            strings = new String[stringIdsSize];
+        }
+
+        /**
+         * @return 该 dex 的序号
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return {@code class_defs} 的数量
+         */
+        public int getClassDefCount() {
+            return classDefCount;
+        }
+
+        /**
+         * @return {@code method_ids} 的数量
+         */
+        public int getMethodIdCount() {
+            return methodIdsSize;
+        }
+
+        /**
+         * 读取字符串常量，解码结果会被缓存。
+         *
+         * @param stringIdx 字符串索引
+         * @return 字符串内容
+         */
+        @NonNull
+        public String getString(int stringIdx) {
+            String value = strings[stringIdx];
+            if (value == null) {
+                value = decodeString(data.getInt(stringIdsOff + stringIdx * 4));
+                strings[stringIdx] = value;
+            }
+            return value;
+        }
+
+        /**
+         * 解码 {@code string_data_item}（MUTF-8）。
+         */
+        @NonNull
+        private String decodeString(int offset) {
+            Reader reader = new Reader(data, offset);
+            char[] chars = new char[reader.uleb128()];
+            int p = reader.position;
+            for (int i = 0; i < chars.length; i++) {
+                int a = data.get(p++) & 0xff;
+                if (a < 0x80) {
+                    chars[i] = (char) a;
+                } else if ((a & 0xe0) == 0xc0) {
+                    chars[i] = (char) (((a & 0x1f) << 6) | (data.get(p++) & 0x3f));
+                } else {
+                    int b = data.get(p++) & 0x3f;
+                    chars[i] = (char) (((a & 0x0f) << 12) | (b << 6) | (data.get(p++) & 0x3f));
+                }
+            }
+            return new String(chars);
+        }
+
+        /**
+         * 二分查找字符串常量。
+         *
+         * @param value 字符串内容
+         * @return 字符串索引；不存在时返回 {@code -1}
+         */
+        public int findString(@NonNull String value) {
+            int low = 0;
+            int high = stringIdsSize - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareCodePoints(getString(mid), value);
+                if (cmp < 0) low = mid + 1;
+                else if (cmp > 0) high = mid - 1;
+                else return mid;
+            }
+            return NO_INDEX;
+        }
+
+        /**
+         * 按 dex 规范要求的码点顺序比较字符串，与 {@link String#compareTo} 在代理对上的结果不同。
+         */
+        private static int compareCodePoints(@NonNull String a, @NonNull String b) {
+            int length = Math.min(a.length(), b.length());
+            for (int i = 0; i < length; i++) {
+                char x = a.charAt(i);
+                char y = b.charAt(i);
+                if (x != y) {
+                    if (Character.isSurrogate(x) || Character.isSurrogate(y))
+                        return Integer.compare(a.codePointAt(i), b.codePointAt(i));
+                    return x - y;
+                }
+            }
+            return a.length() - b.length();
+        }
+
+        /**
+         * 获取类型描述符。
+         *
+         * @param typeIdx 类型索引
+         * @return 类型描述符，如 {@code Ljava/lang/String;}
+         */
+        @NonNull
+        public String getTypeDescriptor(int typeIdx) {
+            return getString(data.getInt(typeIdsOff + typeIdx * 4));
+        }
+
+        /**
+         * 查找类型描述符对应的类型索引。
+         *
+         * @param descriptor 类型描述符
+         * @return 类型索引；不存在时返回 {@code -1}
+         */
+        public int findType(@NonNull String descriptor) {
+            int stringIdx = findString(descriptor);
+            if (stringIdx == NO_INDEX) return NO_INDEX;
+
+            int low = 0;
+            int high = typeIdsSize - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int value = data.getInt(typeIdsOff + mid * 4);
+                if (value < stringIdx) low = mid + 1;
+                else if (value > stringIdx) high = mid - 1;
+                else return mid;
+            }
+            return NO_INDEX;
+        }
+
+        /**
+         * 批量查找类型索引。
+         *
+         * @return 类型索引数组；任一类型不存在时返回 {@code null}
+         */
+        @Nullable
+        private int[] findTypes(@NonNull String[] descriptors) {
+            int[] types = new int[descriptors.length];
+            for (int i = 0; i < descriptors.length; i++) {
+                types[i] = findType(descriptors[i]);
+                if (types[i] == NO_INDEX) return null;
+            }
+            return types;
+        }
+
+        /**
+         * @return {@code class_def} 所定义类的类型索引
+         */
+        public int getClassDefType(int classDef) {
+            return data.getInt(classDefsOff + classDef * 32);
+        }
+
+        /**
+         * @return 方法声明类的类型索引
+         */
+        public int getMethodClass(int methodIdx) {
+            return data.getShort(methodIdsOff + methodIdx * 8) & 0xffff;
+        }
+
+        /**
+         * @return 方法原型索引
+         */
+        public int getMethodProto(int methodIdx) {
+            return data.getShort(methodIdsOff + methodIdx * 8 + 2) & 0xffff;
+        }
+
+        /**
+         * @return 方法名的字符串索引
+         */
+        public int getMethodName(int methodIdx) {
+            return data.getInt(methodIdsOff + methodIdx * 8 + 4);
+        }
+
+        /**
+         * @return 原型返回值的类型索引
+         */
+        public int getProtoReturnType(int protoIdx) {
+            return data.getInt(protoIdsOff + protoIdx * 12 + 4);
+        }
+
+        /**
+         * @return 原型的参数个数
+         */
+        public int getProtoParameterCount(int protoIdx) {
+            int offset = data.getInt(protoIdsOff + protoIdx * 12 + 8);
+            return offset == 0 ? 0 : data.getInt(offset);
+        }
+
+        /**
+         * @return 原型第 {@code i} 个参数的类型索引
+         */
+        public int getProtoParameterType(int protoIdx, int i) {
+            int offset = data.getInt(protoIdsOff + protoIdx * 12 + 8);
+            return data.getShort(offset + 4 + i * 2) & 0xffff;
+        }
+
+        /**
+         * 查找与签名一致的方法引用。签名未指定返回值时返回全部同参重载。
+         *
+         * @param signature 方法签名
+         * @return 升序排列的方法索引数组；不存在时返回空数组
+         */
+        @NonNull
+        public int[] findMethods(@NonNull MemberSignature signature) {
+            int classIdx = findType(DexMethodQuery.toDescriptor(signature.getClassName()));
+            int nameIdx = findString(signature.getMemberName());
+            if (classIdx == NO_INDEX || nameIdx == NO_INDEX) return new int[0];
+
+            int returnType = NO_INDEX;
+            if (signature.getReturnDescriptor() != null) {
+                returnType = findType(signature.getReturnDescriptor());
+                if (returnType == NO_INDEX) return new int[0];
+            }
+            String[] parameterDescriptors = new String[signature.getParameterCount()];
+            for (int i = 0; i < parameterDescriptors.length; i++) {
+                parameterDescriptors[i] = signature.getParameterDescriptor(i);
+            }
+            int[] parameterTypes = findTypes(parameterDescriptors);
+            if (parameterTypes == null) return new int[0];
+
+            // method_ids 依次按声明类、方法名、原型排序，先定位 (类, 名称) 的下界
+            int low = 0;
+            int high = methodIdsSize;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cls = getMethodClass(mid);
+                if (cls < classIdx || (cls == classIdx && getMethodName(mid) < nameIdx)) low = mid + 1;
+                else high = mid;
+            }
+
+            int[] result = new int[4];
+            int count = 0;
+            for (int m = low; m < methodIdsSize && getMethodClass(m) == classIdx && getMethodName(m) == nameIdx; m++) {
+                int proto = getMethodProto(m);
+                if (returnType != NO_INDEX && getProtoReturnType(proto) != returnType) continue;
+                if (!protoParametersEqual(proto, parameterTypes)) continue;
+                if (count == result.length) result = Arrays.copyOf(result, count * 2);
+                result[count++] = m;
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private boolean protoParametersEqual(int protoIdx, @NonNull int[] parameterTypes) {
+            if (getProtoParameterCount(protoIdx) != parameterTypes.length) return false;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (getProtoParameterType(protoIdx, i) != parameterTypes[i]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * 遍历某个 {@code class_def} 中定义的全部方法（直接方法在前，虚方法在后）。
+         *
+         * @param classDef {@code class_def} 索引
+         * @param visitor  方法访问回调
+         */
+        public void visitMethods(int classDef, @NonNull MethodVisitor visitor) {
+            int classDataOff = data.getInt(classDefsOff + classDef * 32 + 24);
+            if (classDataOff == 0) return;
+
+            Reader reader = new Reader(data, classDataOff);
+            int staticFields = reader.uleb128();
+            int instanceFields = reader.uleb128();
+            int directMethods = reader.uleb128();
+            int virtualMethods = reader.uleb128();
+            for (int i = 0; i < staticFields + instanceFields; i++) {
+                reader.uleb128();
+                reader.uleb128();
+            }
+            visitMethodList(reader, directMethods, visitor);
+            visitMethodList(reader, virtualMethods, visitor);
+        }
+
+        private static void visitMethodList(@NonNull Reader reader, int count, @NonNull MethodVisitor visitor) {
+            int methodIdx = 0;
+            for (int i = 0; i < count; i++) {
+                methodIdx += reader.uleb128();
+                int accessFlags = reader.uleb128();
+                int codeOff = reader.uleb128();
+                visitor.visit(methodIdx, accessFlags, codeOff);
+            }
+        }
+
+        /**
+         * 扫描方法体中的字符串引用与方法调用。
+         *
+         * @param codeOff {@code code_item} 偏移
+         * @param visitor 指令访问回调
+         */
+        public void visitCode(int codeOff, @NonNull CodeVisitor visitor) {
+            int insnsSize = data.getInt(codeOff + 12);
+            int base = codeOff + 16;
+            int pc = 0;
+            while (pc < insnsSize) {
+                int position = base + pc * 2;
+                int unit = data.getShort(position) & 0xffff;
+                int opcode = unit & 0xff;
+                if (opcode == 0x00 && unit != 0) {
+                    pc += payloadWidth(position, unit);
+                    continue;
+                }
+
+                boolean proceed = switch (opcode) {
+                    case 0x1a -> visitor.visitString(data.getShort(position + 2) & 0xffff);
+                    case 0x1b -> visitor.visitString(data.getInt(position + 2));
+                    case 0x6e, 0x6f, 0x70, 0x71, 0x72, 0x74, 0x75, 0x76, 0x77, 0x78, 0xfa, 0xfb ->
+                        visitor.visitInvoke(data.getShort(position + 2) & 0xffff);
+                    default -> true;
+                };
+                if (!proceed) return;
+                pc += OPCODE_WIDTHS[opcode];
+            }
+        }
+
+        /**
+         * 计算 switch / fill-array-data 伪指令负载的宽度。
+         */
+        private int payloadWidth(int position, int ident) {
+            return switch (ident) {
+                case 0x0100 -> 4 + (data.getShort(position + 2) & 0xffff) * 2; // packed-switch-payload
+                case 0x0200 -> 2 + (data.getShort(position + 2) & 0xffff) * 4; // sparse-switch-payload
+                case 0x0300 -> { // fill-array-data-payload
+                    int elementWidth = data.getShort(position + 2) & 0xffff;
+                    long size = data.getInt(position + 4) & 0xffffffffL;
+                    yield (int) (4 + (size * elementWidth + 1) / 2);
+                }
+                default -> 1;
+            };
+        }
+
+        /**
+         * 根据方法索引构建结果记录。
+         *
+         * @param methodIdx   方法索引
+         * @param accessFlags 访问标志
+         * @return 方法记录
+         */
+        @NonNull
+        public DexMethodData toMethodData(int methodIdx, int accessFlags) {
+            String classDescriptor = getTypeDescriptor(getMethodClass(methodIdx));
+            String className = classDescriptor.substring(1, classDescriptor.length() - 1).replace('/', '.');
+            int proto = getMethodProto(methodIdx);
+            String[] parameterTypes = new String[getProtoParameterCount(proto)];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = getTypeDescriptor(getProtoParameterType(proto, i));
+            }
+            return new DexMethodData(className, getString(getMethodName(methodIdx)), parameterTypes,
+                getTypeDescriptor(getProtoReturnType(proto)), accessFlags, index);
+        }
+    }
+
+    /**
+     * 顺序读取 LEB128 编码数据的游标。
+     */
+    private static final class Reader {
+        private final ByteBuffer data;
+        private int position;
+
+        Reader(@NonNull ByteBuffer data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int uleb128() {
+            int result = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = data.get(position++) & 0xff;
+                result |= (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0 && shift < 35);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hchen.hooktool.log.AndroidLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Dex 方法引用索引的构建与持久化。
+ * <p>
+ * 索引为每个 dex 中定义的方法记录：方法索引、访问标志、方法体引用的字符串索引以及调用的方法索引。
+ * 构建时按 dex 与 {@code class_def} 区间拆分为 fork-join 任务并行扫描；
+ * 结果以紧凑的小端二进制文件写入宿主缓存目录，并以各安装包的路径、修改时间与大小作为版本键。
+ * <p>
+ * 同一宿主的后续进程直接以 {@link FileChannel#map} 映射索引文件，
+ * 各数组以 {@link IntBuffer} 视图原地读取，无需反序列化，也无需再次扫描方法体。
+ *
+ * @author 焕晨HChen
+ */
+public final class DexIndexHelper {
+    private static final String TAG = "DexIndexHelper";
+    private static final String INDEX_FILE_NAME = "dex_index.bin";
+    private static final int MAGIC = 0x48544458; // "HTDX"
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * 单个 fork-join 任务最多负责的 {@code class_def} 数量。
+     */
+    private static final int CLASS_DEFS_PER_TASK = 512;
+
+    private DexIndexHelper() {
+    }
+
+    /**
+     * 获取一组 dex 的索引：优先映射缓存文件，版本键不一致或文件损坏时重新构建并写回。
+     *
+     * @param cacheDir 缓存目录；为 {@code null} 时只在内存中构建
+     * @param apks     dex 所属的安装包，依次为基础包与拆分包
+     * @param dexes    按序号排列的 dex
+     * @return 与 {@code dexes} 一一对应的索引
+     */
+    @NonNull
+    public static Index[] obtain(@Nullable File cacheDir, @NonNull List<File> apks, @NonNull List<DexHelper.Dex> dexes) {
+        File indexFile = cacheDir == null ? null : new File(cacheDir, INDEX_FILE_NAME);
+        if (indexFile != null && indexFile.isFile()) {
+            try {
+                Index[] indexes = load(indexFile, apks, dexes.size());
+                if (indexes != null) return indexes;
+            } catch (IOException | RuntimeException e) {
+                AndroidLog.logW(TAG, "Failed to load dex index, it will be rebuilt.", e);
+            }
+        }
+
+        Index[] indexes = build(dexes);
+        if (indexFile != null) {
+            try {
+                save(indexFile, apks, indexes);
+            } catch (IOException e) {
+                AndroidLog.logW(TAG, "Failed to write dex index.", e);
+            }
+        }
+        return indexes;
+    }
+
+    // ==================== Build ====================
+
+    /**
+     * 并行构建索引：每个 dex 提交一个根任务，根任务再按 {@code class_def} 区间递归拆分。
+     *
+     * @param dexes 按序号排列的 dex
+     * @return 与 {@code dexes} 一一对应的索引
+     */
+    @NonNull
+    public static Index[] build(@NonNull List<DexHelper.Dex> dexes) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<Part>> tasks = new ArrayList<>(dexes.size());
+        for (DexHelper.Dex dex : dexes) {
+            tasks.add(pool.submit(new BuildTask(dex, 0, dex.getClassDefCount())));
+        }
+
+        Index[] indexes = new Index[dexes.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = tasks.get(i).join().toIndex();
+        }
+        return indexes;
+    }
+
+    /**
+     * 扫描 {@code [from, to)} 区间内 {@code class_def} 的递归任务，子任务结果按区间顺序合并。
+     */
+    private static final class BuildTask extends RecursiveTask<Part> {
+        private final DexHelper.Dex dex;
+        private final int from;
+        private final int to;
+
+        BuildTask(@NonNull DexHelper.Dex dex, int from, int to) {
+            this.dex = dex;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Part compute() {
+            if (to - from <= CLASS_DEFS_PER_TASK) return scan();
+
+            int mid = (from + to) >>> 1;
+            BuildTask left = new BuildTask(dex, from, mid);
+            left.fork();
+            Part right = new BuildTask(dex, mid, to).compute();
+            return left.join().append(right);
+        }
+
+        @NonNull
+        private Part scan() {
+            Part part = new Part();
+            RefCollector collector = new RefCollector();
+            for (int classDef = from; classDef < to; classDef++) {
+                dex.visitMethods(classDef, (methodIdx, accessFlags, codeOff) -> {
+                    part.methods.add(methodIdx);
+                    part.accessFlags.add(accessFlags);
+                    if (codeOff != 0) {
+                        collector.reset();
+                        dex.visitCode(codeOff, collector);
+                        collector.strings.appendDistinctTo(part.stringPool);
+                        collector.invokes.appendDistinctTo(part.invokePool);
+                    }
+                    part.stringEnds.add(part.stringPool.size);
+                    part.invokeEnds.add(part.invokePool.size);
+                });
+            }
+            return part;
+        }
+    }
+
+    /**
+     * 收集单个方法体内的全部引用。
+     */
+    private static final class RefCollector implements DexHelper.CodeVisitor {
+        final IntList strings = new IntList();
+        final IntList invokes = new IntList();
+
+        void reset() {
+            strings.size = 0;
+            invokes.size = 0;
+        }
+
+        @Override
+        public boolean visitString(int stringIdx) {
+            strings.add(stringIdx);
+            return true;
+        }
+
+        @Override
+        public boolean visitInvoke(int methodIdx) {
+            invokes.add(methodIdx);
+            return true;
+        }
+    }
+
+    /**
+     * 构建中的部分索引。{@code stringEnds} / {@code invokeEnds} 记录每个方法引用在池中的结束位置。
+     */
+    private static final class Part {
+        final IntList methods = new IntList();
+        final IntList accessFlags = new IntList();
+        final IntList stringEnds = new IntList();
+        final IntList invokeEnds = new IntList();
+        final IntList stringPool = new IntList();
+        final IntList invokePool = new IntList();
+
+        @NonNull
+        Part append(@NonNull Part other) {
+            int stringBase = stringPool.size;
+            int invokeBase = invokePool.size;
+            methods.addAll(other.methods);
+            accessFlags.addAll(other.accessFlags);
+            for (int i = 0; i < other.stringEnds.size; i++) {
+                stringEnds.add(other.stringEnds.data[i] + stringBase);
+                invokeEnds.add(other.invokeEnds.data[i] + invokeBase);
+            }
+            stringPool.addAll(other.stringPool);
+            invokePool.addAll(other.invokePool);
+            return this;
+        }
+
+        @NonNull
+        Index toIndex() {
+            int count = methods.size;
+            int[] stringStarts = new int[count + 1];
+            int[] invokeStarts = new int[count + 1];
+            System.arraycopy(stringEnds.data, 0, stringStarts, 1, count);
+            System.arraycopy(invokeEnds.data, 0, invokeStarts, 1, count);
+            return new Index(
+                IntBuffer.wrap(methods.toArray()),
+                IntBuffer.wrap(accessFlags.toArray()),
+                IntBuffer.wrap(stringStarts),
+                IntBuffer.wrap(invokeStarts),
+                IntBuffer.wrap(stringPool.toArray()),
+                IntBuffer.wrap(invokePool.toArray())
+            );
+        }
+    }
+
+    /**
+     * 可增长的 int 数组。
+     */
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size << 1);
+            data[size++] = value;
+        }
+
+        void addAll(@NonNull IntList other) {
+            if (size + other.size > data.length) data = Arrays.copyOf(data, Math.max(size + other.size, size << 1));
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        /**
+         * 将当前内容排序去重后追加到 {@code target}。
+         */
+        void appendDistinctTo(@NonNull IntList target) {
+            Arrays.sort(data, 0, size);
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || data[i] != data[i - 1]) target.add(data[i]);
+            }
+        }
+
+        @NonNull
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    // ==================== File ====================
+
+    /**
+     * 映射索引文件。
+     *
+     * @return 索引；版本键与当前安装包不一致时返回 {@code null}
+     */
+    @Nullable
+    private static Index[] load(@NonNull File indexFile, @NonNull List<File> apks, int dexCount) throws IOException {
+        ByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "r"); FileChannel channel = file.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+        if (buffer.getInt() != apks.size()) return null;
+        for (File apk : apks) {
+            byte[] path = new byte[buffer.getInt()];
+            buffer.get(path);
+            buffer.position(align(buffer.position()));
+            if (!apk.getPath().equals(new String(path, StandardCharsets.UTF_8))) return null;
+            if (buffer.getLong() != apk.lastModified() || buffer.getLong() != apk.length()) return null;
+        }
+        if (buffer.getInt() != dexCount) return null;
+
+        Index[] indexes = new Index[dexCount];
+        for (int i = 0; i < dexCount; i++) {
+            int methodCount = buffer.getInt();
+            int stringPoolSize = buffer.getInt();
+            int invokePoolSize = buffer.getInt();
+            indexes[i] = new Index(
+                slice(buffer, methodCount),
+                slice(buffer, methodCount),
+                slice(buffer, methodCount + 1),
+                slice(buffer, methodCount + 1),
+                slice(buffer, stringPoolSize),
+                slice(buffer, invokePoolSize)
+            );
+        }
+        return indexes;
+    }
+
+    /**
+     * 以当前位置为起点切出 {@code count} 个 int 的只读视图，并将位置移过该区域。
+     */
+    @NonNull
+    private static IntBuffer slice(@NonNull ByteBuffer buffer, int count) {
+        IntBuffer view = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        view.limit(count);
+        buffer.position(buffer.position() + count * 4);
+        return view;
+    }
+
+    /**
+     * 写入索引文件。先写入临时文件再原子重命名，避免进程中途被杀导致文件损坏。
+     */
+    private static void save(@NonNull File indexFile, @NonNull List<File> apks, @NonNull Index[] indexes) throws IOException {
+        List<byte[]> paths = new ArrayList<>(apks.size());
+        long size = 12;
+        for (File apk : apks) {
+            byte[] path = apk.getPath().getBytes(StandardCharsets.UTF_8);
+            paths.add(path);
+            size += 4 + align(path.length) + 16;
+        }
+        size += 4;
+        for (Index index : indexes) {
+            size += 12 + 4L * (index.methods.limit() * 4L + 2 + index.stringPool.limit() + index.invokePool.limit());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(apks.size());
+        for (int i = 0; i < apks.size(); i++) {
+            byte[] path = paths.get(i);
+            buffer.putInt(path.length).put(path);
+            buffer.position(align(buffer.position()));
+            buffer.putLong(apks.get(i).lastModified()).putLong(apks.get(i).length());
+        }
+        buffer.putInt(indexes.length);
+        for (Index index : indexes) {
+            buffer.putInt(index.methods.limit()).putInt(index.stringPool.limit()).putInt(index.invokePool.limit());
+            put(buffer, index.methods);
+            put(buffer, index.accessFlags);
+            put(buffer, index.stringStarts);
+            put(buffer, index.invokeStarts);
+            put(buffer, index.stringPool);
+            put(buffer, index.invokePool);
+        }
+        buffer.flip();
+
+        // 临时文件名唯一，共享缓存目录的多个进程不会写入同一个临时文件
+        File tmp = File.createTempFile(indexFile.getName(), ".tmp", indexFile.getParentFile());
+        try (RandomAccessFile file = new RandomAccessFile(tmp, "rw"); FileChannel channel = file.getChannel()) {
+            file.setLength(0);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            tmp.delete();
+            throw e;
+        }
+        if (!tmp.renameTo(indexFile)) {
+            tmp.delete();
+            throw new IOException("Failed to rename " + tmp);
+        }
+    }
+
+    private static void put(@NonNull ByteBuffer buffer, @NonNull IntBuffer values) {
+        for (int i = 0; i < values.limit(); i++) {
+            buffer.putInt(values.get(i));
+        }
+    }
+
+    private static int align(int position) {
+        return (position + 3) & ~3;
+    }
+
+    // ==================== Index ====================
+
+    /**
+     * 单个 dex 的方法引用索引，按 {@code class_def} 顺序列出该 dex 中定义的全部方法。
+     * <p>
+     * 各数组既可以是内存中构建的结果，也可以是索引文件映射区域的视图；只读，可在多个线程间共享。
+     */
+    public static final class Index {
+        private final IntBuffer methods;
+        private final IntBuffer accessFlags;
+        private final IntBuffer stringStarts;
+        private final IntBuffer invokeStarts;
+        private final IntBuffer stringPool;
+        private final IntBuffer invokePool;
+
+        Index(@NonNull IntBuffer methods, @NonNull IntBuffer accessFlags,
+              @NonNull IntBuffer stringStarts, @NonNull IntBuffer invokeStarts,
+              @NonNull IntBuffer stringPool, @NonNull IntBuffer invokePool) {
+            this.methods = methods;
+            this.accessFlags = accessFlags;
+            this.stringStarts = stringStarts;
+            this.invokeStarts = invokeStarts;
+            this.stringPool = stringPool;
+            this.invokePool = invokePool;
+        }
+
+        /**
+         * @return 索引中的方法数量
+         */
+        public int size() {
+            return methods.limit();
+        }
+
+        /**
+         * @return 第 {@code i} 个方法在 {@code method_ids} 中的索引
+         */
+        public int getMethodIdx(int i) {
+            return methods.get(i);
+        }
+
+        /**
+         * @return 第 {@code i} 个方法的访问标志
+         */
+        public int getAccessFlags(int i) {
+            return accessFlags.get(i);
+        }
+
+        /**
+         * 判断第 {@code i} 个方法的方法体是否引用了指定字符串。
+         */
+        public boolean usesString(int i, int stringIdx) {
+            return contains(stringPool, stringStarts.get(i), stringStarts.get(i + 1), stringIdx);
+        }
+
+        /**
+         * 判断第 {@code i} 个方法的方法体是否调用了任一指定方法。
+         *
+         * @param methodIdxes 升序排列的方法索引
+         */
+        public boolean invokesAny(int i, @NonNull int[] methodIdxes) {
+            int from = invokeStarts.get(i);
+            int to = invokeStarts.get(i + 1);
+            for (int methodIdx : methodIdxes) {
+                if (contains(invokePool, from, to, methodIdx)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * 在已排序的 {@code [from, to)} 区间内二分查找。
+         */
+        private static boolean contains(@NonNull IntBuffer pool, int from, int to, int value) {
+            int low = from;
+            int high = to - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int v = pool.get(mid);
+                if (v < value) low = mid + 1;
+                else if (v > value) high = mid - 1;
+                else return true;
+            }
+            return false;
+        }
+    }
+}
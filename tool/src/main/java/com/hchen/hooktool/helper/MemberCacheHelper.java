@@ -0,0 +1,402 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper;
+
+import android.content.pm.ApplicationInfo;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hchen.hooktool.log.AndroidLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 成员解析结果的持久化缓存。
+ * <p>
+ * 以宿主包名、安装包的修改时间与大小以及系统的 {@link Build#FINGERPRINT} 作为版本键，将 {@link CoreHelper} 中代价较高的解析结果
+ * （{@code findClass} 的内部类重试结果、最佳匹配方法与构造函数）序列化为紧凑的二进制文件，
+ * 存放于宿主数据目录的 {@code cache/hooktool} 下，宿主的每个进程各用一个文件。
+ * 宿主或系统更新后版本键失配，旧缓存会被整体丢弃。
+ * <p>
+ * 再次冷启动时，记录的结果会先被精确地重新解析（{@code getDeclaredMethod} 等）以完成校验，
+ * 校验通过即直接复用，从而跳过基于代价的候选搜索；校验失败的条目会被移除并在下次保存时淘汰。
+ * 保存在后台线程中进行，不会阻塞宿主的启动流程。
+ * <p>
+ * 该缓存默认关闭，需通过 {@link com.hchen.hooktool.ModuleConfig#setPersistentMemberCache(boolean)} 开启。
+ *
+ * @author 焕晨HChen
+ */
+public final class MemberCacheHelper {
+    private static final String TAG = "MemberCacheHelper";
+    private static final String CACHE_FILE_PREFIX = "member_cache_";
+    private static final String CACHE_FILE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x48544d43; // "HTMC"
+    private static final int FORMAT_VERSION = 2;
+
+    private static final char KIND_CLASS = 'K';
+    private static final char KIND_METHOD = 'M';
+    private static final char KIND_CONSTRUCTOR = 'C';
+
+    private static final ConcurrentHashMap<String, String[]> entries = new ConcurrentHashMap<>();
+    private static final ThreadPoolExecutor writer = createWriter();
+    private static final AtomicBoolean isSaveScheduled = new AtomicBoolean(false);
+    private static volatile boolean isEnabled = false;
+    private static volatile boolean isDirty = false;
+    private static volatile File cacheFile;
+    private static volatile String packageName;
+    private static volatile long apkLastModified;
+    private static volatile long apkLength;
+    private static volatile String fingerprint;
+
+    private MemberCacheHelper() {
+    }
+
+    /**
+     * 获取宿主数据目录下供 HookTool 使用的缓存目录。
+     *
+     * @param info 宿主应用信息
+     * @return 缓存目录；宿主没有可用的数据目录时返回 {@code null}
+     */
+    @Nullable
+    public static File getCacheDir(@NonNull ApplicationInfo info) {
+        if (info.dataDir == null) return null;
+        File dir = new File(info.dataDir, "cache/hooktool");
+        if (!dir.isDirectory() && !dir.mkdirs()) return null;
+        return dir;
+    }
+
+    /**
+     * 为指定宿主加载持久化缓存并启用记录。
+     * <p>
+     * 若缓存文件的版本键与当前宿主不一致，则丢弃文件内容并从空缓存开始记录。
+     * 同一宿主的多个进程解析到的成员各不相同，因此按进程名分别存放，互不覆盖。
+     *
+     * @param info        宿主应用信息，通常来自 {@code PackageLoadedParam#getApplicationInfo()}
+     * @param processName 当前进程名，为空时使用宿主包名
+     */
+    public static synchronized void load(@NonNull ApplicationInfo info, @NonNull String processName) {
+        entries.clear();
+        isDirty = false;
+        isEnabled = false;
+
+        File dir = getCacheDir(info);
+        if (dir == null || info.sourceDir == null) {
+            AndroidLog.logW(TAG, "No writable cache dir for " + info.packageName + ", persistent member cache disabled.");
+            return;
+        }
+
+        File apk = new File(info.sourceDir);
+        packageName = info.packageName;
+        apkLastModified = apk.lastModified();
+        apkLength = apk.length();
+        fingerprint = String.valueOf(Build.FINGERPRINT);
+        cacheFile = new File(dir, getCacheFileName(processName.isEmpty() ? info.packageName : processName));
+        isEnabled = true;
+
+        if (!cacheFile.isFile()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return;
+            if (!packageName.equals(in.readUTF()) || in.readLong() != apkLastModified || in.readLong() != apkLength
+                || !fingerprint.equals(in.readUTF())) {
+                isDirty = true; // 宿主或系统已更新，下次保存时覆盖旧文件
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                String[] value = new String[in.readUnsignedByte()];
+                for (int j = 0; j < value.length; j++) {
+                    value[j] = in.readUTF();
+                }
+                entries.put(key, value);
+            }
+        } catch (IOException e) {
+            entries.clear();
+            isDirty = true;
+            AndroidLog.logW(TAG, "Failed to read member cache, it will be rebuilt.", e);
+        }
+    }
+
+    /**
+     * 将发生变化的缓存内容交给后台线程写回磁盘，调用方不会等待写入完成。
+     * <p>
+     * 先写入临时文件再原子重命名，避免进程中途被杀导致文件损坏；临时文件名每次唯一生成，
+     * 不会与其他进程的写入冲突。缓存未启用或无变化时直接返回。
+     */
+    public static void save() {
+        if (!isEnabled || !isDirty) return;
+        if (!isSaveScheduled.compareAndSet(false, true)) return;
+
+        writer.execute(MemberCacheHelper::write);
+    }
+
+    private static synchronized void write() {
+        // 先清除标记，写入期间再次调用 save() 会重新排队一次写入
+        isSaveScheduled.set(false);
+        if (!isEnabled || !isDirty) return;
+        isDirty = false;
+
+        File tmp;
+        try {
+            tmp = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+        } catch (IOException e) {
+            isDirty = true;
+            AndroidLog.logW(TAG, "Failed to write member cache.", e);
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(packageName);
+            out.writeLong(apkLastModified);
+            out.writeLong(apkLength);
+            out.writeUTF(fingerprint);
+
+            Map.Entry<?, ?>[] snapshot = entries.entrySet().toArray(new Map.Entry<?, ?>[0]);
+            out.writeInt(snapshot.length);
+            for (Map.Entry<?, ?> entry : snapshot) {
+                String[] value = (String[]) entry.getValue();
+                out.writeUTF((String) entry.getKey());
+                out.writeByte(value.length);
+                for (String s : value) {
+                    out.writeUTF(s);
+                }
+            }
+        } catch (IOException e) {
+            isDirty = true;
+            AndroidLog.logW(TAG, "Failed to write member cache.", e);
+            tmp.delete();
+            return;
+        }
+
+        if (!tmp.renameTo(cacheFile)) {
+            isDirty = true;
+            tmp.delete();
+        }
+    }
+
+    /**
+     * 判断持久化缓存当前是否已启用。
+     *
+     * @return 已为当前宿主加载缓存时返回 {@code true}
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    // ==================== Class ====================
+
+    /**
+     * 查询之前记录的类名解析结果。
+     *
+     * @param className 调用方传入的原始类名
+     * @return 实际可加载的类名（如内部类的 {@code $} 形式）；无记录时返回 {@code null}
+     */
+    @Nullable
+    static String lookupClass(@NonNull String className) {
+        if (!isEnabled) return null;
+        String[] value = entries.get(KIND_CLASS + className);
+        return value == null ? null : value[0];
+    }
+
+    /**
+     * 记录一次需要重试才能完成的类名解析结果。
+     *
+     * @param className    调用方传入的原始类名
+     * @param resolvedName 实际可加载的类名
+     */
+    static void recordClass(@NonNull String className, @NonNull String resolvedName) {
+        if (!isEnabled) return;
+        put(KIND_CLASS + className, new String[]{resolvedName});
+    }
+
+    /**
+     * 移除一条已失效的类名解析记录。
+     *
+     * @param className 调用方传入的原始类名
+     */
+    static void invalidateClass(@NonNull String className) {
+        if (entries.remove(KIND_CLASS + className) != null) isDirty = true;
+    }
+
+    // ==================== Method ====================
+
+    /**
+     * 根据记录恢复指定类中某个签名对应的最佳匹配方法，并完成校验。
+     *
+     * @param clazz 查找的起始类
+     * @param sig   {@link CoreHelper} 内部使用的缓存签名
+     * @return 校验通过的方法；无记录或校验失败时返回 {@code null}
+     */
+    @Nullable
+    static Method restoreMethod(@NonNull Class<?> clazz, @NonNull String sig) {
+        if (!isEnabled) return null;
+        String key = KIND_METHOD + clazz.getName() + '#' + sig;
+        String[] value = entries.get(key);
+        if (value == null) return null;
+
+        try {
+            Class<?> declaringClass = Class.forName(value[0], false, clazz.getClassLoader());
+            if (!declaringClass.isAssignableFrom(clazz)) throw new NoSuchMethodException(value[0]);
+            return declaringClass.getDeclaredMethod(value[1], resolveTypes(clazz.getClassLoader(), value, 2));
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            entries.remove(key);
+            isDirty = true;
+            return null;
+        }
+    }
+
+    /**
+     * 记录指定类中某个签名对应的最佳匹配方法。
+     *
+     * @param clazz  查找的起始类
+     * @param sig    {@link CoreHelper} 内部使用的缓存签名
+     * @param method 最佳匹配结果
+     */
+    static void recordMethod(@NonNull Class<?> clazz, @NonNull String sig, @NonNull Method method) {
+        if (!isEnabled) return;
+        Class<?>[] params = method.getParameterTypes();
+        String[] value = new String[params.length + 2];
+        value[0] = method.getDeclaringClass().getName();
+        value[1] = method.getName();
+        for (int i = 0; i < params.length; i++) {
+            value[i + 2] = params[i].getName();
+        }
+        put(KIND_METHOD + clazz.getName() + '#' + sig, value);
+    }
+
+    // ==================== Constructor ====================
+
+    /**
+     * 根据记录恢复指定类中某个签名对应的最佳匹配构造函数，并完成校验。
+     *
+     * @param clazz 目标类
+     * @param sig   {@link CoreHelper} 内部使用的缓存签名
+     * @return 校验通过的构造函数；无记录或校验失败时返回 {@code null}
+     */
+    @Nullable
+    static Constructor<?> restoreConstructor(@NonNull Class<?> clazz, @NonNull String sig) {
+        if (!isEnabled) return null;
+        String key = KIND_CONSTRUCTOR + clazz.getName() + '#' + sig;
+        String[] value = entries.get(key);
+        if (value == null) return null;
+
+        try {
+            return clazz.getDeclaredConstructor(resolveTypes(clazz.getClassLoader(), value, 0));
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            entries.remove(key);
+            isDirty = true;
+            return null;
+        }
+    }
+
+    /**
+     * 记录指定类中某个签名对应的最佳匹配构造函数。
+     *
+     * @param clazz       目标类
+     * @param sig         {@link CoreHelper} 内部使用的缓存签名
+     * @param constructor 最佳匹配结果
+     */
+    static void recordConstructor(@NonNull Class<?> clazz, @NonNull String sig, @NonNull Constructor<?> constructor) {
+        if (!isEnabled) return;
+        Class<?>[] params = constructor.getParameterTypes();
+        String[] value = new String[params.length];
+        for (int i = 0; i < params.length; i++) {
+            value[i] = params[i].getName();
+        }
+        put(KIND_CONSTRUCTOR + clazz.getName() + '#' + sig, value);
+    }
+
+    // ==================== Inner ====================
+
+    /**
+     * 创建写入缓存文件的线程池，线程空闲后自动回收。
+     * <p>
+     * 同一时间至多排队一次写入，其间的多次保存请求会被合并。
+     */
+    @NonNull
+    private static ThreadPoolExecutor createWriter() {
+        return new ThreadPoolExecutor(0, 1, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "MemberCacheHelper-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @NonNull
+    private static String getCacheFileName(@NonNull String processName) {
+        StringBuilder builder = new StringBuilder(CACHE_FILE_PREFIX);
+        for (int i = 0; i < processName.length(); i++) {
+            char c = processName.charAt(i);
+            // 进程名中的 ':' 等字符替换为 '_'
+            builder.append(Character.isLetterOrDigit(c) || c == '.' || c == '-' ? c : '_');
+        }
+        return builder.append(CACHE_FILE_SUFFIX).toString();
+    }
+
+    private static void put(@NonNull String key, @NonNull String[] value) {
+        if (value.length > 0xFF) return;
+        entries.put(key, value);
+        isDirty = true;
+    }
+
+    @NonNull
+    private static Class<?>[] resolveTypes(@Nullable ClassLoader classLoader, @NonNull String[] names, int from) throws ClassNotFoundException {
+        Class<?>[] types = new Class<?>[names.length - from];
+        for (int i = 0; i < types.length; i++) {
+            String name = names[i + from];
+            Class<?> primitive = getPrimitiveClass(name);
+            types[i] = primitive != null ? primitive : Class.forName(name, false, classLoader);
+        }
+        return types;
+    }
+
+    @Nullable
+    private static Class<?> getPrimitiveClass(@NonNull String name) {
+        return switch (name) {
+            case "boolean" -> boolean.class;
+            case "byte" -> byte.class;
+            case "char" -> char.class;
+            case "short" -> short.class;
+            case "int" -> int.class;
+            case "long" -> long.class;
+            case "float" -> float.class;
+            case "double" -> double.class;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper
+
+import android.os.Build
+import androidx.annotation.RequiresApi
+import java.lang.ref.SoftReference
+import java.lang.reflect.Constructor
+import java.lang.reflect.Field
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 单个类的成员索引。
+ *
+ * `Class.getDeclaredMethods()` 等反射接口每次调用都会复制整个成员数组，
+ * 而按名称查找、最佳匹配收集等操作又需要反复遍历父类与接口树。
+ * 本索引在首次访问时为每个类构建一次：
+ * - 声明方法按名称分组
+ * - 声明字段按名称映射
+ * - 构造函数按参数个数分组
+ *
+ * 跨继承链的查找（精确方法、字段、最佳匹配候选）通过逐级读取父类 / 接口各自的索引完成，
+ * 不再依赖抛出 `NoSuch*Exception` 的控制流；最佳匹配候选列表额外按名称缓存。
+ *
+ * 索引中的数组为共享实例，对外返回前需由调用方自行复制。
+ *
+ * @author 焕晨HChen
+ */
+internal class MemberIndex private constructor(private val clazz: Class<*>) {
+    /** 全部声明方法，保持与 `getDeclaredMethods()` 一致的顺序。 */
+    val declaredMethods: Array<Method> by lazy { clazz.declaredMethods }
+
+    /** 声明方法按名称分组，同名同参的 bridge 方法排在非 bridge 方法之后。 */
+    private val methodsByName: Map<String, Array<Method>> by lazy {
+        val grouped = HashMap<String, MutableList<Method>>()
+        for (method in declaredMethods) {
+            grouped.getOrPut(method.name) { ArrayList(1) }.add(method)
+        }
+        val result = HashMap<String, Array<Method>>(grouped.size)
+        for ((name, list) in grouped) {
+            list.sortBy { if (it.isBridge) 1 else 0 }
+            result[name] = list.toTypedArray()
+        }
+        result
+    }
+
+    /** 声明字段按名称映射；存在同名字段（常见于混淆产物）时保留首个。 */
+    private val fieldsByName: Map<String, Field> by lazy {
+        val result = HashMap<String, Field>()
+        for (field in clazz.declaredFields) {
+            result.putIfAbsent(field.name, field)
+        }
+        result
+    }
+
+    /** 全部声明构造函数。 */
+    val declaredConstructors: Array<Constructor<*>> by lazy { clazz.declaredConstructors }
+
+    /** 构造函数按参数个数分组。 */
+    private val constructorsByArity: Map<Int, Array<Constructor<*>>> by lazy {
+        declaredConstructors.groupBy { it.parameterCount }.mapValues { it.value.toTypedArray() }
+    }
+
+    /** 最佳匹配候选缓存，以方法名为键。 */
+    private val bestMatchCandidates = ConcurrentHashMap<String, Array<Method>>()
+
+    /**
+     * 获取当前类中声明的指定名称的方法。
+     *
+     * @param name 方法名称。
+     * @return 同名方法数组；不存在时返回空数组。
+     */
+    fun declaredMethods(name: String): Array<Method> = methodsByName[name] ?: EMPTY_METHODS
+
+    /**
+     * 判断当前类中是否声明了指定名称的方法。
+     *
+     * @param name 方法名称。
+     * @return 存在同名方法时返回 `true`。
+     */
+    fun hasDeclaredMethod(name: String): Boolean = methodsByName.containsKey(name)
+
+    /**
+     * 获取当前类中声明的指定名称的字段。
+     *
+     * @param name 字段名称。
+     * @return 字段对象；不存在时返回 `null`。
+     */
+    fun declaredField(name: String): Field? = fieldsByName[name]
+
+    /**
+     * 获取当前类中声明的指定参数个数的构造函数。
+     *
+     * @param arity 参数个数。
+     * @return 构造函数数组；不存在时返回空数组。
+     */
+    fun declaredConstructors(arity: Int): Array<Constructor<*>> = constructorsByArity[arity] ?: EMPTY_CONSTRUCTORS
+
+    /**
+     * 获取参数类型完全一致的声明构造函数。
+     *
+     * @param parameterTypes 参数类型数组。
+     * @return 匹配的构造函数；不存在时返回 `null`。
+     */
+    fun declaredConstructor(parameterTypes: Array<out Class<*>>): Constructor<*>? {
+        for (constructor in declaredConstructors(parameterTypes.size)) {
+            if (constructor.parameterTypes.contentEquals(parameterTypes)) return constructor
+        }
+        return null
+    }
+
+    /**
+     * 在继承链及接口树中查找指定名称的字段。
+     *
+     * 搜索顺序与原先的递归实现一致：当前类直接声明的字段 → 当前类实现的接口树中的常量字段 → 父类（逐级向上）。
+     *
+     * @param name 字段名称。
+     * @return 匹配的字段；未找到时返回 `null`。
+     */
+    fun findField(name: String): Field? {
+        var clz: Class<*>? = clazz
+        while (clz != null && clz != Any::class.java) {
+            val index = of(clz)
+            index.declaredField(name)?.let { return it }
+            for (iface in clz.interfaces) {
+                findInterfaceField(iface, name)?.let { return it }
+            }
+            clz = clz.superclass
+        }
+        return null
+    }
+
+    /**
+     * 在继承链及接口树中查找参数类型完全一致的方法。
+     *
+     * 先沿继承链向上在直接声明的方法中查找，再沿继承链遍历接口树查找非静态、非私有的方法。
+     * 指定 [returnType] 时还要求返回值类型一致，可用于区分协变返回值产生的 bridge 方法。
+     *
+     * @param name           方法名称。
+     * @param parameterTypes 参数类型数组。
+     * @param returnType     返回值类型；为 `null` 时不校验。
+     * @return 匹配的方法；未找到时返回 `null`。
+     */
+    fun findMethodExact(name: String, parameterTypes: Array<out Class<*>>, returnType: Class<*>? = null): Method? {
+        var clz: Class<*>? = clazz
+        while (clz != null) {
+            for (method in of(clz).declaredMethods(name)) {
+                if (matches(method, parameterTypes, returnType)) return method
+            }
+            clz = clz.superclass
+        }
+
+        clz = clazz
+        while (clz != null) {
+            for (iface in clz.interfaces) {
+                findInterfaceMethodExact(iface, name, parameterTypes, returnType)?.let { return it }
+            }
+            clz = clz.superclass
+        }
+        return null
+    }
+
+    /**
+     * 获取用于最佳匹配的候选方法列表（尚未按参数兼容性过滤）。
+     *
+     * 收集规则与原先的 `collectMethodsBestMatch` 一致：
+     * 1. 沿继承链收集直接声明的方法，过滤 bridge / synthetic 方法，仅当前类包含 `private` 方法。
+     * 2. 沿继承链深度优先遍历接口树，收集非静态、非私有的方法。
+     *
+     * 同名同参的方法仅保留最先收集到的一个。结果按方法名缓存。
+     *
+     * @param name 方法名称。
+     * @return 候选方法数组。
+     */
+    fun bestMatchCandidates(name: String): Array<Method> {
+        return bestMatchCandidates.computeIfAbsent(name) {
+            val result = ArrayList<Method>()
+            val seen = HashSet<MethodKey>()
+
+            var clz: Class<*>? = clazz
+            var considerPrivate = true
+            while (clz != null) {
+                for (method in of(clz).declaredMethods(name)) {
+                    if (method.isBridge || method.isSynthetic) continue
+                    if (!considerPrivate && Modifier.isPrivate(method.modifiers)) continue
+                    if (seen.add(MethodKey(method.parameterTypes))) result.add(method)
+                }
+                considerPrivate = false
+                clz = clz.superclass
+            }
+
+            clz = clazz
+            while (clz != null) {
+                for (iface in clz.interfaces) {
+                    collectInterfaceCandidates(iface, name, seen, result)
+                }
+                clz = clz.superclass
+            }
+            if (result.isEmpty()) EMPTY_METHODS else result.toTypedArray()
+        }
+    }
+
+    /** 以参数类型数组为内容的去重键。 */
+    private class MethodKey(private val parameterTypes: Array<Class<*>>) {
+        private val hash = parameterTypes.contentHashCode()
+
+        override fun equals(other: Any?): Boolean = other is MethodKey && parameterTypes.contentEquals(other.parameterTypes)
+
+        override fun hashCode(): Int = hash
+    }
+
+    companion object {
+        private val EMPTY_METHODS = emptyArray<Method>()
+        private val EMPTY_CONSTRUCTORS = emptyArray<Constructor<*>>()
+
+        /** 成员索引缓存，以 [Class] 为键。 */
+        private val indexCache: IndexCache =
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) ClassValueCache() else SoftValueCache()
+
+        /**
+         * 获取指定类的成员索引，不存在时创建。
+         *
+         * @param clazz 目标类。
+         * @return 该类的成员索引。
+         */
+        @JvmStatic
+        fun of(clazz: Class<*>): MemberIndex = indexCache.get(clazz)
+
+        private fun findInterfaceField(iface: Class<*>, name: String): Field? {
+            val field = of(iface).declaredField(name)
+            if (field != null && Modifier.isStatic(field.modifiers)) return field
+            for (superIface in iface.interfaces) {
+                findInterfaceField(superIface, name)?.let { return it }
+            }
+            return null
+        }
+
+        private fun matches(method: Method, parameterTypes: Array<out Class<*>>, returnType: Class<*>?): Boolean {
+            return method.parameterCount == parameterTypes.size &&
+                (returnType == null || method.returnType == returnType) &&
+                method.parameterTypes.contentEquals(parameterTypes)
+        }
+
+        private fun findInterfaceMethodExact(iface: Class<*>, name: String, parameterTypes: Array<out Class<*>>, returnType: Class<*>?): Method? {
+            for (method in of(iface).declaredMethods(name)) {
+                if (matches(method, parameterTypes, returnType)) {
+                    if (!Modifier.isStatic(method.modifiers) && !Modifier.isPrivate(method.modifiers)) return method
+                    break
+                }
+            }
+            for (superIface in iface.interfaces) {
+                findInterfaceMethodExact(superIface, name, parameterTypes, returnType)?.let { return it }
+            }
+            return null
+        }
+
+        private fun collectInterfaceCandidates(iface: Class<*>, name: String, seen: HashSet<MethodKey>, result: MutableList<Method>) {
+            for (method in of(iface).declaredMethods(name)) {
+                if (Modifier.isStatic(method.modifiers) || Modifier.isPrivate(method.modifiers) || method.isBridge || method.isSynthetic) continue
+                if (seen.add(MethodKey(method.parameterTypes))) result.add(method)
+            }
+            for (superIface in iface.interfaces) {
+                collectInterfaceCandidates(superIface, name, seen, result)
+            }
+        }
+    }
+
+    private interface IndexCache {
+        fun get(clazz: Class<*>): MemberIndex
+    }
+
+    /**
+     * 基于 [ClassValue] 的缓存：索引与类同生命周期，类卸载后随之回收，读取无需加锁。
+     */
+    @RequiresApi(Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+    private class ClassValueCache : IndexCache {
+        private val indexes = object : ClassValue<MemberIndex>() {
+            override fun computeValue(type: Class<*>): MemberIndex = MemberIndex(type)
+        }
+
+        override fun get(clazz: Class<*>): MemberIndex = indexes.get(clazz)
+    }
+
+    /**
+     * API 34 以下没有 [ClassValue]，以弱键保存索引的软引用。
+     *
+     * 索引中缓存的成员会强引用其所属类，若直接强引用索引，弱键将永远无法被回收；
+     * 软引用的索引在内存紧张时可被回收，类随后即可随其类加载器一同卸载。
+     */
+    private class SoftValueCache : IndexCache {
+        private val indexes = WeakHashMap<Class<*>, SoftReference<MemberIndex>>()
+
+        override fun get(clazz: Class<*>): MemberIndex {
+            synchronized(indexes) {
+                indexes[clazz]?.get()?.let { return it }
+
+                val index = MemberIndex(clazz)
+                indexes[clazz] = SoftReference(index)
+                return index
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper
+
+import android.os.Build
+import androidx.annotation.RequiresApi
+import java.lang.ref.SoftReference
+import java.lang.reflect.Executable
+import java.util.WeakHashMap
+
+/**
+ * 最佳匹配查找使用的重载决议引擎。
+ *
+ * 评分规则与 Apache Commons Lang `MemberUtils` 的继承距离算法保持一致：
+ * - 基本类型宽化每步代价 0.1，拆箱代价 0.1
+ * - 每向上一级父类代价 1.0，每经过一个直接接口代价 0.25
+ * - 数组按组件类型计算并加收 0.1，`null` 实参到引用类型代价 1.5
+ *
+ * 与逐次比较重新计算不同，本引擎为每个 (源类型, 目标类型) 组合只计算一次距离并记入距离表，
+ * 可赋值性与代价共用同一表项（负值表示不可赋值）；每个候选者只被评分一次，
+ * 因此运行时实参类型变化导致的缓存未命中也只需若干次查表即可完成决议。
+ * 距离表不强引用其中的类型，类可以随其类加载器一同卸载。
+ *
+ * @author 焕晨HChen
+ */
+internal object OverloadResolver {
+    /** 表示不可赋值的距离值。 */
+    private const val NOT_ASSIGNABLE = -1f
+
+    /** `boolean` 在 [PRIMITIVES] 中的下标。 */
+    private const val BOOLEAN = 0
+
+    /** `void` 在 [PRIMITIVES] 中的下标。 */
+    private const val VOID = 8
+
+    /** 基本类型，下标即宽化步数表中的序号。 */
+    private val PRIMITIVES: Array<Class<*>> = arrayOf(
+        Boolean::class.javaPrimitiveType!!,
+        Byte::class.javaPrimitiveType!!,
+        Short::class.javaPrimitiveType!!,
+        Char::class.javaPrimitiveType!!,
+        Int::class.javaPrimitiveType!!,
+        Long::class.javaPrimitiveType!!,
+        Float::class.javaPrimitiveType!!,
+        Double::class.javaPrimitiveType!!,
+        Void.TYPE
+    )
+
+    /** 包装类型，下标与 [PRIMITIVES] 一一对应。 */
+    private val WRAPPERS: Array<Class<*>> = arrayOf(
+        Boolean::class.javaObjectType,
+        Byte::class.javaObjectType,
+        Short::class.javaObjectType,
+        Char::class.javaObjectType,
+        Int::class.javaObjectType,
+        Long::class.javaObjectType,
+        Float::class.javaObjectType,
+        Double::class.javaObjectType,
+        Void::class.javaObjectType
+    )
+
+    /**
+     * 基本类型宽化步数表，`WIDENING[src][dest]` 为所需步数，`-1` 表示不可宽化。
+     *
+     * - `byte` → `short` → `int` → `long` → `float` → `double`
+     * - `char` → `int` → `long` → `float` → `double`
+     */
+    private val WIDENING: Array<IntArray> = arrayOf(
+        //          boolean byte short char int long float double void
+        intArrayOf(0, -1, -1, -1, -1, -1, -1, -1, -1), // boolean
+        intArrayOf(-1, 0, 1, -1, 2, 3, 4, 5, -1),      // byte
+        intArrayOf(-1, -1, 0, -1, 1, 2, 3, 4, -1),     // short
+        intArrayOf(-1, -1, -1, 0, 1, 2, 3, 4, -1),     // char
+        intArrayOf(-1, -1, -1, -1, 0, 1, 2, 3, -1),    // int
+        intArrayOf(-1, -1, -1, -1, -1, 0, 1, 2, -1),   // long
+        intArrayOf(-1, -1, -1, -1, -1, -1, 0, 1, -1),  // float
+        intArrayOf(-1, -1, -1, -1, -1, -1, -1, 0, -1), // double
+        intArrayOf(-1, -1, -1, -1, -1, -1, -1, -1, 0)  // void
+    )
+
+    /** 距离表，以目标类型为行、源类型为列。 */
+    private val distanceTable: DistanceTable =
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) ClassValueTable() else SoftRowTable()
+
+    /**
+     * 在候选者中选出与给定参数类型最匹配的一个。
+     *
+     * 不兼容的候选者会被跳过；代价相同时保留先出现的候选者。
+     *
+     * @param candidates     候选方法或构造函数。
+     * @param parameterTypes 期望的参数类型数组（元素可为 `null`，表示运行时值为 `null`）。
+     * @return 最佳匹配；没有任何兼容候选者时返回 `null`。
+     */
+    fun <T : Executable> selectBest(candidates: Array<T>, parameterTypes: Array<out Class<*>?>): T? {
+        var best: T? = null
+        var bestCost = 0f
+        for (candidate in candidates) {
+            if (candidate.parameterCount != parameterTypes.size) continue
+            val cost = totalCost(parameterTypes, candidate.parameterTypes)
+            if (cost < 0f) continue
+            if (best == null || cost < bestCost) {
+                best = candidate
+                bestCost = cost
+            }
+        }
+        return best
+    }
+
+    /**
+     * 计算参数列表的总转换代价。
+     *
+     * @return 总代价；任一位置不可赋值时返回负值。
+     */
+    private fun totalCost(srcArgs: Array<out Class<*>?>, destArgs: Array<Class<*>>): Float {
+        var total = 0f
+        for (i in srcArgs.indices) {
+            val cost = distance(srcArgs[i], destArgs[i])
+            if (cost < 0f) return NOT_ASSIGNABLE
+            total += cost
+        }
+        return total
+    }
+
+    /**
+     * 查表获取 [src] 到 [dest] 的距离，表中不存在时计算并记录。
+     *
+     * @return 转换代价；不可赋值时返回 [NOT_ASSIGNABLE]。
+     */
+    private fun distance(src: Class<*>?, dest: Class<*>): Float {
+        if (src == null) return if (dest.isPrimitive) NOT_ASSIGNABLE else 1.5f
+        if (src === dest) return 0f
+        return distanceTable.get(src, dest)
+    }
+
+    /**
+     * 计算 [src] 到 [dest] 的距离，供距离表在未命中时调用。
+     */
+    private fun computeDistance(src: Class<*>, dest: Class<*>): Float {
+        return if (computeAssignable(src, dest)) computeCost(src, dest) else NOT_ASSIGNABLE
+    }
+
+    private fun primitiveIndex(type: Class<*>): Int {
+        for (i in PRIMITIVES.indices) {
+            if (PRIMITIVES[i] === type) return i
+        }
+        return -1
+    }
+
+    private fun wrapperIndex(type: Class<*>): Int {
+        for (i in WRAPPERS.indices) {
+            if (WRAPPERS[i] === type) return i
+        }
+        return -1
+    }
+
+    /**
+     * 判断可赋值性，综合考虑继承 / 实现关系、基本类型宽化以及装箱 / 拆箱。
+     */
+    private fun computeAssignable(from: Class<*>, to: Class<*>): Boolean {
+        if (to.isAssignableFrom(from)) return true
+
+        if (from.isPrimitive && to.isPrimitive) {
+            return WIDENING[primitiveIndex(from)][primitiveIndex(to)] != -1
+        }
+        if (from.isPrimitive) {
+            return to.isAssignableFrom(WRAPPERS[primitiveIndex(from)])
+        }
+        if (to.isPrimitive) {
+            val unboxed = wrapperIndex(from)
+            return unboxed != -1 && WIDENING[unboxed][primitiveIndex(to)] != -1
+        }
+        return false
+    }
+
+    /**
+     * 计算源类型到目标类型的转换代价。
+     */
+    private fun computeCost(src: Class<*>, dest: Class<*>): Float {
+        if (dest.isPrimitive) return primitivePromotionCost(src, dest)
+
+        if (src.isArray && dest.isArray) {
+            // 数组可赋值时其组件类型必然可赋值，组件距离同样走查表
+            return distance(src.componentType, dest.componentType!!) + 0.1f
+        }
+
+        var cost = 0f
+        var clz: Class<*>? = src
+        while (clz != null && clz != dest) {
+            if (dest.isInterface && dest.isAssignableFrom(clz)) {
+                cost += interfaceDistance(clz, dest)
+                break
+            }
+            cost++
+            clz = clz.superclass
+        }
+        if (clz == null) cost += 1.5f
+        return cost
+    }
+
+    /**
+     * 计算源类型到目标基本类型之间的类型提升代价。
+     */
+    private fun primitivePromotionCost(srcType: Class<*>, destType: Class<*>): Float {
+        var cost = 0f
+        var index = primitiveIndex(srcType)
+        if (index == -1) {
+            cost += 0.1f // 拆箱代价
+            index = wrapperIndex(srcType)
+            if (index == -1) return 1.5f
+        }
+        val destIndex = primitiveIndex(destType)
+        if (index == destIndex) return cost
+        if (index == VOID || index == BOOLEAN) return Float.MAX_VALUE
+
+        val steps = WIDENING[index][destIndex]
+        if (steps == -1) return Float.MAX_VALUE
+        return cost + 0.1f * steps
+    }
+
+    /**
+     * 递归计算源类型到目标接口之间的最短继承距离代价。
+     */
+    private fun interfaceDistance(src: Class<*>, dest: Class<*>): Float {
+        if (src == dest) return 0f
+        var minCost = Float.MAX_VALUE
+        for (iface in src.interfaces) {
+            if (dest.isAssignableFrom(iface)) {
+                val cost = 0.25f + interfaceDistance(iface, dest)
+                if (cost < minCost) minCost = cost
+            }
+        }
+        val superclass = src.superclass
+        if (superclass != null && dest.isAssignableFrom(superclass)) {
+            val cost = 1.0f + interfaceDistance(superclass, dest)
+            if (cost < minCost) minCost = cost
+        }
+        return minCost
+    }
+
+    private interface DistanceTable {
+        fun get(src: Class<*>, dest: Class<*>): Float
+    }
+
+    /**
+     * 基于 [ClassValue] 的距离表：每个目标类型的行本身也是一个以源类型为键的 [ClassValue]，
+     * 距离与两端的类同生命周期，读取无需加锁。
+     */
+    @RequiresApi(Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+    private class ClassValueTable : DistanceTable {
+        private val rows = object : ClassValue<ClassValue<Float>>() {
+            override fun computeValue(dest: Class<*>): ClassValue<Float> = object : ClassValue<Float>() {
+                override fun computeValue(src: Class<*>): Float = computeDistance(src, dest)
+            }
+        }
+
+        override fun get(src: Class<*>, dest: Class<*>): Float = rows.get(dest).get(src)
+    }
+
+    /**
+     * API 34 以下没有 [ClassValue]，行与列都使用弱键，行以软引用保存，内存紧张时可整体回收。
+     */
+    private class SoftRowTable : DistanceTable {
+        private val rows = WeakHashMap<Class<*>, SoftReference<WeakHashMap<Class<*>, Float>>>()
+
+        override fun get(src: Class<*>, dest: Class<*>): Float {
+            val row = synchronized(rows) {
+                rows[dest]?.get() ?: WeakHashMap<Class<*>, Float>().also { rows[dest] = SoftReference(it) }
+            }
+            synchronized(row) {
+                row[src]?.let { return it }
+            }
+
+            // 数组的距离会递归查询组件类型，计算时不持有锁
+            val value = computeDistance(src, dest)
+            synchronized(row) {
+                row[src] = value
+            }
+            return value
+        }
+    }
+}
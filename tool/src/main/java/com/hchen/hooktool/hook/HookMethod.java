@@ -0,0 +1,81 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.hook;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明式 Hook 注解，由 {@code tool-processor} 注解处理器在编译期生成 Hook 表。
+ * <p>
+ * 可用于以下两种位置，所属模块均为直接外层的 {@link com.hchen.hooktool.AbsModule} 子类：
+ * <ul>
+ *   <li>{@link AbsHook} 的静态内部子类，需具备非私有的无参构造函数</li>
+ *   <li>模块中非私有、非静态、无参数且返回 {@link AbsHook} 的方法</li>
+ * </ul>
+ * 编译期会将 {@link #params()} 中的类型名称转换为 JVM 描述符，并为每个模块生成
+ * {@code <Module>_HookTable}（实现 {@link HookTable}）。模块在
+ * {@code onPackageReady} 之前会自动通过 {@link com.hchen.hooktool.core.ChainBatch}
+ * 批量安装表中的全部 Hook，运行时无需再解析参数类型。
+ * <pre>{@code
+ * public class MyModule extends AbsModule {
+ *     @HookMethod(cls = "com.example.Foo", name = "bar", params = {"int", "java.lang.String"})
+ *     static class BarHook extends AbsHook {
+ *         ...
+ *     }
+ *
+ *     @HookMethod(cls = "com.example.Foo", name = "<init>", optional = true)
+ *     AbsHook fooInit() {
+ *         return doNothing();
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ * @see HookTable
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface HookMethod {
+    /**
+     * @return 目标类的二进制名称，例如 {@code com.example.Foo$Inner}
+     */
+    String cls();
+
+    /**
+     * @return 目标方法名，构造函数为 {@code <init>}
+     */
+    String name();
+
+    /**
+     * 目标成员的参数类型，支持基本类型关键字、二进制类名、源码风格数组以及 JVM 描述符。
+     *
+     * @return 参数类型名称
+     */
+    String[] params() default {};
+
+    /**
+     * @return 目标不存在时是否静默跳过，而不是记录为失败
+     */
+    boolean optional() default false;
+}
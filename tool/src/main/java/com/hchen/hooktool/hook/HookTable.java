@@ -0,0 +1,48 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.hook;
+
+import androidx.annotation.NonNull;
+
+import com.hchen.hooktool.AbsModule;
+import com.hchen.hooktool.core.ChainBatch;
+
+/**
+ * 由 {@link HookMethod} 注解处理器生成的模块 Hook 表。
+ * <p>
+ * 生成的实现类命名为 {@code <Module>_HookTable}（嵌套类名中的 {@code $} 替换为 {@code _}），
+ * 与模块位于同一包中，并持有编译期生成的签名常量。
+ *
+ * @param <M> 所属模块类型
+ * @author 焕晨HChen
+ */
+public interface HookTable<M extends AbsModule> {
+    /**
+     * 生成类名的后缀。
+     */
+    String SUFFIX = "_HookTable";
+
+    /**
+     * 将表中的全部 Hook 登记到批次中。
+     *
+     * @param module 所属模块实例
+     * @param batch  目标批次
+     */
+    void install(@NonNull M module, @NonNull ChainBatch batch);
+}
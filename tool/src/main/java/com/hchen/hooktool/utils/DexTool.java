@@ -0,0 +1,194 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import android.content.pm.ApplicationInfo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hchen.hooktool.ModuleData;
+import com.hchen.hooktool.data.DexMethodData;
+import com.hchen.hooktool.data.DexMethodQuery;
+import com.hchen.hooktool.exception.UnexpectedException;
+import com.hchen.hooktool.helper.CoreHelper;
+import com.hchen.hooktool.helper.DexHelper;
+import com.hchen.hooktool.helper.DexIndexHelper;
+import com.hchen.hooktool.helper.MemberCacheHelper;
+import com.hchen.hooktool.log.AndroidLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Dex 层面的方法搜索工具类。
+ * <p>
+ * 面向混淆宿主：按返回值与参数类型、引用的字符串常量、调用的方法以及访问标志等结构特征
+ * 在宿主安装包（含拆分包）的 dex 中搜索方法，搜索过程不会加载任何宿主类；
+ * 只有最终命中的方法才会通过签名查找被解析为 {@link Method}，可直接用于 Hook。
+ * <pre>{@code
+ * Method[] methods = DexTool.findMethods(param.getApplicationInfo(),
+ *     new DexMethodQuery()
+ *         .returnType("boolean")
+ *         .usingStrings("is_premium_user"));
+ * }</pre>
+ * 首次搜索时会并行扫描全部 dex 构建方法引用索引，并写入宿主缓存目录；
+ * 同一宿主的后续进程直接映射该索引，字符串与调用条件不再需要扫描方法体。
+ * 已打开的 dex 与索引会按安装包路径缓存，安装包变化后自动重新打开。
+ *
+ * @author 焕晨HChen
+ */
+public final class DexTool {
+    private static final String TAG = "DexTool";
+    private static final HashMap<String, OpenedApk> openedApks = new HashMap<>();
+
+    private DexTool() {
+    }
+
+    /**
+     * 搜索满足条件的方法记录，不加载任何类。
+     *
+     * @param info  宿主应用信息，通常来自 {@code PackageLoadedParam#getApplicationInfo()}
+     * @param query 查询条件
+     * @return 命中的方法记录；安装包读取失败时返回空列表
+     */
+    @NonNull
+    public static List<DexMethodData> findMethodData(@NonNull ApplicationInfo info, @NonNull DexMethodQuery query) {
+        OpenedApk opened = getOpenedApk(info);
+        List<DexMethodData> result = new ArrayList<>();
+        for (int i = 0; i < opened.dexes.size(); i++) {
+            DexHelper.Dex dex = opened.dexes.get(i);
+            try {
+                DexHelper.search(dex, opened.indexes[i], query, result);
+            } catch (RuntimeException e) {
+                AndroidLog.logW(TAG, "Failed to search classes" + (dex.getIndex() + 1) + ".dex of " + info.packageName, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 搜索满足条件的方法并解析为 {@link Method}，使用默认 ClassLoader。
+     *
+     * @param info  宿主应用信息
+     * @param query 查询条件
+     * @return 命中且可解析的方法；构造函数会被忽略
+     */
+    @NonNull
+    public static Method[] findMethods(@NonNull ApplicationInfo info, @NonNull DexMethodQuery query) {
+        return findMethods(info, ModuleData.getClassLoader(), query);
+    }
+
+    /**
+     * 搜索满足条件的方法并解析为 {@link Method}。
+     *
+     * @param info        宿主应用信息
+     * @param classLoader 用于解析命中方法的类加载器
+     * @param query       查询条件
+     * @return 命中且可解析的方法；构造函数会被忽略
+     */
+    @NonNull
+    public static Method[] findMethods(@NonNull ApplicationInfo info, @Nullable ClassLoader classLoader, @NonNull DexMethodQuery query) {
+        List<Method> methods = new ArrayList<>();
+        for (DexMethodData data : findMethodData(info, query)) {
+            if (data.isConstructor() || "<clinit>".equals(data.methodName())) continue;
+
+            Executable executable = CoreHelper.findMemberBySignatureIfExists(data.toSignature(), classLoader);
+            if (executable instanceof Method method) {
+                methods.add(method);
+            } else {
+                AndroidLog.logW(TAG, "Failed to resolve dex method: " + data);
+            }
+        }
+        return methods.toArray(new Method[0]);
+    }
+
+    /**
+     * 搜索唯一满足条件的方法，使用默认 ClassLoader。
+     *
+     * @param info  宿主应用信息
+     * @param query 查询条件
+     * @return 唯一命中的方法
+     * @throws NoSuchMethodError   没有方法满足条件时抛出
+     * @throws UnexpectedException 有多个方法满足条件时抛出
+     */
+    @NonNull
+    public static Method findMethod(@NonNull ApplicationInfo info, @NonNull DexMethodQuery query) {
+        Method[] methods = findMethods(info, query);
+        if (methods.length == 0) throw new NoSuchMethodError("No method matches " + query);
+        if (methods.length > 1)
+            throw new UnexpectedException("Multiple methods match " + query + ": " + List.of(methods));
+        return methods[0];
+    }
+
+    /**
+     * 释放已打开的 dex 与索引缓存，不会删除索引文件。
+     */
+    public static void clear() {
+        synchronized (openedApks) {
+            openedApks.clear();
+        }
+    }
+
+    @NonNull
+    private static OpenedApk getOpenedApk(@NonNull ApplicationInfo info) {
+        if (info.sourceDir == null) return new OpenedApk(0, 0, Collections.emptyList(), new DexIndexHelper.Index[0]);
+
+        File base = new File(info.sourceDir);
+        synchronized (openedApks) {
+            OpenedApk opened = openedApks.get(info.sourceDir);
+            if (opened != null && opened.lastModified == base.lastModified() && opened.length == base.length())
+                return opened;
+
+            List<DexHelper.Dex> dexes = new ArrayList<>();
+            List<File> apks = new ArrayList<>();
+            apks.add(base);
+            if (info.splitSourceDirs != null) {
+                for (String split : info.splitSourceDirs) {
+                    apks.add(new File(split));
+                }
+            }
+            for (File apk : apks) {
+                try {
+                    dexes.addAll(DexHelper.open(apk, dexes.size()));
+                } catch (IOException e) {
+                    AndroidLog.logE(TAG, "Failed to open dex files of " + apk, e);
+                }
+            }
+
+            DexIndexHelper.Index[] indexes = DexIndexHelper.obtain(MemberCacheHelper.getCacheDir(info), apks, dexes);
+            opened = new OpenedApk(base.lastModified(), base.length(), Collections.unmodifiableList(dexes), indexes);
+            openedApks.put(info.sourceDir, opened);
+            return opened;
+        }
+    }
+
+    /**
+     * @noinspection ArrayRecordComponent
+     */
+    private record OpenedApk(long lastModified, long length, @NonNull List<DexHelper.Dex> dexes,
+                             @NonNull DexIndexHelper.Index[] indexes) {
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+
+/**
+ * 与偏好设置中某个键绑定的值。
+ * <p>
+ * 由 {@code PrefsTool.bindBoolean} 等方法创建，值保存在 {@code volatile} 字段中，
+ * {@code get()} 只是一次普通的字段读取；偏好设置变化时由所属 {@link PrefsSnapshot} 的变化监听器按键更新，
+ * 因此功能开关可以在不重启宿主的情况下实时生效。绑定应在 Hook 初始化时创建一次并保存为字段，
+ * 不再需要时调用 {@link #close()} 解除绑定，否则所属快照会一直持有该绑定。
+ * <pre>{@code
+ * private static final PrefsBinding.BooleanBinding hideClock = PrefsTool.bindBoolean("hide_clock", false);
+ *
+ * if (hideClock.get()) param.setResult(null);
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ */
+public abstract class PrefsBinding implements Closeable {
+    @NonNull
+    private final String key;
+    final int keyId;
+    // 绑定到快照后由快照设置，解除绑定后为 null
+    volatile PrefsSnapshot snapshot = null;
+
+    private PrefsBinding(@NonNull String key) {
+        this.key = key;
+        this.keyId = PrefsSnapshot.keyId(key);
+    }
+
+    /**
+     * 获取绑定的键。
+     *
+     * @return 偏好设置的键
+     */
+    @NonNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 解除与偏好设置的绑定，此后 {@code get()} 保持最后一次更新的值。重复调用无副作用。
+     */
+    @Override
+    public void close() {
+        PrefsSnapshot current = snapshot;
+        if (current != null) current.unbind(this);
+    }
+
+    /**
+     * 从快照中刷新绑定的值。
+     *
+     * @param snapshot 最新的快照
+     */
+    abstract void update(@NonNull PrefsSnapshot snapshot);
+
+    /**
+     * 布尔值绑定。
+     */
+    public static final class BooleanBinding extends PrefsBinding {
+        private final boolean def;
+        private volatile boolean value;
+
+        BooleanBinding(@NonNull String key, boolean def) {
+            super(key);
+            this.def = def;
+            this.value = def;
+        }
+
+        /**
+         * 获取当前值。
+         *
+         * @return 偏好设置中的值，键不存在或类型不匹配时为默认值
+         */
+        public boolean get() {
+            return value;
+        }
+
+        @Override
+        void update(@NonNull PrefsSnapshot snapshot) {
+            value = snapshot.getBoolean(keyId, def);
+        }
+    }
+
+    /**
+     * 整型值绑定。
+     */
+    public static final class IntBinding extends PrefsBinding {
+        private final int def;
+        private volatile int value;
+
+        IntBinding(@NonNull String key, int def) {
+            super(key);
+            this.def = def;
+            this.value = def;
+        }
+
+        /**
+         * 获取当前值。
+         *
+         * @return 偏好设置中的值，键不存在或类型不匹配时为默认值
+         */
+        public int get() {
+            return value;
+        }
+
+        @Override
+        void update(@NonNull PrefsSnapshot snapshot) {
+            value = snapshot.getInt(keyId, def);
+        }
+    }
+
+    /**
+     * 长整型值绑定。
+     */
+    public static final class LongBinding extends PrefsBinding {
+        private final long def;
+        private volatile long value;
+
+        LongBinding(@NonNull String key, long def) {
+            super(key);
+            this.def = def;
+            this.value = def;
+        }
+
+        /**
+         * 获取当前值。
+         *
+         * @return 偏好设置中的值，键不存在或类型不匹配时为默认值
+         */
+        public long get() {
+            return value;
+        }
+
+        @Override
+        void update(@NonNull PrefsSnapshot snapshot) {
+            value = snapshot.getLong(keyId, def);
+        }
+    }
+
+    /**
+     * 浮点值绑定。
+     */
+    public static final class FloatBinding extends PrefsBinding {
+        private final float def;
+        private volatile float value;
+
+        FloatBinding(@NonNull String key, float def) {
+            super(key);
+            this.def = def;
+            this.value = def;
+        }
+
+        /**
+         * 获取当前值。
+         *
+         * @return 偏好设置中的值，键不存在或类型不匹配时为默认值
+         */
+        public float get() {
+            return value;
+        }
+
+        @Override
+        void update(@NonNull PrefsSnapshot snapshot) {
+            value = snapshot.getFloat(keyId, def);
+        }
+    }
+
+    /**
+     * 字符串值绑定。
+     */
+    public static final class StringBinding extends PrefsBinding {
+        @Nullable
+        private final String def;
+        @Nullable
+        private volatile String value;
+
+        StringBinding(@NonNull String key, @Nullable String def) {
+            super(key);
+            this.def = def;
+            this.value = def;
+        }
+
+        /**
+         * 获取当前值。
+         *
+         * @return 偏好设置中的值，键不存在或类型不匹配时为默认值
+         */
+        @Nullable
+        public String get() {
+            return value;
+        }
+
+        @Override
+        void update(@NonNull PrefsSnapshot snapshot) {
+            value = snapshot.getString(keyId, def);
+        }
+    }
+}
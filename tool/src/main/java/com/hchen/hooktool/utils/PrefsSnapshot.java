@@ -0,0 +1,374 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SharedPreferences} 的只读快照。
+ * <p>
+ * 快照把偏好设置中的全部值按类型拆分到以键 ID 为下标的基本类型数组中，读取时无需查找哈希表，
+ * 也不会装箱。键 ID 通过 {@link #keyId(String)} 获取，全局唯一且在进程内保持不变，
+ * 因此可在 Hook 初始化时取得并保存，之后每次读取只需一次数组访问：
+ * <pre>{@code
+ * private static final int HIDE_CLOCK = PrefsSnapshot.keyId("hide_clock");
+ * private static final PrefsSnapshot prefs = PrefsTool.snapshot();
+ *
+ * if (prefs.getBoolean(HIDE_CLOCK, false)) { ... }
+ * }</pre>
+ * 快照持有对偏好设置变化监听器的强引用，值发生变化时会重新构建全部数组并整体替换，
+ * 读取方始终看到某一时刻完整一致的数据。与 {@link SharedPreferences} 不同，类型不匹配时返回默认值而不会抛出异常。
+ * <p>
+ * 同一个监听器还负责按键更新绑定到该偏好设置的 {@link PrefsBinding}，每个偏好设置文件只注册一个监听器。
+ *
+ * @author 焕晨HChen
+ */
+public final class PrefsSnapshot {
+    private static final ConcurrentHashMap<String, Integer> keyIds = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextKeyId = new AtomicInteger();
+    private static final byte TYPE_NONE = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_FLOAT = 4;
+    private static final byte TYPE_STRING = 5;
+    private static final byte TYPE_STRING_SET = 6;
+    @NonNull
+    private final SharedPreferences preferences;
+    // SharedPreferences 只弱引用监听器，必须由快照强引用
+    private final SharedPreferences.OnSharedPreferenceChangeListener listener = this::onChanged;
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<PrefsBinding>> bindings = new ConcurrentHashMap<>();
+    @NonNull
+    private volatile Table table;
+
+    PrefsSnapshot(@NonNull SharedPreferences preferences) {
+        this.preferences = preferences;
+        synchronized (this) {
+            preferences.registerOnSharedPreferenceChangeListener(listener);
+            table = Table.build(preferences.getAll());
+        }
+    }
+
+    /**
+     * 获取键对应的 ID，首次获取时分配。
+     *
+     * @param key 偏好设置的键
+     * @return 全局唯一的键 ID
+     */
+    public static int keyId(@NonNull String key) {
+        Integer id = keyIds.get(key);
+        if (id != null) return id;
+
+        return keyIds.computeIfAbsent(key, k -> nextKeyId.getAndIncrement());
+    }
+
+    /**
+     * 获取该快照对应的偏好设置实例。
+     *
+     * @return 偏好设置实例
+     */
+    @NonNull
+    public SharedPreferences getPreferences() {
+        return preferences;
+    }
+
+    /**
+     * 判断快照中是否包含指定键。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @return 包含该键时返回 {@code true}
+     */
+    public boolean contains(int keyId) {
+        return table.typeOf(keyId) != TYPE_NONE;
+    }
+
+    /**
+     * 读取布尔值。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @param def   键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public boolean getBoolean(int keyId, boolean def) {
+        Table t = table;
+        return t.typeOf(keyId) == TYPE_BOOLEAN ? t.booleans[keyId] : def;
+    }
+
+    /**
+     * 读取整型值。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @param def   键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public int getInt(int keyId, int def) {
+        Table t = table;
+        return t.typeOf(keyId) == TYPE_INT ? t.ints[keyId] : def;
+    }
+
+    /**
+     * 读取长整型值。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @param def   键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public long getLong(int keyId, long def) {
+        Table t = table;
+        return t.typeOf(keyId) == TYPE_LONG ? t.longs[keyId] : def;
+    }
+
+    /**
+     * 读取浮点值。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @param def   键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public float getFloat(int keyId, float def) {
+        Table t = table;
+        return t.typeOf(keyId) == TYPE_FLOAT ? t.floats[keyId] : def;
+    }
+
+    /**
+     * 读取字符串值。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @param def   键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    @Nullable
+    public String getString(int keyId, @Nullable String def) {
+        Table t = table;
+        return t.typeOf(keyId) == TYPE_STRING ? (String) t.objects[keyId] : def;
+    }
+
+    /**
+     * 读取字符串集合值。
+     *
+     * @param keyId 通过 {@link #keyId(String)} 获取的键 ID
+     * @param def   键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     * @noinspection unchecked
+     */
+    @Nullable
+    public Set<String> getStringSet(int keyId, @Nullable Set<String> def) {
+        Table t = table;
+        return t.typeOf(keyId) == TYPE_STRING_SET ? (Set<String>) t.objects[keyId] : def;
+    }
+
+    /**
+     * 按键名读取布尔值，需要额外一次哈希查找，频繁读取时应使用键 ID。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public boolean getBoolean(@NonNull String key, boolean def) {
+        Integer id = keyIds.get(key);
+        return id == null ? def : getBoolean(id, def);
+    }
+
+    /**
+     * 按键名读取整型值，需要额外一次哈希查找，频繁读取时应使用键 ID。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public int getInt(@NonNull String key, int def) {
+        Integer id = keyIds.get(key);
+        return id == null ? def : getInt(id, def);
+    }
+
+    /**
+     * 按键名读取长整型值，需要额外一次哈希查找，频繁读取时应使用键 ID。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public long getLong(@NonNull String key, long def) {
+        Integer id = keyIds.get(key);
+        return id == null ? def : getLong(id, def);
+    }
+
+    /**
+     * 按键名读取浮点值，需要额外一次哈希查找，频繁读取时应使用键 ID。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    public float getFloat(@NonNull String key, float def) {
+        Integer id = keyIds.get(key);
+        return id == null ? def : getFloat(id, def);
+    }
+
+    /**
+     * 按键名读取字符串值，需要额外一次哈希查找，频繁读取时应使用键 ID。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    @Nullable
+    public String getString(@NonNull String key, @Nullable String def) {
+        Integer id = keyIds.get(key);
+        return id == null ? def : getString(id, def);
+    }
+
+    /**
+     * 按键名读取字符串集合值，需要额外一次哈希查找，频繁读取时应使用键 ID。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 快照中的值或默认值
+     */
+    @Nullable
+    public Set<String> getStringSet(@NonNull String key, @Nullable Set<String> def) {
+        Integer id = keyIds.get(key);
+        return id == null ? def : getStringSet(id, def);
+    }
+
+    /**
+     * 添加绑定并立即以当前值初始化。
+     *
+     * @param binding 绑定
+     */
+    synchronized void bind(@NonNull PrefsBinding binding) {
+        bindings.computeIfAbsent(binding.getKey(), k -> new CopyOnWriteArrayList<>()).add(binding);
+        binding.snapshot = this;
+        binding.update(this);
+    }
+
+    /**
+     * 移除绑定，之后偏好设置的变化不再更新该绑定。
+     *
+     * @param binding 绑定
+     */
+    synchronized void unbind(@NonNull PrefsBinding binding) {
+        if (binding.snapshot != this) return;
+
+        binding.snapshot = null;
+        CopyOnWriteArrayList<PrefsBinding> list = bindings.get(binding.getKey());
+        if (list == null) return;
+
+        list.remove(binding);
+        if (list.isEmpty()) bindings.remove(binding.getKey());
+    }
+
+    private synchronized void onChanged(@NonNull SharedPreferences preferences, @Nullable String key) {
+        table = Table.build(preferences.getAll());
+
+        // key 为 null 表示偏好设置被清空，需要刷新全部绑定
+        if (key == null) {
+            for (CopyOnWriteArrayList<PrefsBinding> list : bindings.values()) {
+                for (PrefsBinding binding : list) {
+                    binding.update(this);
+                }
+            }
+            return;
+        }
+
+        CopyOnWriteArrayList<PrefsBinding> list = bindings.get(key);
+        if (list == null) return;
+
+        for (PrefsBinding binding : list) {
+            binding.update(this);
+        }
+    }
+
+    /**
+     * 某一时刻的全部偏好设置值，构建后不再修改。
+     */
+    private static final class Table {
+        @NonNull
+        private final byte[] types;
+        @NonNull
+        private final boolean[] booleans;
+        @NonNull
+        private final int[] ints;
+        @NonNull
+        private final long[] longs;
+        @NonNull
+        private final float[] floats;
+        @NonNull
+        private final Object[] objects;
+
+        private Table(int size) {
+            types = new byte[size];
+            booleans = new boolean[size];
+            ints = new int[size];
+            longs = new long[size];
+            floats = new float[size];
+            objects = new Object[size];
+        }
+
+        @NonNull
+        private static Table build(@NonNull Map<String, ?> values) {
+            // 先为全部键分配 ID，使数组足以容纳所有键
+            for (String key : values.keySet()) {
+                keyId(key);
+            }
+
+            Table table = new Table(nextKeyId.get());
+            for (Map.Entry<String, ?> entry : values.entrySet()) {
+                int id = keyId(entry.getKey());
+                Object value = entry.getValue();
+                if (value instanceof Boolean b) {
+                    table.types[id] = TYPE_BOOLEAN;
+                    table.booleans[id] = b;
+                } else if (value instanceof Integer i) {
+                    table.types[id] = TYPE_INT;
+                    table.ints[id] = i;
+                } else if (value instanceof Long l) {
+                    table.types[id] = TYPE_LONG;
+                    table.longs[id] = l;
+                } else if (value instanceof Float f) {
+                    table.types[id] = TYPE_FLOAT;
+                    table.floats[id] = f;
+                } else if (value instanceof String s) {
+                    table.types[id] = TYPE_STRING;
+                    table.objects[id] = s;
+                } else if (value instanceof Set<?> set) {
+                    table.types[id] = TYPE_STRING_SET;
+                    // noinspection unchecked
+                    table.objects[id] = Collections.unmodifiableSet(new HashSet<>((Set<String>) set));
+                }
+            }
+            return table;
+        }
+
+        private byte typeOf(int keyId) {
+            return keyId >= 0 && keyId < types.length ? types[keyId] : TYPE_NONE;
+        }
+    }
+}
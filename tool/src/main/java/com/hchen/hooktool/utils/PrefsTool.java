@@ -25,6 +25,7 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.hchen.hooktool.ModuleConfig;
 import com.hchen.hooktool.ModuleData;
@@ -42,6 +43,8 @@ import java.util.function.Function;
  * {@link ModuleData#getRemotePreferences} 跨进程访问）和模块进程（使用
  * {@code MODE_WORLD_READABLE} 或降级 {@code MODE_PRIVATE}）两种模式。
  * 内部使用 {@link ConcurrentHashMap} 对已创建的实例进行缓存，避免重复创建。
+ * 宿主端在 Hook 回调中频繁读取时，可通过 {@link #snapshot()} 获取以键 ID 直接索引的 {@link PrefsSnapshot}，
+ * 或通过 {@link #bindBoolean(String, boolean)} 等方法获取随偏好设置实时更新的 {@link PrefsBinding}。
  *
  * @author 焕晨HChen
  */
@@ -49,6 +52,7 @@ public final class PrefsTool {
     private static final String TAG = "PrefsTool";
     private static final ConcurrentHashMap<String, SharedPreferences> xPreferences = new ConcurrentHashMap<>(); // 宿主端
     private static final ConcurrentHashMap<String, SharedPreferences> sPreferences = new ConcurrentHashMap<>(); // 模块端
+    private static final ConcurrentHashMap<String, PrefsSnapshot> xSnapshots = new ConcurrentHashMap<>(); // 宿主端快照，与 xPreferences 使用相同的键
 
     private PrefsTool() {
     }
@@ -107,6 +111,185 @@ public final class PrefsTool {
         return createSharedPreferences(prefsName);
     }
 
+    /**
+     * 在 Xposed 宿主进程中获取模块默认偏好设置的只读快照。
+     *
+     * @return 默认名称对应的快照，指向同一文件时始终返回同一实例
+     * @see #snapshot(String)
+     */
+    @NonNull
+    public static PrefsSnapshot snapshot() {
+        return snapshot("");
+    }
+
+    /**
+     * 在 Xposed 宿主进程中获取模块指定偏好设置的只读快照。
+     * <p>
+     * 快照会监听偏好设置的变化并整体替换内部数据，读取时只需一次数组访问，适合在 Hook 回调中频繁调用。
+     *
+     * @param prefsName 偏好设置文件名称；为空字符串时使用默认名称
+     * @return 指定名称对应的快照，指向同一文件时始终返回同一实例
+     */
+    @NonNull
+    public static PrefsSnapshot snapshot(@NonNull String prefsName) {
+        String resolvedName = initPrefsName(prefsName);
+        String key = ModuleData.getModulePackageName() + resolvedName;
+        PrefsSnapshot snapshot = xSnapshots.get(key);
+        if (snapshot != null) return snapshot;
+
+        return xSnapshots.computeIfAbsent(key, k -> new PrefsSnapshot(prefs(resolvedName)));
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块默认偏好设置中的布尔值绑定为实时更新的句柄。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     * @see #bindBoolean(String, String, boolean)
+     */
+    @NonNull
+    public static PrefsBinding.BooleanBinding bindBoolean(@NonNull String key, boolean def) {
+        return bindBoolean("", key, def);
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块指定偏好设置中的布尔值绑定为实时更新的句柄。
+     * <p>
+     * 句柄的值由该偏好设置唯一的变化监听器按键更新，无需在 Hook 回调中获取 {@link SharedPreferences} 或查找键值。
+     *
+     * @param prefsName 偏好设置文件名称；为空字符串时使用默认名称
+     * @param key       偏好设置的键
+     * @param def       键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     */
+    @NonNull
+    public static PrefsBinding.BooleanBinding bindBoolean(@NonNull String prefsName, @NonNull String key, boolean def) {
+        PrefsBinding.BooleanBinding binding = new PrefsBinding.BooleanBinding(key, def);
+        snapshot(prefsName).bind(binding);
+        return binding;
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块默认偏好设置中的整型值绑定为实时更新的句柄。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     * @see #bindInt(String, String, int)
+     */
+    @NonNull
+    public static PrefsBinding.IntBinding bindInt(@NonNull String key, int def) {
+        return bindInt("", key, def);
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块指定偏好设置中的整型值绑定为实时更新的句柄。
+     * <p>
+     * 句柄的值由该偏好设置唯一的变化监听器按键更新，无需在 Hook 回调中获取 {@link SharedPreferences} 或查找键值。
+     *
+     * @param prefsName 偏好设置文件名称；为空字符串时使用默认名称
+     * @param key       偏好设置的键
+     * @param def       键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     */
+    @NonNull
+    public static PrefsBinding.IntBinding bindInt(@NonNull String prefsName, @NonNull String key, int def) {
+        PrefsBinding.IntBinding binding = new PrefsBinding.IntBinding(key, def);
+        snapshot(prefsName).bind(binding);
+        return binding;
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块默认偏好设置中的长整型值绑定为实时更新的句柄。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     * @see #bindLong(String, String, long)
+     */
+    @NonNull
+    public static PrefsBinding.LongBinding bindLong(@NonNull String key, long def) {
+        return bindLong("", key, def);
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块指定偏好设置中的长整型值绑定为实时更新的句柄。
+     * <p>
+     * 句柄的值由该偏好设置唯一的变化监听器按键更新，无需在 Hook 回调中获取 {@link SharedPreferences} 或查找键值。
+     *
+     * @param prefsName 偏好设置文件名称；为空字符串时使用默认名称
+     * @param key       偏好设置的键
+     * @param def       键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     */
+    @NonNull
+    public static PrefsBinding.LongBinding bindLong(@NonNull String prefsName, @NonNull String key, long def) {
+        PrefsBinding.LongBinding binding = new PrefsBinding.LongBinding(key, def);
+        snapshot(prefsName).bind(binding);
+        return binding;
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块默认偏好设置中的浮点值绑定为实时更新的句柄。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     * @see #bindFloat(String, String, float)
+     */
+    @NonNull
+    public static PrefsBinding.FloatBinding bindFloat(@NonNull String key, float def) {
+        return bindFloat("", key, def);
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块指定偏好设置中的浮点值绑定为实时更新的句柄。
+     * <p>
+     * 句柄的值由该偏好设置唯一的变化监听器按键更新，无需在 Hook 回调中获取 {@link SharedPreferences} 或查找键值。
+     *
+     * @param prefsName 偏好设置文件名称；为空字符串时使用默认名称
+     * @param key       偏好设置的键
+     * @param def       键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     */
+    @NonNull
+    public static PrefsBinding.FloatBinding bindFloat(@NonNull String prefsName, @NonNull String key, float def) {
+        PrefsBinding.FloatBinding binding = new PrefsBinding.FloatBinding(key, def);
+        snapshot(prefsName).bind(binding);
+        return binding;
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块默认偏好设置中的字符串值绑定为实时更新的句柄。
+     *
+     * @param key 偏好设置的键
+     * @param def 键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     * @see #bindString(String, String, String)
+     */
+    @NonNull
+    public static PrefsBinding.StringBinding bindString(@NonNull String key, @Nullable String def) {
+        return bindString("", key, def);
+    }
+
+    /**
+     * 在 Xposed 宿主进程中将模块指定偏好设置中的字符串值绑定为实时更新的句柄。
+     * <p>
+     * 句柄的值由该偏好设置唯一的变化监听器按键更新，无需在 Hook 回调中获取 {@link SharedPreferences} 或查找键值。
+     *
+     * @param prefsName 偏好设置文件名称；为空字符串时使用默认名称
+     * @param key       偏好设置的键
+     * @param def       键不存在或类型不匹配时的默认值
+     * @return 绑定句柄，{@code get()} 为一次 {@code volatile} 字段读取
+     */
+    @NonNull
+    public static PrefsBinding.StringBinding bindString(@NonNull String prefsName, @NonNull String key, @Nullable String def) {
+        PrefsBinding.StringBinding binding = new PrefsBinding.StringBinding(key, def);
+        snapshot(prefsName).bind(binding);
+        return binding;
+    }
+
     private static SharedPreferences createSharedPreferences(@NonNull String prefsName) {
         String resolvedName = initPrefsName(prefsName);
         String key = ModuleData.getModulePackageName() + resolvedName;
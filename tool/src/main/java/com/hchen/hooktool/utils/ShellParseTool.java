@@ -0,0 +1,437 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hchen.hooktool.data.PackageDumpData;
+import com.hchen.hooktool.data.PackagePathData;
+import com.hchen.hooktool.data.ProcessData;
+import com.hchen.hooktool.data.PropertyData;
+import com.hchen.hooktool.log.AndroidLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 常用 Root 命令输出的流式解析工具类。
+ * <p>
+ * 直接从 {@link ShellTool.ShellStream} 逐行读取并解析为类型化记录，每读到一条完整记录即交给回调，
+ * 不会先把全部输出收集为 {@code String[]}，也不使用正则或 {@link String#split(String)}。
+ * 错误输出行会被忽略；解析结束（包括回调抛出异常）后流会被关闭。
+ * <pre>{@code
+ * ShellTool shell = ShellTool.obtain(true);
+ * ShellParseTool.parsePackagePaths(shell.stream("pm list packages -f"), data -> {
+ *     if (data.apkPath().startsWith("/data/app/")) userPackages.add(data.packageName());
+ * });
+ * List<ProcessData> processes = ShellParseTool.parseProcesses(shell.stream("ps -A"));
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ */
+public final class ShellParseTool {
+    private static final String TAG = "ShellParseTool";
+    private static final String PACKAGE_PREFIX = "package:";
+    private static final String PACKAGES_SECTION = "Packages:";
+    private static final String PACKAGE_HEADER = "Package [";
+
+    private ShellParseTool() {
+    }
+
+    /**
+     * 解析 {@code pm list packages -f} 的输出。
+     *
+     * @param stream   命令输出流
+     * @param consumer 接收每条安装包记录的回调
+     */
+    public static void parsePackagePaths(@NonNull ShellTool.ShellStream stream, @NonNull Consumer<PackagePathData> consumer) {
+        parse(stream, new LineParser() {
+            @Override
+            void onLine(@NonNull String line) {
+                // package:/data/app/~~xx==/com.example-yy==/base.apk=com.example，路径中同样可能出现 '='
+                if (!line.startsWith(PACKAGE_PREFIX)) return;
+
+                int separator = line.lastIndexOf('=');
+                if (separator <= PACKAGE_PREFIX.length()) return;
+
+                // 带 -U 等选项时包名之后还有以空格分隔的附加字段
+                int end = line.indexOf(' ', separator);
+                String packageName = line.substring(separator + 1, end < 0 ? line.length() : end);
+                consumer.accept(new PackagePathData(packageName, line.substring(PACKAGE_PREFIX.length(), separator)));
+            }
+        });
+    }
+
+    /**
+     * 解析 {@code pm list packages -f} 的输出并收集为列表。
+     *
+     * @param stream 命令输出流
+     * @return 安装包记录
+     */
+    @NonNull
+    public static List<PackagePathData> parsePackagePaths(@NonNull ShellTool.ShellStream stream) {
+        ArrayList<PackagePathData> list = new ArrayList<>();
+        parsePackagePaths(stream, list::add);
+        return list;
+    }
+
+    /**
+     * 解析 {@code dumpsys package} 或 {@code dumpsys package <包名>} 输出中的 {@code Packages:} 段落。
+     * <p>
+     * 其余段落（包括 {@code Hidden system packages:} 中的旧版本记录）会被跳过。
+     *
+     * @param stream   命令输出流
+     * @param consumer 接收每条安装包记录的回调
+     */
+    public static void parsePackageDumps(@NonNull ShellTool.ShellStream stream, @NonNull Consumer<PackageDumpData> consumer) {
+        parse(stream, new PackageDumpParser(consumer));
+    }
+
+    /**
+     * 解析 {@code dumpsys package} 的输出并收集为列表。
+     *
+     * @param stream 命令输出流
+     * @return 安装包记录
+     */
+    @NonNull
+    public static List<PackageDumpData> parsePackageDumps(@NonNull ShellTool.ShellStream stream) {
+        ArrayList<PackageDumpData> list = new ArrayList<>();
+        parsePackageDumps(stream, list::add);
+        return list;
+    }
+
+    /**
+     * 解析 {@code ps -A}（toybox ps）的输出。
+     * <p>
+     * 列位置由表头确定，因此同样适用于 {@code ps -A -o ...} 等自定义列的输出，只要包含所需的列名。
+     *
+     * @param stream   命令输出流
+     * @param consumer 接收每行进程记录的回调
+     */
+    public static void parseProcesses(@NonNull ShellTool.ShellStream stream, @NonNull Consumer<ProcessData> consumer) {
+        parse(stream, new ProcessParser(consumer));
+    }
+
+    /**
+     * 解析 {@code ps -A} 的输出并收集为列表。
+     *
+     * @param stream 命令输出流
+     * @return 进程记录
+     */
+    @NonNull
+    public static List<ProcessData> parseProcesses(@NonNull ShellTool.ShellStream stream) {
+        ArrayList<ProcessData> list = new ArrayList<>();
+        parseProcesses(stream, list::add);
+        return list;
+    }
+
+    /**
+     * 解析 {@code getprop} 的输出，跨行的属性值会被合并。
+     *
+     * @param stream   命令输出流
+     * @param consumer 接收每条属性的回调
+     */
+    public static void parseProperties(@NonNull ShellTool.ShellStream stream, @NonNull Consumer<PropertyData> consumer) {
+        parse(stream, new PropertyParser(consumer));
+    }
+
+    /**
+     * 解析 {@code getprop} 的输出并收集为列表。
+     *
+     * @param stream 命令输出流
+     * @return 属性记录
+     */
+    @NonNull
+    public static List<PropertyData> parseProperties(@NonNull ShellTool.ShellStream stream) {
+        ArrayList<PropertyData> list = new ArrayList<>();
+        parseProperties(stream, list::add);
+        return list;
+    }
+
+    private static void parse(@NonNull ShellTool.ShellStream stream, @NonNull LineParser parser) {
+        try (stream) {
+            String line;
+            while ((line = stream.readLine()) != null) {
+                if (!stream.isErrorLine()) parser.onLine(line);
+            }
+            parser.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            AndroidLog.logW(TAG, "Interrupted while parsing shell output!!", e);
+        }
+    }
+
+    /**
+     * 解析 {@code [begin, end)} 范围内的十进制整数，不创建子字符串。
+     *
+     * @return 解析结果；范围为空或含有非数字字符时返回 {@code -1}
+     */
+    private static long parseLong(@NonNull String s, int begin, int end) {
+        if (begin >= end) return -1L;
+
+        long value = 0L;
+        for (int i = begin; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1L;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int skipSpaces(@NonNull String s, int from) {
+        while (from < s.length() && s.charAt(from) == ' ') from++;
+        return from;
+    }
+
+    private static int skipToken(@NonNull String s, int from) {
+        while (from < s.length() && s.charAt(from) != ' ') from++;
+        return from;
+    }
+
+    /**
+     * 逐行解析器。
+     */
+    private abstract static class LineParser {
+        abstract void onLine(@NonNull String line);
+
+        void finish() {
+        }
+    }
+
+    private static final class PackageDumpParser extends LineParser {
+        @NonNull
+        private final Consumer<PackageDumpData> consumer;
+        private boolean inSection = false;
+        private String packageName = null;
+        private int appId;
+        private long versionCode;
+        private String versionName;
+        private String codePath;
+        private int minSdk;
+        private int targetSdk;
+        private String firstInstallTime;
+        private String lastUpdateTime;
+
+        private PackageDumpParser(@NonNull Consumer<PackageDumpData> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        void onLine(@NonNull String line) {
+            if (line.isEmpty()) return;
+            if (line.charAt(0) != ' ') {
+                // 顶层行标志着段落切换
+                emit();
+                inSection = line.equals(PACKAGES_SECTION);
+                return;
+            }
+            if (!inSection) return;
+
+            int start = skipSpaces(line, 0);
+            if (line.startsWith(PACKAGE_HEADER, start)) {
+                // Package [com.example] (1a2b3c):
+                emit();
+                int end = line.indexOf(']', start);
+                if (end < 0) return;
+
+                reset(line.substring(start + PACKAGE_HEADER.length(), end));
+                return;
+            }
+            if (packageName == null) return;
+
+            // 字段行形如 key=value 或 key=value key=value，按空格切分后逐个识别
+            int pos = start;
+            while (pos < line.length()) {
+                int tokenEnd = skipToken(line, pos);
+                int equal = line.indexOf('=', pos);
+                if (equal > pos && equal < tokenEnd) onField(line, pos, equal, tokenEnd);
+                pos = skipSpaces(line, tokenEnd);
+            }
+        }
+
+        private void onField(@NonNull String line, int keyStart, int equal, int tokenEnd) {
+            int valueStart = equal + 1;
+            switch (line.substring(keyStart, equal)) {
+                case "appId", "userId" -> appId = (int) parseLong(line, valueStart, tokenEnd);
+                case "versionCode" -> versionCode = parseLong(line, valueStart, tokenEnd);
+                case "minSdk" -> minSdk = (int) parseLong(line, valueStart, tokenEnd);
+                case "targetSdk" -> targetSdk = (int) parseLong(line, valueStart, tokenEnd);
+                // 以下字段的值可能包含空格，取到行尾
+                case "versionName" -> versionName = line.substring(valueStart);
+                case "codePath" -> codePath = line.substring(valueStart);
+                case "firstInstallTime" -> firstInstallTime = line.substring(valueStart);
+                case "lastUpdateTime" -> lastUpdateTime = line.substring(valueStart);
+                default -> {
+                }
+            }
+        }
+
+        private void reset(@NonNull String packageName) {
+            this.packageName = packageName;
+            appId = -1;
+            versionCode = -1L;
+            versionName = null;
+            codePath = null;
+            minSdk = -1;
+            targetSdk = -1;
+            firstInstallTime = null;
+            lastUpdateTime = null;
+        }
+
+        private void emit() {
+            if (packageName == null) return;
+
+            consumer.accept(new PackageDumpData(packageName, appId, versionCode, versionName, codePath,
+                minSdk, targetSdk, firstInstallTime, lastUpdateTime));
+            packageName = null;
+        }
+
+        @Override
+        void finish() {
+            emit();
+        }
+    }
+
+    private static final class ProcessParser extends LineParser {
+        @NonNull
+        private final Consumer<ProcessData> consumer;
+        private int userColumn = -1;
+        private int pidColumn = -1;
+        private int ppidColumn = -1;
+        private int vszColumn = -1;
+        private int rssColumn = -1;
+        private int stateColumn = -1;
+        private int nameColumn = -1;
+
+        private ProcessParser(@NonNull Consumer<ProcessData> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        void onLine(@NonNull String line) {
+            if (nameColumn < 0) {
+                parseHeader(line);
+                return;
+            }
+
+            String user = "";
+            String state = "";
+            String name = "";
+            long pid = -1L, ppid = -1L, vsz = -1L, rss = -1L;
+            int column = 0;
+            int pos = skipSpaces(line, 0);
+            while (pos < line.length()) {
+                if (column == nameColumn) {
+                    // 名称为最后一列，可能包含空格
+                    name = line.substring(pos).trim();
+                    break;
+                }
+
+                int end = skipToken(line, pos);
+                if (column == userColumn) user = line.substring(pos, end);
+                else if (column == pidColumn) pid = parseLong(line, pos, end);
+                else if (column == ppidColumn) ppid = parseLong(line, pos, end);
+                else if (column == vszColumn) vsz = parseLong(line, pos, end);
+                else if (column == rssColumn) rss = parseLong(line, pos, end);
+                else if (column == stateColumn) state = line.substring(pos, end);
+                column++;
+                pos = skipSpaces(line, end);
+            }
+            if (pid < 0) return;
+
+            consumer.accept(new ProcessData(user, (int) pid, (int) ppid, vsz, rss, state, name));
+        }
+
+        private void parseHeader(@NonNull String line) {
+            int column = 0;
+            int pos = skipSpaces(line, 0);
+            int lastColumn = -1;
+            while (pos < line.length()) {
+                int end = skipToken(line, pos);
+                switch (line.substring(pos, end)) {
+                    case "USER" -> userColumn = column;
+                    case "PID" -> pidColumn = column;
+                    case "PPID" -> ppidColumn = column;
+                    case "VSZ", "VSIZE" -> vszColumn = column;
+                    case "RSS" -> rssColumn = column;
+                    case "S" -> stateColumn = column;
+                    default -> {
+                    }
+                }
+                lastColumn = column++;
+                pos = skipSpaces(line, end);
+            }
+            if (pidColumn < 0) return;
+
+            nameColumn = lastColumn;
+        }
+    }
+
+    private static final class PropertyParser extends LineParser {
+        private static final String SEPARATOR = "]: [";
+        @NonNull
+        private final Consumer<PropertyData> consumer;
+        private String key = null;
+        private StringBuilder value = null;
+
+        private PropertyParser(@NonNull Consumer<PropertyData> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        void onLine(@NonNull String line) {
+            // [key]: [value]，值中含换行时会延续到后续行，直到以 ']' 结尾
+            if (value != null) {
+                value.append('\n');
+                append(line, 0);
+                return;
+            }
+            if (!line.startsWith("[")) return;
+
+            int separator = line.indexOf(SEPARATOR);
+            if (separator < 0) return;
+
+            key = line.substring(1, separator);
+            value = new StringBuilder();
+            append(line, separator + SEPARATOR.length());
+        }
+
+        private void append(@NonNull String line, int from) {
+            if (line.endsWith("]")) {
+                value.append(line, from, line.length() - 1);
+                emit(value);
+            } else {
+                value.append(line, from, line.length());
+            }
+        }
+
+        private void emit(@Nullable StringBuilder builder) {
+            if (key != null && builder != null) consumer.accept(new PropertyData(key, builder.toString()));
+            key = null;
+            value = null;
+        }
+
+        @Override
+        void finish() {
+            emit(value);
+        }
+    }
+}
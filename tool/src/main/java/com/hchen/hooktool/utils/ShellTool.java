@@ -18,47 +18,88 @@
  */
 package com.hchen.hooktool.utils;
 
-import android.util.Pair;
-
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Size;
 
 import com.hchen.hooktool.callback.ICommandListener;
 import com.hchen.hooktool.callback.IExecListener;
+import com.hchen.hooktool.callback.IRootStateListener;
+import com.hchen.hooktool.data.RootState;
 import com.hchen.hooktool.data.ShellResult;
 import com.hchen.hooktool.exception.UnexpectedException;
 import com.hchen.hooktool.log.AndroidLog;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.DataOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Shell 命令执行工具类。
  * <p>
  * 提供同步和异步两种 Shell 命令执行能力，支持 Root（{@code su}）和普通（{@code sh}）两种模式。
- * 内部维护持久化的 Shell 进程流，通过 UUID 标记每条命令的输出边界，实现多命令并发执行时的
- * 结果正确分离。支持命令拼接模式，可将多条命令合并为一条执行。
+ * 每种模式各自维护一个由若干持久化 Shell 进程组成的会话池，两种模式的池大小可分别通过
+ * {@link #setPoolSize(boolean, int)} 配置。命令会被投递到当前负载最低的会话的工作队列中，
+ * 因此多个线程的命令可以在不同会话上并行执行，不再互相排队。
+ * <p>
+ * 每个会话通过 UUID 与递增序号标记每条命令的输出边界，排队的命令会被连续写入而不逐条等待返回，
+ * 可通过 {@link #submit()} 获取以 {@link CompletableFuture} 表示的结果，通过 {@link #stream()} 逐行消费大量输出，
+ * 或通过 {@link #raw(String)} 在独立进程中以原始字节读写二进制数据。会话空闲时会定期进行健康检查，
+ * 进程失效后会在下一条命令到来时自动重启。
+ * 命令可通过 {@link #timeout(long, TimeUnit)} 或 {@link #setDefaultTimeout(long, TimeUnit)} 限时，
+ * 超时或被取消的命令只会结束其自身启动的子进程，不影响同一会话中的其他命令。
+ * 只读查询命令的结果可通过 {@link ICommandListener#cacheTtl(String)} 声明缓存时长，
+ * 缓存期内重复执行将直接返回缓存的结果。经常执行的大段脚本可通过 {@link #registerScript(String, String)}
+ * 注册为 Shell 函数，每个会话只安装一次，之后通过 {@link #callScript(String, String...)} 按名称调用。
+ * 通过 {@link #cmd(String)} 与 {@link #enableSplicingMode()} 构建的待执行命令按线程隔离，
+ * 不同线程同时构建命令不会互相干扰。支持命令拼接模式，可将多条命令合并为一条执行。
  * <p>
  * 使用示例：
  * <pre>{@code
+ *         ShellTool.setPoolSize(true, 3);
  *         ShellTool shellTool = ShellTool.obtain(true);
  *         ShellResult shellResult = shellTool.cmd("ls").exec();
  *         if (shellResult != null) {
@@ -76,6 +117,8 @@ import java.util.stream.Collectors;
  *             .cmd("  echo hello               ")
  *             .cmd("fi                         ")
  *             .exec();
+ *         CompletableFuture<ShellResult> future = shellTool.submit("dumpsys battery");
+ *         ShellResult logcat = shellTool.cmd("logcat").timeout(5, TimeUnit.SECONDS).exec();
  *         shellTool.cmd("echo hello").async();
  *         shellTool.cmd("echo world").async(new IExecListener() {
  *             @Override
@@ -112,32 +155,53 @@ public final class ShellTool {
     private static final String TAG = "ShellTool";
     private static final String END_UUID = UUID.randomUUID().toString();
     private static final byte[] LINE_BREAK = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final long HEALTH_CHECK_INTERVAL = 30_000L; // ms
+    private static final int DEFAULT_STREAM_CAPACITY = 1024;
+    private static final int DEFAULT_CACHE_SIZE = 64;
+    private static final int RAW_BUFFER_SIZE = 64 * 1024;
+    private static final int RAW_MAX_ERROR_LINES = 64;
+    private static final String HEALTH_CHECK_COMMAND = "true";
+    private static final long KILL_GRACE_PERIOD = 2_000L; // ms
+    private static final String SCRIPT_FUNCTION_PREFIX = "__hooktool_";
+    private static final Pattern SCRIPT_NAME_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
     private static final ShellTool shellTool = new ShellTool();
+    private static final ShellPool rootPool = new ShellPool(true, DEFAULT_POOL_SIZE);
+    private static final ShellPool normalPool = new ShellPool(false, DEFAULT_POOL_SIZE);
+    private static final ThreadLocal<PendingCommand> pendingCommand = ThreadLocal.withInitial(PendingCommand::new);
+    private static final ScheduledThreadPoolExecutor timer = createTimer();
+    private static final ThreadPoolExecutor killer = createKiller();
+    private static final ResultCache resultCache = new ResultCache(DEFAULT_CACHE_SIZE);
+    private static final CopyOnWriteArrayList<IRootStateListener> rootStateListeners = new CopyOnWriteArrayList<>();
+    private static final Object rootLock = new Object();
     private static volatile boolean isRoot = false;
     private static volatile String[] shellCommands = new String[]{"su", "sh"};
     private static volatile IExecListener iGlobalExecListeners;
     private static volatile ICommandListener iGlobalCommandListener;
-    private static volatile ShellImpl shellImpl;
+    private static volatile long defaultTimeout = 0L; // ms
+    private static volatile Map<String, String> scripts = Collections.emptyMap();
+    private static volatile RootState rootState = RootState.UNKNOWN;
+    private static volatile String rootExitCode = "-1";
+    private static CompletableFuture<RootState> rootProbe = null; // 由 rootLock 保护
 
     private ShellTool() {
-        shellImpl = new ShellImpl(this);
     }
 
     /**
-     * 获取 {@link ShellTool} 单例并初始化 Shell 进程流。
+     * 获取 {@link ShellTool} 单例并初始化 Shell 会话池。
      * <p>
-     * 使用当前通过 {@link #setRoot(boolean)} 设定的模式启动 Shell 进程。
+     * 使用当前通过 {@link #setRoot(boolean)} 设定的模式启动池中的全部 Shell 进程。
      *
      * @return {@link ShellTool} 单例实例
      */
     @NonNull
     public static ShellTool obtain() {
-        shellImpl.init();
+        currentPool().start();
         return shellTool;
     }
 
     /**
-     * 获取 {@link ShellTool} 单例，同时指定 Root 模式并初始化 Shell 进程流。
+     * 获取 {@link ShellTool} 单例，同时指定 Root 模式并初始化 Shell 会话池。
      *
      * @param isRoot {@code true} 使用 {@code su}（Root 模式），{@code false} 使用 {@code sh}（普通模式）
      * @return {@link ShellTool} 单例实例
@@ -160,6 +224,25 @@ public final class ShellTool {
         return shellTool;
     }
 
+    /**
+     * 设置指定模式的会话池大小，即同时存活的 Shell 进程数量。
+     * <p>
+     * Root 与普通模式的会话池相互独立，默认大小均为 {@value #DEFAULT_POOL_SIZE}。
+     * 缩小会话池时，被移除的会话会在执行完已排队的命令后退出。
+     *
+     * @param isRoot {@code true} 设置 Root 模式的会话池，{@code false} 设置普通模式的会话池
+     * @param size   会话数量，至少为 1
+     * @return {@link ShellTool} 单例实例，支持链式调用
+     */
+    @NonNull
+    public static ShellTool setPoolSize(boolean isRoot, @IntRange(from = 1) int size) {
+        if (size < 1)
+            throw new UnexpectedException("Shell pool size must be at least 1, but was " + size);
+
+        (isRoot ? rootPool : normalPool).resize(size);
+        return shellTool;
+    }
+
     /**
      * 自定义 Shell 启动命令。
      * <p>
@@ -201,537 +284,1948 @@ public final class ShellTool {
     }
 
     /**
-     * 判断当前 Shell 进程流是否处于活跃状态。
+     * 设置命令的默认超时时间，对未通过 {@link #timeout(long, TimeUnit)} 单独指定超时的命令生效。
+     * <p>
+     * 超时从命令在 Shell 中开始执行时计算，不包含排队等待的时间。
+     * 命令超时后其在 Shell 中启动的全部子进程会被结束，Shell 会话本身保持可用。
+     *
+     * @param timeout 超时时间，{@code 0} 表示不限时（默认）
+     * @param unit    时间单位
+     * @return {@link ShellTool} 单例实例，支持链式调用
+     */
+    @NonNull
+    public static ShellTool setDefaultTimeout(@IntRange(from = 0) long timeout, @NonNull TimeUnit unit) {
+        if (timeout < 0)
+            throw new UnexpectedException("Shell command timeout must not be negative, but was " + timeout);
+
+        defaultTimeout = unit.toMillis(timeout);
+        return shellTool;
+    }
+
+    /**
+     * 判断当前模式的会话池中是否存在处于活跃状态的 Shell 进程。
      *
-     * @return Shell 进程存活且读取线程正常运行时返回 {@code true}
+     * @return 至少一个 Shell 进程存活且读取线程正常运行时返回 {@code true}
      */
     public static boolean isActive() {
-        return shellImpl.isActive();
+        return currentPool().isActive();
     }
 
     /**
-     * 关闭当前 Shell 进程流并释放所有相关资源。
+     * 关闭两种模式的全部 Shell 会话并释放所有相关资源。
      * <p>
-     * 关闭流程包括：发送 {@code exit} 命令、等待进程退出、关闭输出流、终止读取线程。
+     * 关闭流程包括：发送 {@code exit} 命令、等待进程退出、关闭输出流、终止读取线程；
+     * 尚在队列中的命令会以异常结束，已缓存的命令结果会被清空。之后再次执行命令时会话会被重新创建。
      */
     public static void close() {
-        shellImpl.close();
+        rootPool.close();
+        normalPool.close();
+        resultCache.clear();
     }
 
     /**
-     * 启用命令拼接模式。
+     * 设置命令结果缓存可保存的最大条目数，超出时淘汰最久未使用的结果。
      * <p>
-     * 启用后，通过 {@link #cmd(String)} 添加的多条命令将以换行符连接后拼接为一条命令一次性执行。
-     * 拼接模式在执行一次后自动关闭。
+     * 默认大小为 {@value #DEFAULT_CACHE_SIZE}，设为 {@code 0} 可关闭缓存。
+     * 哪些命令会被缓存以及缓存多久由 {@link ICommandListener#cacheTtl(String)} 决定。
      *
+     * @param size 最大条目数，{@code 0} 表示不缓存
      * @return {@link ShellTool} 单例实例，支持链式调用
      */
     @NonNull
-    public ShellTool enableSplicingMode() {
-        return shellImpl.enableSplicingMode();
+    public static ShellTool setCacheSize(@IntRange(from = 0) int size) {
+        if (size < 0)
+            throw new UnexpectedException("Shell cache size must not be negative, but was " + size);
+
+        resultCache.resize(size);
+        return shellTool;
     }
 
     /**
-     * 添加一条待执行的 Shell 命令。
+     * 使指定命令在两种模式下的缓存结果失效，下一次执行时将重新发送到 Shell。
      * <p>
-     * 若处于拼接模式，命令将被暂存到拼接列表中；否则直接覆盖当前待执行命令。
+     * 通常在执行了会改变查询结果的命令（如 {@code setprop}、{@code settings put}）后调用。
      *
-     * @param cmd 命令字符串，不可为 {@code null}
-     * @return {@link ShellTool} 单例实例，支持链式调用
+     * @param cmd 命令字符串，与缓存时一样按去除首尾空白及空行后的文本匹配
      */
-    @NonNull
-    public ShellTool cmd(@NonNull String cmd) {
-        return shellImpl.cmd(cmd);
+    public static void invalidateCache(@NonNull String cmd) {
+        resultCache.invalidate(cmd);
     }
 
     /**
-     * 同步执行已添加的命令，阻塞当前线程直到命令执行完毕并返回结果。
-     *
-     * @return 命令执行结果；若未添加命令则返回 {@code null}
+     * 清空全部已缓存的命令结果。
      */
-    @Nullable
-    public ShellResult exec() {
-        return shellImpl.exec();
+    public static void clearCache() {
+        resultCache.clear();
     }
 
     /**
-     * 异步执行已添加的命令，不阻塞当前线程。
+     * 注册一段具名脚本，作为 Shell 函数安装到两种模式的每个会话中。
      * <p>
-     * 执行结果通过全局执行监听器（{@link #setExecListener}）回调返回。
+     * 脚本只在每个 Shell 进程中安装一次（会话重启后自动重新安装），之后通过 {@link #callScript(String, String...)}
+     * 调用时只需发送函数名与参数，Shell 不必再次传输和解析整段脚本。脚本内可通过 {@code $1}、{@code $@} 等读取参数，
+     * 应使用 {@code return} 而非 {@code exit} 结束，否则会退出整个 Shell 会话。
+     * 存在语法错误的脚本不会被安装，调用时以非零退出码失败。
+     * <p>
+     * 重复注册同名脚本会替换原有脚本，并清空命令结果缓存。
+     *
+     * @param name   脚本名称，只能包含字母、数字与下划线，且不能以数字开头
+     * @param script 脚本内容
+     * @return {@link ShellTool} 单例实例，支持链式调用
      */
-    public void async() {
-        shellImpl.async(null);
+    @NonNull
+    public static ShellTool registerScript(@NonNull String name, @NonNull String script) {
+        if (!SCRIPT_NAME_PATTERN.matcher(name).matches())
+            throw new UnexpectedException("Invalid shell script name: " + name);
+
+        synchronized (ShellTool.class) {
+            HashMap<String, String> map = new HashMap<>(scripts);
+            if (script.equals(map.put(name, script))) return shellTool;
+
+            scripts = Collections.unmodifiableMap(map);
+        }
+        resultCache.clear();
+        return shellTool;
     }
 
     /**
-     * 异步执行已添加的命令，并通过指定的监听器接收结果。
+     * 注销具名脚本，对应的 Shell 函数会在各会话写入下一条命令时移除。
      *
-     * @param iExecListener 用于接收本次命令执行结果的监听器
+     * @param name 脚本名称
      */
-    public void async(@NonNull IExecListener iExecListener) {
-        shellImpl.async(iExecListener);
-    }
+    public static void unregisterScript(@NonNull String name) {
+        synchronized (ShellTool.class) {
+            if (!scripts.containsKey(name)) return;
 
-    // --------------------------------------- Root Check -------------------------------------------
+            HashMap<String, String> map = new HashMap<>(scripts);
+            map.remove(name);
+            scripts = Collections.unmodifiableMap(map);
+        }
+        resultCache.clear();
+    }
 
     /**
-     * 同步检查当前设备是否具备 Root 权限。
+     * 启用命令拼接模式。
+     * <p>
+     * 启用后，当前线程通过 {@link #cmd(String)} 添加的多条命令将以换行符连接后拼接为一条命令一次性执行。
+     * 拼接模式在执行一次后自动关闭。需要每条命令各自的输出与退出码时请使用 {@link #batch(String...)}。
      *
-     * @return 具备 Root 权限返回 {@code true}
+     * @return {@link ShellTool} 单例实例，支持链式调用
      */
-    public static boolean isRootAvailable() {
-        return isRootAvailable(true, null);
+    @NonNull
+    public ShellTool enableSplicingMode() {
+        pendingCommand.get().isSplicingMode = true;
+        return this;
     }
 
     /**
-     * 同步检查当前设备是否具备 Root 权限，并通过监听器返回检测结果。
+     * 为当前线程添加一条待执行的 Shell 命令。
+     * <p>
+     * 若处于拼接模式，命令将被暂存到拼接列表中；否则直接覆盖当前待执行命令。
      *
-     * @param iExecListener 接收 Root 检测结果的监听器
-     * @return 具备 Root 权限返回 {@code true}
+     * @param cmd 命令字符串，不可为 {@code null}
+     * @return {@link ShellTool} 单例实例，支持链式调用
      */
-    public static boolean isRootAvailable(@NonNull IExecListener iExecListener) {
-        return isRootAvailable(true, iExecListener);
+    @NonNull
+    public ShellTool cmd(@NonNull String cmd) {
+        pendingCommand.get().add(cmd);
+        return this;
     }
 
     /**
-     * 检查当前设备是否具备 Root 权限。
-     * <p>
-     * 通过执行 {@code su -c true} 命令并检查退出码来判断 Root 可用性。支持同步和异步两种模式。
+     * 为当前线程添加一条调用已注册脚本的命令，参数会以单引号转义后原样传入。
+     * <pre>{@code
+     * ShellResult result = ShellTool.obtain(true).callScript("freeze", packageName, "--user", "0").exec();
+     * }</pre>
      *
-     * @param sync          {@code true} 为同步检测，{@code false} 为异步检测
-     * @param iExecListener 接收 Root 检测结果的监听器，可为 {@code null}
-     * @return 同步模式下返回是否具备 Root 权限；异步模式下固定返回 {@code false}，结果通过监听器回调
+     * @param name 通过 {@link #registerScript(String, String)} 注册的脚本名称
+     * @param args 脚本参数
+     * @return {@link ShellTool} 单例实例，支持链式调用
+     * @throws UnexpectedException 脚本未注册时抛出
      */
-    public static boolean isRootAvailable(boolean sync, @Nullable IExecListener iExecListener) {
-        Callable<Integer> callable = new Callable<Integer>() {
-            @Override
-            public Integer call() throws Exception {
-                Process process = null;
-                try {
-                    process = Runtime.getRuntime().exec("su -c true");
-                    int exitCode = process.waitFor();
-                    if (iExecListener != null) {
-                        iExecListener.rootResult(exitCode == 0, String.valueOf(exitCode));
-                    }
-                    return exitCode;
-                } catch (IOException | InterruptedException e) {
-                    AndroidLog.logE(TAG, "Error checking if root permission is supported!!", e);
-                    return -1;
-                } finally {
-                    if (process != null)
-                        process.destroy();
-                }
-            }
-        };
+    @NonNull
+    public ShellTool callScript(@NonNull String name, @NonNull String... args) {
+        if (!scripts.containsKey(name))
+            throw new UnexpectedException("Shell script is not registered: " + name);
 
-        if (sync) {
-            try {
-                return callable.call() == 0;
-            } catch (Exception e) {
-                return false;
-            }
-        } else {
-            ExecutorService service = null;
-            try {
-                // noinspection resource
-                service = Executors.newSingleThreadExecutor();
-                service.submit(callable);
-            } finally {
-                if (service != null) {
-                    service.shutdown();
-                }
-            }
-            return false;
+        StringBuilder builder = new StringBuilder(SCRIPT_FUNCTION_PREFIX).append(name);
+        for (String arg : args) {
+            builder.append(' ').append(quote(arg));
         }
+        return cmd(builder.toString());
     }
-    // ----------------------------------------------------------------------------------------------
 
     /**
-     * Shell 流内部实现类。
+     * 为当前线程下一条执行的命令指定超时时间，覆盖 {@link #setDefaultTimeout(long, TimeUnit)} 的设置。
      * <p>
-     * 负责管理 Shell 进程的完整生命周期，包括进程启动、命令写入、输出读取以及同步/异步执行结果的分发。
+     * 超时后命令以 {@link TimeoutException} 结束（{@link #exec()} 返回 {@code null}），
+     * 其在 Shell 中启动的全部子进程会被结束；若命令在宽限期内仍未结束（例如 Shell 内建命令的死循环），
+     * 所在会话会被重启，排在其后的命令会被重新排队执行。
+     *
+     * @param timeout 超时时间，{@code 0} 表示不限时
+     * @param unit    时间单位
+     * @return {@link ShellTool} 单例实例，支持链式调用
      */
-    final class ShellImpl {
-        @NonNull
-        private final ShellTool shellTool;
-        private boolean isSplicingMode = false;
-        private final ArrayList<String> waitSplicingCommandList = new ArrayList<>();
-        private String command = null;
-        private Process process = null;
-        private StreamThread streamThread = null;
-        private DataOutputStream os = null;
+    @NonNull
+    public ShellTool timeout(@IntRange(from = 0) long timeout, @NonNull TimeUnit unit) {
+        if (timeout < 0)
+            throw new UnexpectedException("Shell command timeout must not be negative, but was " + timeout);
 
-        private ShellImpl(@NonNull ShellTool shellTool) {
-            this.shellTool = shellTool;
-        }
+        pendingCommand.get().timeout = unit.toMillis(timeout);
+        return this;
+    }
 
-        private volatile boolean resultReady = false;
-        private volatile int shellGeneration = 0;
+    /**
+     * 同步执行当前线程已添加的命令，阻塞当前线程直到命令执行完毕并返回结果。
+     * <p>
+     * 命令会被投递到负载最低的会话上执行，其他线程的命令可同时在其余会话上执行。
+     *
+     * @return 命令执行结果；若未添加命令、命令被拦截、命令超时或 Shell 进程中途退出则返回 {@code null}
+     */
+    @Nullable
+    public ShellResult exec() {
+        return await(submit());
+    }
 
-        private synchronized void init() {
-            try {
-                if (isActive()) return;
+    /**
+     * 在一次往返中同步执行多条命令，并分别返回每条命令的执行结果。
+     * <p>
+     * 与 {@link #enableSplicingMode()} 将多条命令合并为一条不同，批量执行的每条命令都有独立的结束标记，
+     * 因此各自拥有独立的标准输出、错误输出与退出码。全部命令会被投递到同一个会话，
+     * 按顺序在同一次写入中发送到 Shell，前一条命令失败不会影响后续命令的执行。
+     * 该方法不使用也不影响当前线程正在构建的命令，各命令使用默认超时时间且不经过结果缓存。
+     * <pre>{@code
+     * ShellResult[] results = ShellTool.obtain(true).batch(
+     *     "getprop ro.build.version.sdk",
+     *     "settings get global adb_enabled",
+     *     "cat /proc/version");
+     * }</pre>
+     *
+     * @param cmds 命令字符串
+     * @return 与命令一一对应的执行结果，单条命令被拦截、超时或 Shell 进程中途退出时对应位置为 {@code null}
+     */
+    @NonNull
+    public ShellResult[] batch(@NonNull String... cmds) {
+        ArrayList<ShellTask> tasks = new ArrayList<>(cmds.length);
+        ArrayList<CompletableFuture<ShellResult>> futures = new ArrayList<>(cmds.length);
+        long timeout = defaultTimeout;
+        for (String cmd : cmds) {
+            String command = filterCommand(cmd);
+            if (command == null) {
+                futures.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
 
-                command = null;
-                process = Runtime.getRuntime().exec(isRoot ? shellCommands[0] : shellCommands[1]);
-                os = new DataOutputStream(process.getOutputStream());
+            ShellTask task = new ShellTask(command, false, null, null, timeout);
+            tasks.add(task);
+            futures.add(task.future);
+        }
+        if (!tasks.isEmpty()) currentPool().dispatchAll(tasks);
 
-                shellGeneration++;
-                streamThread = new StreamThread(this, process.getInputStream(), process.getErrorStream());
-                streamThread.run();
-            } catch (IOException e) {
-                throw new UnexpectedException("Error initializing shell stream.");
-            }
+        ShellResult[] results = new ShellResult[cmds.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = await(futures.get(i));
         }
+        return results;
+    }
 
-        @NonNull
-        private synchronized ShellTool enableSplicingMode() {
-            this.isSplicingMode = true;
-            return shellTool;
+    @Nullable
+    private static ShellResult await(@NonNull CompletableFuture<ShellResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // 放弃等待的同时终止命令，避免其继续占用会话
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            AndroidLog.logE(TAG, "Shell exec interrupted while waiting for result!!", e);
+            return null;
+        } catch (CancellationException e) {
+            AndroidLog.logW(TAG, "Shell exec was cancelled!!");
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) return null;
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new UnexpectedException("Error executing shell command!!", e.getCause());
         }
+    }
 
-        @NonNull
-        private synchronized ShellTool cmd(@NonNull String cmd) {
-            if (!isActive())
-                throw new UnexpectedException("Shell stream is dead.");
+    /**
+     * 提交当前线程已添加的命令，不等待执行结果。
+     * <p>
+     * 命令会与同一会话中排队的其他命令一起连续写入 Shell，无需等待前一条命令返回；
+     * 每条命令由独立的序号标记结果边界，相同的命令同时提交也不会互相混淆。
+     * 结果就绪时同样会回调全局执行监听器（{@link #setExecListener}）。
+     * <p>
+     * 对返回的 Future 调用 {@link CompletableFuture#cancel(boolean)} 会取消该命令：
+     * 尚未写入 Shell 的命令不再执行，正在执行的命令会像超时一样被终止。
+     *
+     * @return 命令执行结果的 Future；若未添加命令或命令被拦截则立即以 {@code null} 完成，
+     * Shell 进程中途退出时同样以 {@code null} 完成，命令超时则以 {@link TimeoutException} 异常完成
+     */
+    @NonNull
+    public CompletableFuture<ShellResult> submit() {
+        PendingCommand pending = pendingCommand.get();
+        long timeout = pending.takeTimeout();
+        return submit(pending.take(), timeout, false, null);
+    }
 
-            if (isSplicingMode) waitSplicingCommandList.add(cmd);
-            else command = cmd;
-            return shellTool;
+    /**
+     * 提交一条命令，不等待执行结果。
+     * <p>
+     * 等价于 {@code cmd(cmd).submit()}。
+     *
+     * @param cmd 命令字符串
+     * @return 命令执行结果的 Future，含义同 {@link #submit()}
+     */
+    @NonNull
+    public CompletableFuture<ShellResult> submit(@NonNull String cmd) {
+        return cmd(cmd).submit();
+    }
+
+    /**
+     * 同时提交多条互相独立的命令，不等待执行结果。
+     * <p>
+     * 每条命令单独经过全局命令监听器过滤并分配到负载最低的会话，
+     * 分配到同一会话的命令会被连续写入并一次性刷新。该方法不使用也不影响当前线程正在构建的命令，
+     * 各命令使用默认超时时间。
+     *
+     * @param cmds 命令字符串
+     * @return 与命令一一对应的结果 Future，含义同 {@link #submit()}
+     */
+    @NonNull
+    public List<CompletableFuture<ShellResult>> submitAll(@NonNull String... cmds) {
+        ArrayList<CompletableFuture<ShellResult>> futures = new ArrayList<>(cmds.length);
+        for (String cmd : cmds) {
+            futures.add(submit(filterCommand(cmd), defaultTimeout, false, null));
         }
+        return futures;
+    }
 
-        @Nullable
-        private synchronized ShellResult exec() {
-            if (!isActive())
-                throw new UnexpectedException("Shell stream is dead.");
-
-            splicingCommandIfNeed();
-            callbackCommandListener();
-            if (command == null) return null;
-
-            String[] commands = command.split("\n");
-            final byte[] END_CMD = String.format(
-                    "__RET=$?; echo %1$s,$__RET,%2$s; echo %1$s,$__RET,%2$s 1>&2; unset __RET",
-                    END_UUID, command.hashCode()
-                )
-                .getBytes(StandardCharsets.UTF_8);
-            streamThread.shellSyncMap.put(String.valueOf(command.hashCode()), command);
-            resultReady = false;
-            int generation = shellGeneration;
-            write("{");
-            writeAll(commands);
-            write("}");
-            write(END_CMD);
-            command = null;
+    /**
+     * 以流式方式执行当前线程已添加的命令。
+     * <p>
+     * 命令的标准输出和错误输出会在读取到时逐行放入容量为 {@value #DEFAULT_STREAM_CAPACITY} 行的有界缓冲区，
+     * 由调用方通过 {@link ShellStream#readLine()} 取走，不会被收集到 {@link ShellResult} 中；
+     * 缓冲区写满时会话的读取线程将等待调用方消费，因此无论命令输出多大，内存占用都保持恒定。
+     * 流式命令在结束前会占用其所在的会话，调用方应及时读取或通过 {@link ShellStream#close()} 丢弃剩余输出。
+     * <pre>{@code
+     * try (ShellTool.ShellStream stream = ShellTool.obtain(true).stream("logcat -d")) {
+     *     String line;
+     *     while ((line = stream.readLine()) != null) {
+     *         if (!stream.isErrorLine()) handle(line);
+     *     }
+     *     boolean success = "0".equals(stream.exitCode());
+     * }
+     * }</pre>
+     *
+     * @return 命令输出流；若未添加命令或命令被拦截则返回已结束的空流
+     */
+    @NonNull
+    public ShellStream stream() {
+        PendingCommand pending = pendingCommand.get();
+        long timeout = pending.takeTimeout();
+        return dispatchStream(pending.take(), timeout, DEFAULT_STREAM_CAPACITY);
+    }
 
-            try {
-                while (!resultReady && isActive() && generation == shellGeneration) {
-                    wait();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                AndroidLog.logE(TAG, "Shell exec interrupted while waiting for result!!", e);
-                return null;
-            }
+    /**
+     * 以流式方式执行一条命令，等价于 {@code cmd(cmd).stream()}。
+     *
+     * @param cmd 命令字符串
+     * @return 命令输出流，含义同 {@link #stream()}
+     */
+    @NonNull
+    public ShellStream stream(@NonNull String cmd) {
+        return cmd(cmd).stream();
+    }
 
-            if (!resultReady) return null;
+    /**
+     * 以流式方式执行一条命令，并指定缓冲区容量。
+     *
+     * @param cmd      命令字符串
+     * @param capacity 缓冲区可容纳的最大行数
+     * @return 命令输出流，含义同 {@link #stream()}
+     */
+    @NonNull
+    public ShellStream stream(@NonNull String cmd, @IntRange(from = 1) int capacity) {
+        if (capacity < 1)
+            throw new UnexpectedException("Shell stream capacity must be at least 1, but was " + capacity);
+
+        cmd(cmd);
+        PendingCommand pending = pendingCommand.get();
+        long timeout = pending.takeTimeout();
+        return dispatchStream(pending.take(), timeout, capacity);
+    }
 
-            return streamThread.getResult();
+    /**
+     * 在独立的 Shell 进程中以原始字节方式执行一条命令。
+     * <p>
+     * 命令不经过会话池，也不使用任何行标记：其标准输出与标准输入直接以字节通道暴露，
+     * 进程结束即表示输出结束，因此可用于以 Root 读写数据库、备份、安装包等任意二进制数据。
+     * 标准错误会在后台读取并保留最后 {@value #RAW_MAX_ERROR_LINES} 行。
+     * <pre>{@code
+     * try (ShellTool.RawChannel raw = ShellTool.obtain(true).raw("cat /data/system/packages.xml");
+     *      FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+     *     raw.transferTo(out);
+     *     boolean success = raw.waitFor() == 0;
+     * }
+     * }</pre>
+     *
+     * @param cmd 命令字符串
+     * @return 原始字节通道；命令被全局命令监听器拦截时返回 {@code null}
+     * @throws UnexpectedException 进程启动失败时抛出
+     */
+    @Nullable
+    public RawChannel raw(@NonNull String cmd) {
+        String command = filterCommand(cmd);
+        if (command == null) return null;
+
+        String shell = isRoot ? shellCommands[0] : shellCommands[1];
+        ArrayList<String> commands = new ArrayList<>(List.of(shell.trim().split("\\s+")));
+        commands.add("-c");
+        commands.add(command);
+        try {
+            return new RawChannel(command, new ProcessBuilder(commands).start());
+        } catch (IOException e) {
+            throw new UnexpectedException("Error starting raw shell process: " + command, e);
         }
+    }
 
-        private synchronized void async(@Nullable IExecListener iExecListener) {
-            if (!isActive())
-                throw new UnexpectedException("Shell stream is dead.");
-
-            splicingCommandIfNeed();
-            callbackCommandListener();
-            if (command == null) return;
+    /**
+     * 异步执行当前线程已添加的命令，不阻塞当前线程。
+     * <p>
+     * 执行结果通过全局执行监听器（{@link #setExecListener}）回调返回。
+     */
+    public void async() {
+        async(null);
+    }
 
-            String[] commands = command.split("\n");
-            final byte[] END_CMD_ID = String.format(
-                    "__RET=$?; echo %1$s,$__RET,%2$s,1; echo %1$s,$__RET,%2$s,1 1>&2; unset __RET",
-                    END_UUID, command.hashCode()
-                )
-                .getBytes(StandardCharsets.UTF_8);
-            streamThread.shellAsyncMap.put(String.valueOf(command.hashCode()), new Pair<>(command, iExecListener));
+    /**
+     * 异步执行当前线程已添加的命令，并通过指定的监听器接收结果。
+     *
+     * @param iExecListener 用于接收本次命令执行结果的监听器
+     */
+    public void async(@Nullable IExecListener iExecListener) {
+        PendingCommand pending = pendingCommand.get();
+        long timeout = pending.takeTimeout();
+        submit(pending.take(), timeout, true, iExecListener);
+    }
 
-            write("{");
-            writeAll(commands);
-            write("}");
-            write(END_CMD_ID);
-            command = null;
+    @NonNull
+    private static CompletableFuture<ShellResult> submit(@Nullable String command, long timeout, boolean isAsync,
+                                                         @Nullable IExecListener iExecListener) {
+        if (command == null) return CompletableFuture.completedFuture(null);
+
+        ICommandListener listener = iGlobalCommandListener;
+        long ttl = isAsync || listener == null ? 0L : listener.cacheTtl(command);
+        if (ttl > 0) {
+            boolean isRoot = ShellTool.isRoot;
+            return resultCache.get(isRoot, command, ttl, () -> dispatch(isRoot, command, timeout));
         }
+        return dispatch(isRoot, command, timeout, isAsync, iExecListener);
+    }
 
-        private void write(@NonNull String command) {
-            write(command.getBytes(StandardCharsets.UTF_8));
-        }
+    @NonNull
+    private static CompletableFuture<ShellResult> dispatch(boolean isRoot, @NonNull String command, long timeout) {
+        return dispatch(isRoot, command, timeout, false, null);
+    }
 
-        private void write(@NonNull byte[] bytes) {
-            try {
-                os.write(bytes);
-                os.write(LINE_BREAK);
-                os.flush();
-            } catch (IOException e) {
-                AndroidLog.logE(TAG, "Error writing data to shell stream!!", e);
-            }
-        }
+    @NonNull
+    private static CompletableFuture<ShellResult> dispatch(boolean isRoot, @NonNull String command, long timeout,
+                                                           boolean isAsync, @Nullable IExecListener iExecListener) {
+        ShellTask task = new ShellTask(command, isAsync, iExecListener, null, timeout);
+        (isRoot ? rootPool : normalPool).dispatch(task);
+        return task.future;
+    }
 
-        private void writeAll(@NonNull String[] commands) {
-            try {
-                for (String cmd : commands) {
-                    final byte[] bytes = cmd.getBytes(StandardCharsets.UTF_8);
-                    os.write(bytes);
-                    os.write(LINE_BREAK);
-                }
-                os.flush();
-            } catch (IOException e) {
-                AndroidLog.logE(TAG, "Error writing data to shell stream!!", e);
-            }
+    @NonNull
+    private static ShellStream dispatchStream(@Nullable String command, long timeout, int capacity) {
+        ShellStream stream = new ShellStream(capacity);
+        if (command == null) {
+            stream.finish(null);
+            return stream;
         }
 
-        public synchronized void close() {
-            try {
-                boolean abnormal = streamThread != null && streamThread.isAbnormalExit();
-                if (isActive() || abnormal) {
-                    if (!abnormal) {
-                        write("exit");
-                    }
+        ShellTask task = new ShellTask(command, false, null, stream, timeout);
+        stream.task = task;
+        currentPool().dispatch(task);
+        return stream;
+    }
 
-                    if (process != null) {
-                        process.waitFor(3, TimeUnit.SECONDS);
-                        process.destroy();
-                    }
+    @Nullable
+    private static String filterCommand(@Nullable String command) {
+        if (command == null) return null;
 
-                    if (os != null && !abnormal) {
-                        try {
-                            os.close();
-                        } catch (IOException e) {
-                            AndroidLog.logE(TAG, "Error closing OS!!", e);
-                        }
-                    }
+        ICommandListener listener = iGlobalCommandListener;
+        if (listener != null && !listener.onCommand(command)) return null;
+        return command;
+    }
 
-                    if (streamThread != null) {
-                        streamThread.close();
-                    }
-                }
-            } catch (InterruptedException e) {
-                AndroidLog.logE(TAG, "Error closing shell stream!!", e);
-            } finally {
-                streamThread = null;
-                command = null;
-                process = null;
-                os = null;
-                resultReady = false;
-                notifyAll();
-            }
-        }
+    /**
+     * 以单引号包裹字符串，使其在 Shell 中作为一个不做任何展开的参数。
+     */
+    @NonNull
+    private static String quote(@NonNull String arg) {
+        return "'" + arg.replace("'", "'\\''") + "'";
+    }
 
-        private synchronized boolean isActive() {
-            if (streamThread == null || process == null) return false;
-            return streamThread.isActive() && process.isAlive();
+    /**
+     * 生成将 Shell 中已安装的脚本更新为当前注册状态的安装任务。
+     * <p>
+     * 每个脚本单独作为一个任务，先在子 Shell 中试定义以检查语法，避免语法错误导致整个 Shell 退出。
+     *
+     * @param installed 该 Shell 中已安装的脚本
+     * @param current   当前注册的脚本
+     * @return 安装任务，无需更新时为空列表
+     */
+    @NonNull
+    private static List<ShellTask> scriptInstallTasks(@NonNull Map<String, String> installed, @NonNull Map<String, String> current) {
+        ArrayList<ShellTask> tasks = new ArrayList<>();
+        for (String name : installed.keySet()) {
+            if (!current.containsKey(name))
+                tasks.add(new ShellTask("unset -f " + SCRIPT_FUNCTION_PREFIX + name, true, null));
         }
-
-        private void splicingCommandIfNeed() {
-            if (!isSplicingMode) return;
-            StringBuilder stringBuilder = new StringBuilder();
-            for (int i = 0; i < waitSplicingCommandList.size(); i++) {
-                if (i == waitSplicingCommandList.size() - 1)
-                    stringBuilder.append(waitSplicingCommandList.get(i));
-                else stringBuilder.append(waitSplicingCommandList.get(i)).append("\n");
-            }
-            isSplicingMode = false;
-            command = stringBuilder.toString();
-            waitSplicingCommandList.clear();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String name = entry.getKey();
+            if (entry.getValue().equals(installed.get(name))) continue;
+
+            String define = quote(SCRIPT_FUNCTION_PREFIX + name + "() {\n" + entry.getValue() + "\n}");
+            ShellTask task = new ShellTask(
+                "if (eval " + define + ") 2>/dev/null; then eval " + define + "; " +
+                    "else unset -f " + SCRIPT_FUNCTION_PREFIX + name + "; false; fi",
+                true, null
+            );
+            task.future.thenAccept(result -> {
+                if (result != null && !result.isSuccess())
+                    AndroidLog.logW(TAG, "Failed to install shell script: " + name + ", check its syntax.");
+            });
+            tasks.add(task);
         }
+        return tasks;
+    }
 
-        private void callbackCommandListener() {
-            if (command == null) return;
-            if (iGlobalCommandListener == null) return;
-            if (!iGlobalCommandListener.onCommand(command)) command = null;
-        }
+    @NonNull
+    private static ShellPool currentPool() {
+        return isRoot ? rootPool : normalPool;
     }
 
     /**
-     * Shell 标准输出和错误输出的读取线程管理类。
+     * 创建用于命令超时与终止的定时线程，取消的定时任务会被立即移除。
+     */
+    @NonNull
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ShellTool-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * 创建用于结束进程与重启会话的线程池。
      * <p>
-     * 通过两个独立的线程分别读取标准输出流和错误输出流，利用 UUID 标记识别命令边界，
-     * 实现多条命令结果的正确分离。支持同步命令的结果通知和异步命令的回调分发。
+     * 这些操作会阻塞至多 {@link #KILL_GRACE_PERIOD}，放在定时线程上会推迟其他命令的超时处理，
+     * 因此按需创建线程执行，空闲后自动回收。
      */
-    final class StreamThread {
-        private final Object lock = new Object();
-        private static final int SHELL_ID_OUTPUT = 0;
-        private static final int SHELL_ID_ERROR = 1;
-        private final ExecutorService outputService = Executors.newSingleThreadExecutor();
-        private final ExecutorService errorService = Executors.newSingleThreadExecutor();
-        private final ConcurrentHashMap<String, Pair<String, IExecListener>> shellAsyncMap = new ConcurrentHashMap<>();
-        private final ConcurrentHashMap<String, String> shellSyncMap = new ConcurrentHashMap<>();
-        private final ConcurrentHashMap<String, ShellData> shellDataMap = new ConcurrentHashMap<>();
-        private final CopyOnWriteArrayList<String> outputList = new CopyOnWriteArrayList<>();
-        private final CopyOnWriteArrayList<String> errorList = new CopyOnWriteArrayList<>();
-        private ShellResult shellResult = null;
-        private Future<?> outputFuture = null;
-        private Future<?> errorFuture = null;
+    @NonNull
+    private static ThreadPoolExecutor createKiller() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 30L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ShellTool-killer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // --------------------------------------- Root Check -------------------------------------------
+
+    /**
+     * 无阻塞地获取缓存的 Root 状态。
+     * <p>
+     * 状态为 {@link RootState#UNKNOWN} 时会在后台发起检测（已有检测进行中时不会重复发起），
+     * 检测完成后通过 {@link #addRootStateListener(IRootStateListener)} 注册的监听器通知。
+     *
+     * @return 当前缓存的 Root 状态
+     */
+    @NonNull
+    public static RootState getRootState() {
+        RootState state = rootState;
+        if (state == RootState.UNKNOWN) probeRootState();
+        return state;
+    }
+
+    /**
+     * 获取 Root 状态，必要时在后台检测。
+     * <p>
+     * 状态已知时返回已完成的 Future；否则发起检测，同一时刻只会存在一次检测，并发调用共享其结果。
+     * 可在应用启动时调用以提前完成检测（包括等待用户响应 Root 授权弹窗），之后的查询均无需等待。
+     *
+     * @return Root 状态的 Future，结果不会是 {@link RootState#UNKNOWN}
+     */
+    @NonNull
+    public static CompletableFuture<RootState> probeRootState() {
+        CompletableFuture<RootState> probe;
+        synchronized (rootLock) {
+            RootState state = rootState;
+            if (state != RootState.UNKNOWN) return CompletableFuture.completedFuture(state);
+            if (rootProbe != null) return rootProbe;
+
+            probe = new CompletableFuture<>();
+            rootProbe = probe;
+        }
+
+        Thread thread = new Thread(() -> {
+            int exitCode = runRootProbe();
+            RootState state = exitCode == 0 ? RootState.GRANTED : RootState.DENIED;
+            boolean changed;
+            synchronized (rootLock) {
+                rootProbe = null;
+                rootExitCode = String.valueOf(exitCode);
+                changed = rootState != state;
+                rootState = state;
+            }
+            if (changed) notifyRootState(state);
+            probe.complete(state);
+        }, "ShellTool-root-probe");
+        thread.setDaemon(true);
+        thread.start();
+        return probe;
+    }
+
+    /**
+     * 使缓存的 Root 状态失效，下一次查询时重新检测。
+     * <p>
+     * Root 会话异常断开时会自动调用。
+     */
+    public static void invalidateRootState() {
+        setRootState(RootState.UNKNOWN);
+    }
+
+    /**
+     * 添加 Root 状态变化监听器。
+     *
+     * @param listener 监听器
+     */
+    public static void addRootStateListener(@NonNull IRootStateListener listener) {
+        rootStateListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * 移除 Root 状态变化监听器。
+     *
+     * @param listener 监听器
+     */
+    public static void removeRootStateListener(@NonNull IRootStateListener listener) {
+        rootStateListeners.remove(listener);
+    }
+
+    /**
+     * 同步检查当前设备是否具备 Root 权限。
+     * <p>
+     * 状态已缓存时立即返回，否则等待检测完成。
+     *
+     * @return 具备 Root 权限返回 {@code true}
+     */
+    public static boolean isRootAvailable() {
+        return isRootAvailable(true, null);
+    }
+
+    /**
+     * 同步检查当前设备是否具备 Root 权限，并通过监听器返回检测结果。
+     *
+     * @param iExecListener 接收 Root 检测结果的监听器
+     * @return 具备 Root 权限返回 {@code true}
+     */
+    public static boolean isRootAvailable(@NonNull IExecListener iExecListener) {
+        return isRootAvailable(true, iExecListener);
+    }
+
+    /**
+     * 检查当前设备是否具备 Root 权限。
+     * <p>
+     * 通过 {@link #probeRootState()} 获取缓存的检测结果，只有状态未知时才会执行 {@code su -c true} 并检查退出码。
+     * 支持同步和异步两种模式。
+     *
+     * @param sync          {@code true} 为同步检测，{@code false} 为异步检测
+     * @param iExecListener 接收 Root 检测结果的监听器，可为 {@code null}
+     * @return 同步模式下返回是否具备 Root 权限；异步模式下固定返回 {@code false}，结果通过监听器回调
+     */
+    public static boolean isRootAvailable(boolean sync, @Nullable IExecListener iExecListener) {
+        CompletableFuture<RootState> future = probeRootState().thenApply(state -> {
+            if (iExecListener != null) {
+                try {
+                    iExecListener.rootResult(state == RootState.GRANTED, rootExitCode);
+                } catch (Throwable e) {
+                    AndroidLog.logE(TAG, "Error during callback!!", e);
+                }
+            }
+            return state;
+        });
+        if (!sync) return false;
+
+        try {
+            return future.get() == RootState.GRANTED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            AndroidLog.logE(TAG, "Error checking if root permission is supported!!", e);
+            return false;
+        } catch (ExecutionException e) {
+            AndroidLog.logE(TAG, "Error checking if root permission is supported!!", e.getCause());
+            return false;
+        }
+    }
+
+    /**
+     * 在独立进程中执行 {@code su -c true}。
+     *
+     * @return 进程退出码，进程启动失败时返回 {@code -1}
+     */
+    private static int runRootProbe() {
+        ArrayList<String> commands = new ArrayList<>(List.of(shellCommands[0].trim().split("\\s+")));
+        commands.add("-c");
+        commands.add("true");
+
+        Process process = null;
+        try {
+            process = new ProcessBuilder(commands).start();
+            process.getOutputStream().close();
+            return process.waitFor();
+        } catch (IOException | InterruptedException e) {
+            AndroidLog.logE(TAG, "Error checking if root permission is supported!!", e);
+            return -1;
+        } finally {
+            if (process != null)
+                process.destroy();
+        }
+    }
+
+    private static void setRootState(@NonNull RootState state) {
+        synchronized (rootLock) {
+            // Root 会话能正常响应，等同于 su 检测成功
+            if (state == RootState.GRANTED) rootExitCode = "0";
+            if (rootState == state) return;
+            rootState = state;
+        }
+        notifyRootState(state);
+    }
+
+    /**
+     * Root 会话异常断开时调用，已授权的状态可能已被撤销，需要重新检测。
+     */
+    private static void onRootSessionBroken() {
+        synchronized (rootLock) {
+            if (rootState != RootState.GRANTED) return;
+        }
+        AndroidLog.logW(TAG, "Root shell session broke, root state will be probed again.");
+        invalidateRootState();
+    }
+
+    private static void notifyRootState(@NonNull RootState state) {
+        for (IRootStateListener listener : rootStateListeners) {
+            try {
+                listener.onRootStateChanged(state);
+            } catch (Throwable e) {
+                AndroidLog.logE(TAG, "Error during callback!!", e);
+            }
+        }
+    }
+    // ----------------------------------------------------------------------------------------------
+
+    /**
+     * 流式执行命令的输出流。
+     * <p>
+     * 标准输出与错误输出按到达顺序交错放入同一个有界缓冲区，可通过 {@link #isErrorLine()} 区分；
+     * 缓冲区写满时产生输出的会话会暂停读取，直到调用方取走数据或关闭该流。
+     */
+    public static final class ShellStream implements Closeable {
+        private static final Object END = new Object();
+        private final ArrayBlockingQueue<Object> queue;
+        private volatile boolean isFinished = false;
+        private volatile boolean isClosed = false;
+        private volatile String exitCode = null;
+        private volatile ShellTask task = null;
+        private boolean isErrorLine = false;
+
+        private ShellStream(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * 读取下一行输出，缓冲区为空时阻塞等待。
+         *
+         * @return 下一行输出；命令结束且输出已全部读取或流已关闭时返回 {@code null}
+         * @throws InterruptedException 等待期间线程被中断
+         */
+        @Nullable
+        public String readLine() throws InterruptedException {
+            while (!isClosed) {
+                Object item = isFinished ? queue.poll() : queue.take();
+                if (item == null || item == END) return null;
+
+                if (item instanceof ErrorLine errorLine) {
+                    isErrorLine = true;
+                    return errorLine.line;
+                }
+                isErrorLine = false;
+                return (String) item;
+            }
+            return null;
+        }
+
+        /**
+         * @return 上一次 {@link #readLine()} 返回的行是否来自错误输出
+         */
+        public boolean isErrorLine() {
+            return isErrorLine;
+        }
+
+        /**
+         * @return 命令是否已经执行结束（输出可能尚未读取完）
+         */
+        public boolean isFinished() {
+            return isFinished;
+        }
+
+        /**
+         * @return 命令的退出码；命令尚未结束、被拦截或 Shell 进程中途退出时返回 {@code null}
+         */
+        @Nullable
+        public String exitCode() {
+            return exitCode;
+        }
+
+        /**
+         * 关闭该流并丢弃剩余输出。
+         * <p>
+         * 命令尚未结束时会被取消：未开始的命令不再执行，正在执行的命令会被终止，
+         * 避免 {@code logcat} 等不会自行结束的命令一直占用会话。
+         */
+        @Override
+        public void close() {
+            isClosed = true;
+            queue.clear();
+
+            ShellTask task = this.task;
+            if (task != null && !isFinished) task.future.cancel(false);
+        }
+
+        private void put(@NonNull String line, boolean isError) throws InterruptedException {
+            if (isClosed) return;
+
+            queue.put(isError ? new ErrorLine(line) : line);
+            if (isClosed) queue.clear();
+        }
+
+        private void finish(@Nullable String exitCode) {
+            if (isFinished) return;
+
+            this.exitCode = exitCode;
+            isFinished = true;
+            // 缓冲区已满时无需放入结束标记，读取方会在取空后发现已结束
+            queue.offer(END);
+        }
+
+        private record ErrorLine(@NonNull String line) {
+        }
+    }
+
+    /**
+     * 以原始字节方式执行命令的双向通道。
+     * <p>
+     * {@link #read(ByteBuffer)} 读取命令的标准输出，{@link #write(ByteBuffer)} 写入命令的标准输入，
+     * 均不做任何字符集转换；标准输出底层为文件描述符时直接通过 {@link FileChannel} 读取，支持直接缓冲区。
+     * 写入完成后应调用 {@link #closeInput()} 使命令读到输入结束。关闭通道会终止尚未结束的进程。
+     */
+    public static final class RawChannel implements ByteChannel {
+        @NonNull
+        private final String command;
+        @NonNull
+        private final Process process;
+        @NonNull
+        private final ReadableByteChannel stdout;
+        @NonNull
+        private final WritableByteChannel stdin;
+        private final ArrayDeque<String> errors = new ArrayDeque<>();
+        @NonNull
+        private final Thread errorReader;
+        private volatile boolean isOpen = true;
+
+        private RawChannel(@NonNull String command, @NonNull Process process) {
+            this.command = command;
+            this.process = process;
+            this.stdout = openChannel(process.getInputStream());
+            this.stdin = Channels.newChannel(process.getOutputStream());
+            this.errorReader = new Thread(this::readErrors, "ShellTool-raw");
+            this.errorReader.setDaemon(true);
+            this.errorReader.start();
+        }
+
         @NonNull
-        private final ShellImpl shellImpl;
+        private static ReadableByteChannel openChannel(@NonNull InputStream inputStream) {
+            if (inputStream instanceof FileInputStream fileInputStream)
+                return fileInputStream.getChannel();
+            return Channels.newChannel(inputStream);
+        }
+
+        private void readErrors() {
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    synchronized (errors) {
+                        if (errors.size() == RAW_MAX_ERROR_LINES) errors.pollFirst();
+                        errors.addLast(line);
+                    }
+                }
+            } catch (IOException e) {
+                if (isOpen) AndroidLog.logE(TAG, "Error reading raw shell standard error stream!!", e);
+            }
+        }
+
+        /**
+         * 读取命令的标准输出。
+         *
+         * @param dst 目标缓冲区，可为直接缓冲区
+         * @return 读取的字节数；输出已结束时返回 {@code -1}
+         */
+        @Override
+        public int read(@NonNull ByteBuffer dst) throws IOException {
+            return stdout.read(dst);
+        }
+
+        /**
+         * 向命令的标准输入写入数据。
+         *
+         * @param src 源缓冲区
+         * @return 写入的字节数
+         */
+        @Override
+        public int write(@NonNull ByteBuffer src) throws IOException {
+            return stdin.write(src);
+        }
+
+        /**
+         * 以字节流形式获取命令的标准输出，与 {@link #read(ByteBuffer)} 共享同一数据源。
+         *
+         * @return 标准输出流
+         */
+        @NonNull
+        public InputStream getInputStream() {
+            return process.getInputStream();
+        }
+
+        /**
+         * 以字节流形式获取命令的标准输入，与 {@link #write(ByteBuffer)} 共享同一数据源。
+         *
+         * @return 标准输入流
+         */
+        @NonNull
+        public OutputStream getOutputStream() {
+            return process.getOutputStream();
+        }
+
+        /**
+         * 将命令的全部标准输出写入目标通道，直到输出结束。
+         *
+         * @param target 目标通道，例如 {@link FileChannel}
+         * @return 传输的总字节数
+         */
+        public long transferTo(@NonNull WritableByteChannel target) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RAW_BUFFER_SIZE);
+            long total = 0;
+            while (stdout.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    total += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return total;
+        }
+
+        /**
+         * 将源通道的全部数据写入命令的标准输入，并在完成后关闭标准输入。
+         *
+         * @param source 源通道，例如 {@link FileChannel}
+         * @return 传输的总字节数
+         */
+        public long transferFrom(@NonNull ReadableByteChannel source) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RAW_BUFFER_SIZE);
+            long total = 0;
+            try {
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        total += stdin.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            } finally {
+                closeInput();
+            }
+            return total;
+        }
+
+        /**
+         * 关闭命令的标准输入，使命令读到输入结束。
+         */
+        public void closeInput() throws IOException {
+            stdin.close();
+        }
+
+        /**
+         * 等待命令结束。
+         *
+         * @return 命令的退出码
+         * @throws InterruptedException 等待期间线程被中断
+         */
+        public int waitFor() throws InterruptedException {
+            int exitCode = process.waitFor();
+            errorReader.join();
+            return exitCode;
+        }
+
+        /**
+         * @return 执行的命令
+         */
+        @NonNull
+        public String command() {
+            return command;
+        }
+
+        /**
+         * @return 标准错误输出的最后若干行
+         */
+        @NonNull
+        public String[] errors() {
+            synchronized (errors) {
+                return errors.toArray(new String[0]);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return isOpen;
+        }
+
+        /**
+         * 关闭通道并释放资源，尚未结束的进程会被终止。
+         */
+        @Override
+        public void close() {
+            if (!isOpen) return;
+
+            isOpen = false;
+            try {
+                stdin.close();
+            } catch (IOException ignore) {
+            }
+            try {
+                stdout.close();
+            } catch (IOException ignore) {
+            }
+            if (process.isAlive()) process.destroy();
+        }
+    }
+
+    /**
+     * 当前线程正在构建的待执行命令。
+     * <p>
+     * 通过 {@link ThreadLocal} 按线程隔离，取出后即被重置。
+     */
+    private static final class PendingCommand {
+        private boolean isSplicingMode = false;
+        private final ArrayList<String> waitSplicingCommandList = new ArrayList<>();
+        private String command = null;
+        private long timeout = -1L; // ms，-1 表示使用默认超时
+
+        private void add(@NonNull String cmd) {
+            if (isSplicingMode) waitSplicingCommandList.add(cmd);
+            else command = cmd;
+        }
+
+        /**
+         * 取出待执行命令：按需拼接，并交由全局命令监听器过滤。
+         *
+         * @return 最终要执行的命令；没有命令或命令被拦截时返回 {@code null}
+         */
+        @Nullable
+        private String take() {
+            if (isSplicingMode) {
+                command = String.join("\n", waitSplicingCommandList);
+                isSplicingMode = false;
+                waitSplicingCommandList.clear();
+            }
+
+            String result = command;
+            command = null;
+            return filterCommand(result);
+        }
+
+        /**
+         * 取出下一条命令的超时时间，未单独指定时使用默认超时。
+         *
+         * @return 超时时间（毫秒），{@code 0} 表示不限时
+         */
+        private long takeTimeout() {
+            long result = timeout < 0 ? defaultTimeout : timeout;
+            timeout = -1L;
+            return result;
+        }
+    }
+
+    /**
+     * 按 Shell 模式与规范化命令文本缓存命令结果的 LRU 缓存。
+     * <p>
+     * 同一命令的并发请求共享同一次执行；结果在执行成功后开始计算有效期，
+     * 执行失败、退出码非 {@code 0} 或 Shell 中途退出的结果不会被缓存。
+     */
+    private static final class ResultCache {
+        private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private int maxSize;
+
+        private ResultCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * 获取命令结果，缓存不存在或已过期时通过 {@code loader} 执行命令并缓存其结果。
+         *
+         * @return 结果 Future 的副本，取消它不会影响共享同一次执行的其他调用方
+         */
+        @NonNull
+        private CompletableFuture<ShellResult> get(boolean isRoot, @NonNull String command, long ttl,
+                                                   @NonNull Supplier<CompletableFuture<ShellResult>> loader) {
+            String key = keyOf(isRoot, command);
+            CacheEntry entry;
+            synchronized (this) {
+                if (maxSize == 0) return loader.get();
+
+                entry = entries.get(key);
+                if (entry != null && !entry.isExpired()) return entry.future.thenApply(result -> result);
+
+                entry = new CacheEntry();
+                entries.put(key, entry);
+                trim();
+            }
+
+            CacheEntry loading = entry;
+            loader.get().whenComplete((result, throwable) -> {
+                if (throwable != null || result == null || !result.isSuccess()) {
+                    synchronized (this) {
+                        entries.remove(key, loading);
+                    }
+                } else {
+                    loading.expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl);
+                    loading.isLoaded = true;
+                }
+
+                if (throwable != null) loading.future.completeExceptionally(throwable);
+                else loading.future.complete(result);
+            });
+            return loading.future.thenApply(result -> result);
+        }
+
+        private synchronized void invalidate(@NonNull String command) {
+            entries.remove(keyOf(true, command));
+            entries.remove(keyOf(false, command));
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+
+        private synchronized void resize(int size) {
+            maxSize = size;
+            trim();
+        }
+
+        private void trim() {
+            Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        /**
+         * 去除每行首尾空白及空行，使仅排版不同的同一命令共享缓存。
+         */
+        @NonNull
+        private static String keyOf(boolean isRoot, @NonNull String command) {
+            StringBuilder builder = new StringBuilder(isRoot ? "su" : "sh");
+            for (String line : command.split("\n")) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty()) builder.append('\n').append(trimmed);
+            }
+            return builder.toString();
+        }
+
+        private static final class CacheEntry {
+            private final CompletableFuture<ShellResult> future = new CompletableFuture<>();
+            private volatile boolean isLoaded = false; // 执行完成前不会过期
+            private volatile long expiresAt = 0L;
+
+            private boolean isExpired() {
+                return isLoaded && System.nanoTime() - expiresAt >= 0;
+            }
+        }
+    }
+
+    /**
+     * 一条投递到会话池的命令任务。
+     */
+    private static final class ShellTask {
+        @NonNull
+        private final String command;
+        private final boolean isAsync;
+        @Nullable
+        private final IExecListener iExecListener;
+        @Nullable
+        private final ShellStream stream;
+        private final long timeout; // ms，0 表示不限时
+        private final CompletableFuture<ShellResult> future = new CompletableFuture<>();
+        private final AtomicBoolean isDone = new AtomicBoolean();
+        private final AtomicBoolean isStarted = new AtomicBoolean();
+        private final AtomicBoolean isTerminated = new AtomicBoolean();
+        // 写入 Shell 后由会话设置
+        private volatile Session session = null;
+        private volatile StreamThread streamThread = null;
+        private volatile long seq = -1;
+        private volatile ScheduledFuture<?> timeoutFuture = null;
+
+        private ShellTask(@NonNull String command, boolean isAsync, @Nullable IExecListener iExecListener) {
+            this(command, isAsync, iExecListener, null, 0);
+        }
+
+        private ShellTask(@NonNull String command, boolean isAsync, @Nullable IExecListener iExecListener,
+                          @Nullable ShellStream stream, long timeout) {
+            this.command = command;
+            this.isAsync = isAsync;
+            this.iExecListener = iExecListener;
+            this.stream = stream;
+            this.timeout = timeout;
+            // 调用方取消 Future 时终止正在执行的命令
+            future.whenComplete((result, throwable) -> {
+                if (throwable instanceof CancellationException) {
+                    isDone.set(true);
+                    if (this.stream != null) this.stream.finish(null);
+                    terminate();
+                }
+            });
+        }
+
+        private void complete(@Nullable ShellResult result) {
+            if (!isDone.compareAndSet(false, true)) return;
+
+            cancelTimeout();
+            if (stream != null) stream.finish(result == null ? null : result.exitCode());
+            if (result != null) callbackListener(result);
+            future.complete(result);
+        }
+
+        private void fail(@NonNull Throwable throwable) {
+            if (!isDone.compareAndSet(false, true)) return;
+
+            cancelTimeout();
+            if (stream != null) stream.finish(null);
+            if (isAsync)
+                AndroidLog.logE(TAG, "Error executing async shell command: " + command, throwable);
+            future.completeExceptionally(throwable);
+        }
+
+        private void onWritten(@NonNull Session session, @NonNull StreamThread streamThread, long seq) {
+            this.session = session;
+            this.streamThread = streamThread;
+            this.seq = seq;
+        }
+
+        /**
+         * 任务成为会话中第一个未完成的任务，即 Shell 开始执行该命令时调用。
+         * <p>
+         * 超时从此刻开始计时；若任务在等待期间已被取消，则立即终止。
+         */
+        private void onStarted() {
+            if (!isStarted.compareAndSet(false, true)) return;
+
+            if (isDone.get()) {
+                terminate();
+                return;
+            }
+            if (timeout > 0)
+                timeoutFuture = timer.schedule(this::onTimeout, timeout, TimeUnit.MILLISECONDS);
+        }
+
+        private void onTimeout() {
+            if (isDone.get()) return;
+
+            AndroidLog.logW(TAG, "Shell command timed out after " + timeout + "ms: " + command);
+            fail(new TimeoutException("Shell command timed out after " + timeout + "ms: " + command));
+            terminate();
+        }
+
+        /**
+         * 终止已开始执行的命令；尚未开始的命令会在开始时再终止。
+         */
+        private void terminate() {
+            Session session = this.session;
+            if (session == null || !isStarted.get()) return;
+            if (!isTerminated.compareAndSet(false, true)) return;
+
+            session.terminate(this);
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> scheduledFuture = timeoutFuture;
+            if (scheduledFuture != null) scheduledFuture.cancel(false);
+        }
+
+        private void callbackListener(@NonNull ShellResult result) {
+            IExecListener listener = isAsync ? iExecListener : iGlobalExecListeners;
+            if (listener == null) return;
+
+            try {
+                if (result.isSuccess()) listener.output(result.command(), result.exitCode(), result.outputs());
+                else listener.error(result.command(), result.exitCode(), result.errors());
+            } catch (Throwable e) {
+                AndroidLog.logE(TAG, "Error during callback!!", e);
+            }
+        }
+    }
+
+    /**
+     * 同一模式下的 Shell 会话池。
+     * <p>
+     * 新任务总是投递给负载（排队与执行中的任务数）最低的会话，负载相同时优先选择已启动的会话。
+     * 持有池锁期间只调用会话的无锁方法，单个会话因写入或关闭进程而长时间持有自身的锁时不会阻塞调度。
+     */
+    private static final class ShellPool {
+        private final boolean isRoot;
+        private volatile Session[] sessions;
+
+        private ShellPool(boolean isRoot, int size) {
+            this.isRoot = isRoot;
+            this.sessions = createSessions(size, 0);
+        }
+
         @NonNull
-        private final InputStream input;
+        private Session[] createSessions(int size, int from) {
+            Session[] created = new Session[size];
+            for (int i = from; i < size; i++) {
+                created[i] = new Session(isRoot, i);
+            }
+            return created;
+        }
+
+        private void start() {
+            for (Session session : sessions) {
+                session.ensureStarted();
+            }
+        }
+
+        private void dispatch(@NonNull ShellTask task) {
+            dispatchAll(List.of(task));
+        }
+
+        /**
+         * 将一组任务整体投递到负载最低的同一个会话，它们会按顺序在同一次写入中发送。
+         *
+         * @param tasks 任务列表
+         */
+        private synchronized void dispatchAll(@NonNull List<ShellTask> tasks) {
+            Session target = null;
+            int minScore = Integer.MAX_VALUE;
+            for (Session session : sessions) {
+                int score = session.load.get() * 2 + (session.isLive() ? 0 : 1);
+                if (score < minScore) {
+                    minScore = score;
+                    target = session;
+                }
+            }
+            assert target != null;
+            target.enqueue(tasks);
+        }
+
+        private void resize(int size) {
+            Session[] current;
+            synchronized (this) {
+                current = sessions;
+                if (current.length == size) return;
+
+                Session[] resized = createSessions(size, Math.min(size, current.length));
+                System.arraycopy(current, 0, resized, 0, Math.min(size, current.length));
+                sessions = resized;
+            }
+            // 在池锁之外退役，避免被会话的关闭流程阻塞调度
+            for (int i = size; i < current.length; i++) {
+                current[i].retire();
+            }
+        }
+
+        private boolean isActive() {
+            for (Session session : sessions) {
+                if (session.isLive()) return true;
+            }
+            return false;
+        }
+
+        private void close() {
+            Session[] current;
+            synchronized (this) {
+                current = sessions;
+                sessions = createSessions(current.length, 0);
+            }
+            for (Session session : current) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * 单个持久化 Shell 会话。
+     * <p>
+     * 负责管理一个 Shell 进程的完整生命周期，包括进程启动、命令写入以及结果的分发。
+     * 每个会话拥有独立的工作队列和工作线程：工作线程每次取出队列中的全部命令，为每条命令分配
+     * 递增的序号并写入带序号的结束标记，然后一次性刷新到 Shell，不等待上一条命令返回；
+     * 结果由读取线程按序号交还给对应的任务。命令的标准输入被重定向到 {@code /dev/null}，
+     * 避免其读走后续写入的命令。
+     * <p>
+     * 命令超时或被取消时，会话会结束该 Shell 进程下的所有子进程，命令随即返回而会话保持可用；
+     * 若宽限期 {@link #KILL_GRACE_PERIOD} 内命令仍未结束（例如在 Shell 内部死循环），则重启会话，
+     * 排在其后尚未开始执行的命令会被重新排队。
+     * <p>
+     * 队列空闲超过 {@link #HEALTH_CHECK_INTERVAL} 时会发送探测命令，若上一次的探测命令直到下一次检查仍未返回，
+     * 则认为进程已失去响应并将其关闭，下一条命令到来时自动重启。
+     */
+    private static final class Session {
+        private static final List<ShellTask> STOP = List.of(new ShellTask("", true, null));
+        private static final long STOP_POLL_INTERVAL = 100L; // ms
+        private final boolean isRoot;
         @NonNull
-        private final InputStream error;
-        private volatile boolean isAbnormalExit = false;
+        private final String name;
+        // 每个元素是一次加入的全部任务，工作线程整体取出，无需加锁即可保证它们在同一批中写入
+        private final LinkedBlockingDeque<List<ShellTask>> queue = new LinkedBlockingDeque<>();
+        private final AtomicInteger load = new AtomicInteger();
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicReference<Thread> worker = new AtomicReference<>();
+        private volatile boolean isRetired = false;
+        private volatile boolean isClosed = false;
+        private Process process = null;
+        // volatile 以便调度时不获取会话锁即可判断存活状态
+        private volatile StreamThread streamThread = null;
+        private DataOutputStream os = null;
+        private ShellTask probeTask = null;
+
+        private Session(boolean isRoot, int index) {
+            this.isRoot = isRoot;
+            this.name = (isRoot ? "su" : "sh") + "-" + index;
+        }
+
+        /**
+         * 将任务加入工作队列，同一次加入的任务保证在同一批中写入。
+         * <p>
+         * 不获取会话锁，调度线程不会被正在写入或关闭进程的会话阻塞。
+         *
+         * @param tasks 任务列表
+         */
+        private void enqueue(@NonNull List<ShellTask> tasks) {
+            if (isRetired) {
+                failAll(tasks);
+                return;
+            }
+
+            for (ShellTask task : tasks) {
+                load.incrementAndGet();
+                task.future.whenComplete((result, throwable) -> load.decrementAndGet());
+            }
+            queue.offer(tasks);
+            ensureWorker();
+            // 与退役并发时，工作线程可能已经退出，任务仍在队列中则由这里结束
+            if (isRetired && queue.remove(tasks)) failAll(tasks);
+        }
+
+        private void ensureWorker() {
+            if (worker.get() != null) return;
+
+            Thread thread = new Thread(this::loop, "ShellTool-" + name);
+            thread.setDaemon(true);
+            if (worker.compareAndSet(null, thread)) thread.start();
+        }
+
+        private void failAll(@NonNull List<ShellTask> tasks) {
+            for (ShellTask task : tasks) {
+                task.fail(new UnexpectedException("Shell session " + name + " is closed."));
+            }
+        }
+
+        private void loop() {
+            ArrayList<ShellTask> batch = new ArrayList<>();
+            ArrayList<List<ShellTask>> drained = new ArrayList<>();
+            boolean isStopping = false;
+            try {
+                while (!isClosed) {
+                    List<ShellTask> tasks = queue.poll(isStopping ? STOP_POLL_INTERVAL : HEALTH_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (tasks == null) {
+                        if (!isStopping) healthCheck();
+                        else if (isIdle()) break;
+                        continue;
+                    }
 
-        private StreamThread(@NonNull ShellImpl shellImpl, @NonNull InputStream inputStream, @NonNull InputStream errorStream) {
-            this.shellImpl = shellImpl;
-            input = inputStream;
-            error = errorStream;
-        }
-
-        private void run() {
-            outputFuture = outputService.submit(
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        try (BufferedReader br = new BufferedReader(new InputStreamReader(input))) {
-                            String line;
-                            while ((line = br.readLine()) != null) {
-                                if (filterContent(line, SHELL_ID_OUTPUT)) {
-                                    continue;
-                                }
-
-                                outputList.add(line);
-                            }
-                        } catch (Throwable e) {
-                            AndroidLog.logE(TAG, "Error reading shell standard output stream!!", e);
+                    drained.add(tasks);
+                    queue.drainTo(drained);
+                    for (List<ShellTask> queued : drained) {
+                        if (queued == STOP) isStopping = true;
+                        else batch.addAll(queued);
+                    }
+                    drained.clear();
+                    // 排队期间已被取消的命令无需执行
+                    batch.removeIf(queued -> queued.isDone.get());
+                    try {
+                        if (!batch.isEmpty()) write(batch);
+                    } catch (Throwable e) {
+                        for (ShellTask failed : batch) {
+                            failed.fail(e);
                         }
+                    } finally {
+                        batch.clear();
                     }
                 }
-            );
+            } catch (InterruptedException ignore) {
+            } finally {
+                // 清除关闭时设置的中断标记，保证进程能正常退出
+                Thread.interrupted();
+                List<ShellTask> tasks;
+                while ((tasks = queue.poll()) != null) {
+                    if (tasks != STOP) failAll(tasks);
+                }
+                closeProcess(false);
+            }
+        }
 
-            errorFuture = errorService.submit(
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        try (BufferedReader br = new BufferedReader(new InputStreamReader(error))) {
-                            String line;
-                            while ((line = br.readLine()) != null) {
-                                if (filterContent(line, SHELL_ID_ERROR)) {
-                                    continue;
-                                }
-
-                                errorList.add(line);
-                            }
-
-                            // Shell 管道异常破裂
-                            if (!errorList.isEmpty()) {
-                                isAbnormalExit = true;
-
-                                onBrokenPip();
-                                shellImpl.close();
-                                shellImpl.init();
-                            }
-                        } catch (Throwable e) {
-                            AndroidLog.logE(TAG, "Error reading shell standard error stream!!", e);
-                        }
+        private synchronized void ensureStarted() {
+            if (isActive()) return;
+            if (process != null || streamThread != null) closeProcess(false);
+
+            try {
+                process = Runtime.getRuntime().exec(isRoot ? shellCommands[0] : shellCommands[1]);
+                os = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+
+                StreamThread stream = new StreamThread(this, process);
+                streamThread = stream;
+                stream.run(name);
+
+                // 记录 Shell 自身的 PID，用于超时后结束其子进程
+                ShellTask pidTask = new ShellTask("echo $$", true, null);
+                pidTask.future.thenAccept(result -> {
+                    if (result == null || result.outputs().length == 0) return;
+
+                    stream.shellPid = result.outputs()[0].trim();
+                    // Root Shell 能正常响应即说明已获得授权
+                    if (isRoot) setRootState(RootState.GRANTED);
+                });
+                write(List.of(pidTask));
+            } catch (IOException e) {
+                throw new UnexpectedException("Error initializing shell stream.", e);
+            }
+        }
+
+        /**
+         * 将一批命令连同各自的结束标记写入 Shell，并只刷新一次。
+         *
+         * @param tasks 待写入的任务
+         */
+        private synchronized void write(@NonNull List<ShellTask> tasks) {
+            ensureStarted();
+
+            StreamThread stream = streamThread;
+            Map<String, String> current = scripts;
+            if (stream.scripts != current) {
+                ArrayList<ShellTask> installing = new ArrayList<>(scriptInstallTasks(stream.scripts, current));
+                installing.addAll(tasks);
+                tasks = installing;
+                stream.scripts = current;
+            }
+            for (ShellTask task : tasks) {
+                long seq = sequence.incrementAndGet();
+                task.onWritten(this, stream, seq);
+                stream.inFlightTasks.put(seq, task);
+            }
+            stream.startHeadTask();
+
+            try {
+                for (ShellTask task : tasks) {
+                    writeLine("{");
+                    for (String cmd : task.command.split("\n")) {
+                        writeLine(cmd);
                     }
+                    writeLine("} < /dev/null");
+                    writeLine(String.format(
+                        "__RET=$?; echo %1$s,$__RET,%2$d; echo %1$s,$__RET,%2$d 1>&2; unset __RET",
+                        END_UUID, task.seq
+                    ));
                 }
-            );
+                os.flush();
+            } catch (IOException e) {
+                AndroidLog.logE(TAG, "Error writing data to shell stream!!", e);
+                closeProcess(false);
+            }
+
+            // 进程可能在写入前就已退出，此时不会再有结束标记到达
+            if (!stream.isActive()) stream.abortInFlightTasks();
         }
 
-        private boolean isAbnormalExit() {
-            return isAbnormalExit;
+        private void writeLine(@NonNull String line) throws IOException {
+            os.write(line.getBytes(StandardCharsets.UTF_8));
+            os.write(LINE_BREAK);
         }
 
-        @Nullable
-        private ShellResult getResult() {
-            return shellResult;
+        /**
+         * 读取线程发现管道破裂时调用，会话已重启过时忽略。
+         *
+         * @param stream 发现破裂的读取线程
+         */
+        private synchronized void onBroken(@NonNull StreamThread stream) {
+            if (streamThread == stream) closeProcess(false);
         }
 
-        private boolean isActive() {
-            if (outputFuture == null || errorFuture == null) return false;
-            return !outputFuture.isDone() && !errorFuture.isDone() && !isAbnormalExit;
+        private synchronized boolean isIdle() {
+            return streamThread == null || streamThread.inFlightTasks.isEmpty();
         }
 
         /**
-         * 过滤并处理输出流中的命令结束标记行。
-         * <p>
-         * 当检测到以 UUID 开头的行时，表示一条命令的输出已结束。通过 hashCode 匹配同步/异步命令，
-         * 等待标准输出和错误输出均到达后组装结果并唤醒等待线程。
+         * 终止正在执行的命令：结束 Shell 的全部子进程，宽限期后命令仍未结束则重启会话。
          *
-         * @param content 当前读取的行内容
-         * @param id      输出流标识（{@code 0} = 标准输出，{@code 1} = 错误输出）
-         * @return 是结束标记行返回 {@code true}（已处理，不应加入输出列表）
+         * @param task 超时或被取消的任务
          */
-        private boolean filterContent(@NonNull String content, int id) {
-            synchronized (lock) {
-                if (!content.startsWith(END_UUID)) return false;
+        private void terminate(@NonNull ShellTask task) {
+            StreamThread stream = task.streamThread;
+            long seq = task.seq;
+            if (stream == null || !stream.inFlightTasks.containsKey(seq)) return;
+
+            killer.execute(() -> {
+                String pid = stream.shellPid;
+                if (pid != null) killProcessTree(pid, false);
+            });
+            timer.schedule(() -> {
+                if (stream.inFlightTasks.containsKey(seq)) killer.execute(() -> restart(stream, seq));
+            }, KILL_GRACE_PERIOD, TimeUnit.MILLISECONDS);
+        }
 
-                String[] split = content.split(",");
-                String hashCode = split[2].trim();
-                if (shellDataMap.get(hashCode) == null) {
-                    ShellData shellData = new ShellData();
-                    shellData.exitCode = split[1].trim();
-                    shellData.isAsyncCommand = split.length == 4;
-                    shellData.command = shellData.isAsyncCommand ?
-                        Objects.requireNonNull(shellAsyncMap.get(hashCode)).first :
-                        shellSyncMap.get(hashCode);
-                    shellData.iExecListener = shellData.isAsyncCommand ?
-                        Objects.requireNonNull(shellAsyncMap.get(hashCode)).second :
-                        null;
-                    if (id == SHELL_ID_OUTPUT) {
-                        shellData.isOutputDone = true;
-                        shellData.outputs = toArray(outputList);
-                        outputList.clear();
-                    }
-                    if (id == SHELL_ID_ERROR) {
-                        shellData.isErrorDone = true;
-                        shellData.errors = toArray(errorList);
-                        errorList.clear();
-                    }
-                    shellDataMap.put(hashCode, shellData);
+        /**
+         * 强制重启无法恢复的会话，排在卡死命令之后、尚未开始执行的命令会被放回队列头部。
+         *
+         * @param stream 卡死时的读取线程，会话已重启过时忽略
+         * @param seq    卡死命令的序号
+         */
+        private synchronized void restart(@NonNull StreamThread stream, long seq) {
+            if (streamThread != stream) return;
+
+            AndroidLog.logW(TAG, "Shell session " + name + " did not recover from a terminated command, restarting it.");
+            Map<Long, ShellTask> notStarted = stream.inFlightTasks.tailMap(seq, false);
+            ArrayList<ShellTask> requeue = new ArrayList<>(notStarted.values());
+            notStarted.clear();
+            if (!requeue.isEmpty()) queue.offerFirst(requeue);
+
+            String pid = stream.shellPid;
+            if (pid != null) killProcessTree(pid, true);
+            closeProcess(true);
+        }
 
-                    try {
-                        lock.wait();
-                    } catch (InterruptedException ignore) {
+        private void healthCheck() {
+            ShellTask probe = probeTask;
+            probeTask = null;
+            if (probe != null && !probe.future.isDone()) {
+                AndroidLog.logW(TAG, "Shell session " + name + " failed health check, it will be restarted on next command.");
+                closeProcess(true);
+                return;
+            }
+
+            synchronized (this) {
+                if (process == null) return;
+                if (!isActive()) {
+                    closeProcess(false);
+                    return;
+                }
+                if (!streamThread.inFlightTasks.isEmpty()) return;
+
+                probe = new ShellTask(HEALTH_CHECK_COMMAND, true, null);
+                write(List.of(probe));
+                probeTask = probe;
+            }
+        }
+
+        /**
+         * 停止接收新任务，已排队与执行中的任务完成后工作线程退出并关闭进程。
+         * <p>
+         * 尚未启动工作线程的会话也会启动一个，由它统一完成关闭流程。
+         */
+        private void retire() {
+            isRetired = true;
+            queue.offer(STOP);
+            ensureWorker();
+        }
+
+        /**
+         * 立即关闭会话，尚未执行的任务以异常结束，执行中的任务以 {@code null} 结束。
+         */
+        private void close() {
+            isRetired = true;
+            isClosed = true;
+            Thread thread = worker.get();
+            if (thread != null) thread.interrupt();
+            else closeProcess(false);
+        }
+
+        /**
+         * 关闭 Shell 进程。
+         *
+         * @param force 为 {@code true} 时不等待 Shell 处理 {@code exit}，直接结束进程
+         */
+        private synchronized void closeProcess(boolean force) {
+            if (streamThread != null) streamThread.isClosed = true;
+            try {
+                boolean abnormal = streamThread != null && streamThread.isAbnormalExit();
+                if (!force && (isActive() || abnormal)) {
+                    if (!abnormal) {
+                        try {
+                            writeLine("exit");
+                            os.flush();
+                        } catch (IOException e) {
+                            AndroidLog.logE(TAG, "Error writing data to shell stream!!", e);
+                        }
                     }
-                    return true;
-                } else {
-                    ShellData shellData = shellDataMap.get(hashCode);
-                    assert shellData != null;
-                    if ((shellData.isOutputDone || id == SHELL_ID_OUTPUT) && (shellData.isErrorDone || id == SHELL_ID_ERROR)) {
-                        if (shellData.outputs == null) shellData.outputs = toArray(outputList);
-                        if (shellData.errors == null) shellData.errors = toArray(errorList);
-                        shellData.onShellDone();
-                        shellDataMap.remove(hashCode);
-                        shellSyncMap.remove(hashCode);
-                        shellAsyncMap.remove(hashCode);
-                        outputList.clear();
-                        errorList.clear();
-
-                        lock.notify();
-                        return true;
+
+                    if (process != null) process.waitFor(3, TimeUnit.SECONDS);
+
+                    if (os != null && !abnormal) {
+                        try {
+                            os.close();
+                        } catch (IOException e) {
+                            AndroidLog.logE(TAG, "Error closing OS!!", e);
+                        }
                     }
                 }
+            } catch (InterruptedException e) {
+                AndroidLog.logE(TAG, "Error closing shell stream!!", e);
+            } finally {
+                // 先停止读取线程，销毁进程会关闭其输出流
+                if (streamThread != null)
+                    streamThread.close();
+                if (process != null)
+                    process.destroy();
+
+                streamThread = null;
+                process = null;
+                os = null;
             }
+        }
 
-            return false;
+        private synchronized boolean isActive() {
+            if (streamThread == null || process == null) return false;
+            return streamThread.isActive() && process.isAlive();
+        }
+
+        /**
+         * 不获取会话锁判断会话是否存活。
+         * <p>
+         * 会话可能因等待进程退出或写入阻塞而长时间持有锁，调度与状态查询使用该方法，
+         * 避免单个卡住的会话拖慢整个会话池。
+         */
+        private boolean isLive() {
+            StreamThread stream = streamThread;
+            return stream != null && stream.isActive() && stream.process.isAlive();
+        }
+
+        /**
+         * 以当前会话的权限结束指定进程的全部子孙进程。
+         *
+         * @param pid         进程 PID
+         * @param includeSelf 是否同时结束该进程本身
+         */
+        private void killProcessTree(@NonNull String pid, boolean includeSelf) {
+            String script = "k() { for c in $(pgrep -P $1); do k $c; done; kill -9 $1 2>/dev/null; }; " +
+                (includeSelf ? "k " + pid : "for c in $(pgrep -P " + pid + "); do k $c; done");
+            String shell = isRoot ? shellCommands[0] : shellCommands[1];
+            ArrayList<String> commands = new ArrayList<>(List.of(shell.trim().split("\\s+")));
+            commands.add("-c");
+            commands.add(script);
+
+            Process killer = null;
+            try {
+                killer = new ProcessBuilder(commands).redirectErrorStream(true).start();
+                killer.getOutputStream().close();
+                if (!killer.waitFor(KILL_GRACE_PERIOD, TimeUnit.MILLISECONDS))
+                    AndroidLog.logW(TAG, "Timed out killing process tree of " + pid + " in shell session " + name);
+            } catch (IOException | InterruptedException e) {
+                AndroidLog.logE(TAG, "Error killing process tree of " + pid + " in shell session " + name + "!!", e);
+            } finally {
+                if (killer != null) killer.destroy();
+            }
+        }
+    }
+
+    /**
+     * Shell 标准输出和错误输出的读取线程管理类。
+     * <p>
+     * 标准输出与错误输出各由一个线程阻塞读取，利用 UUID 与序号组成的结束标记识别命令边界。
+     * 两个流各自独立收集每条命令的输出，同一序号的两半结果都到达后组装为 {@link ShellResult} 并交还给对应的任务，
+     * 因此多条命令可以连续写入而不必逐条等待。没有输出时读取线程阻塞在管道上，不会定时唤醒。
+     * <p>
+     * 标准输出读取线程在两个流都读到末尾后才结算会话状态，进程退出前写入管道的数据不会丢失。
+     * <p>
+     * 曾尝试在启动脚本中把错误输出加上前缀并入标准输出，由单个线程读取。但错误输出须经 shell 的
+     * {@code read} 循环逐字节转发，多出一次进程唤醒，小命令的 p50 延迟由约 40us 升至约 60us，
+     * 吞吐下降约三成，比多一个阻塞读取线程的代价更高，因此保留两个读取线程。
+     */
+    private static final class StreamThread {
+        private static final int SHELL_ID_OUTPUT = 0;
+        private static final int SHELL_ID_ERROR = 1;
+        private final ConcurrentSkipListMap<Long, ShellTask> inFlightTasks = new ConcurrentSkipListMap<>();
+        // 两个读取线程共享，访问时需持有其自身的锁
+        private final HashMap<Long, ShellData> shellDataMap = new HashMap<>();
+        private final LineReader output;
+        private final LineReader error;
+        @NonNull
+        private final Session session;
+        @NonNull
+        private final Process process;
+        private Thread reader = null;
+        private Thread errorReader = null;
+        private volatile String shellPid = null;
+        // 已安装到该 Shell 进程中的脚本，只在持有会话锁时访问
+        private Map<String, String> scripts = Collections.emptyMap();
+        private volatile boolean isClosed = false;
+        private volatile boolean isEnded = false;
+        private volatile boolean isAbnormalExit = false;
+
+        private StreamThread(@NonNull Session session, @NonNull Process process) {
+            this.session = session;
+            this.process = process;
+            this.output = new LineReader(process.getInputStream(), SHELL_ID_OUTPUT);
+            this.error = new LineReader(process.getErrorStream(), SHELL_ID_ERROR);
+        }
+
+        private void run(@NonNull String name) {
+            errorReader = new Thread(this::readError, "ShellTool-" + name + "-stderr");
+            errorReader.setDaemon(true);
+            reader = new Thread(this::loop, "ShellTool-" + name + "-reader");
+            reader.setDaemon(true);
+            errorReader.start();
+            reader.start();
+        }
+
+        private void readError() {
+            try {
+                error.readToEnd();
+            } catch (InterruptedException ignore) {
+            } catch (Throwable e) {
+                if (!isClosed) AndroidLog.logE(TAG, "Error reading shell stream!!", e);
+            }
+        }
+
+        private void loop() {
+            try {
+                output.readToEnd();
+                // 等待错误输出同样读到末尾，以免遗漏结束标记或管道破裂的错误信息
+                errorReader.join();
+
+                // 并非主动关闭的 Root Shell 退出可能意味着授权已被撤销
+                if (!isClosed && session.isRoot) onRootSessionBroken();
+
+                // Shell 管道异常破裂，会话将在下一条命令到来时重启
+                if (!error.lines.isEmpty()) {
+                    isAbnormalExit = true;
+
+                    onBrokenPip();
+                    session.onBroken(this);
+                }
+            } catch (InterruptedException ignore) {
+            } catch (Throwable e) {
+                if (!isClosed) AndroidLog.logE(TAG, "Error reading shell stream!!", e);
+            } finally {
+                isEnded = true;
+                abortInFlightTasks();
+            }
+        }
+
+        /**
+         * 开始计算首个未完成任务的执行时间，在写入命令后及每条命令完成后调用。
+         */
+        private void startHeadTask() {
+            Map.Entry<Long, ShellTask> head = inFlightTasks.firstEntry();
+            if (head != null) head.getValue().onStarted();
+        }
+
+        /**
+         * 读取流结束（进程退出）时以 {@code null} 结束所有仍在等待结束标记的任务。
+         */
+        private void abortInFlightTasks() {
+            for (Long seq : inFlightTasks.keySet()) {
+                ShellTask task = inFlightTasks.remove(seq);
+                if (task != null) task.complete(null);
+            }
+        }
+
+        private boolean isAbnormalExit() {
+            return isAbnormalExit;
+        }
+
+        private boolean isActive() {
+            return reader != null && !isEnded && !isAbnormalExit;
+        }
+
+        /**
+         * 处理输出流中的命令结束标记行。
+         * <p>
+         * 结束标记表示对应序号命令在该流上的输出已结束，取走该流已收集的内容；
+         * 当同一序号在标准输出和错误输出上均已结束时组装结果并完成对应任务。
+         *
+         * @param content 结束标记行
+         * @param id      输出流标识（{@code 0} = 标准输出，{@code 1} = 错误输出）
+         * @param list    该流的输出暂存列表
+         * @return 结束标记中的命令序号
+         */
+        private long onEndMarker(@NonNull String content, int id, @NonNull ArrayList<String> list) {
+            String[] split = content.split(",");
+            long seq = Long.parseLong(split[2].trim());
+            String[] lines = toArray(list);
+            list.clear();
+
+            ShellData shellData;
+            synchronized (shellDataMap) {
+                shellData = shellDataMap.remove(seq);
+                if (shellData == null) {
+                    shellData = new ShellData();
+                    shellData.exitCode = split[1].trim();
+                    if (id == SHELL_ID_OUTPUT) shellData.outputs = lines;
+                    else shellData.errors = lines;
+                    shellDataMap.put(seq, shellData);
+                    return seq;
+                }
+
+                if (id == SHELL_ID_OUTPUT) shellData.outputs = lines;
+                else shellData.errors = lines;
+            }
+            ShellTask task = inFlightTasks.remove(seq);
+            if (task != null)
+                task.complete(new ShellResult(task.command, shellData.exitCode, shellData.outputs, shellData.errors));
+            startHeadTask();
+            return seq;
         }
 
         private void onBrokenPip() {
-            if (iGlobalExecListeners == null) return;
+            IExecListener listener = iGlobalExecListeners;
+            if (listener == null) return;
 
             try {
-                iGlobalExecListeners.brokenPip(
+                ArrayList<String> commands = new ArrayList<>();
+                for (ShellTask task : inFlightTasks.values()) {
+                    commands.add(task.command);
+                }
+                listener.brokenPip(
                     "Incorrect shell code causing pipeline rupture!!" +
-                        " Shell code list: sync: " + shellSyncMap.values()
-                        + ", async: " +
-                        shellAsyncMap.values()
-                            .stream()
-                            .map(new Function<Pair<String, IExecListener>, String>() {
-                                @Override
-                                public String apply(Pair<String, IExecListener> p) {
-                                    return p.first;
-                                }
-                            }).collect(Collectors.toCollection(ArrayList::new)),
-                    toArray(errorList)
+                        " Shell code list: " + commands,
+                    toArray(error.lines)
                 );
             } catch (Throwable e) {
                 AndroidLog.logE(TAG, "Error during callback!!", e);
@@ -743,82 +2237,102 @@ public final class ShellTool {
         }
 
         private void close() {
-            if (outputService != null)
-                outputService.shutdownNow();
-            if (errorService != null)
-                errorService.shutdownNow();
-
-            shellAsyncMap.clear();
-            shellSyncMap.clear();
-            shellDataMap.clear();
-            outputList.clear();
-            errorList.clear();
-            shellResult = null;
+            isClosed = true;
+            Thread thread = reader;
+            if (thread != null && thread != Thread.currentThread()) thread.interrupt();
+            thread = errorReader;
+            if (thread != null && thread != Thread.currentThread()) thread.interrupt();
+
+            abortInFlightTasks();
             isAbnormalExit = false;
         }
 
         /**
-         * 单条命令的执行数据封装类。
+         * 单个流的行读取器。
          * <p>
-         * 包含命令文本、退出码、标准输出和错误输出内容，以及命令完成后的结果组装与回调处理逻辑。
+         * 阻塞读取流中的字节并按换行符切分为行，不完整的行保留到下一次读取。
+         * 两个流的输出顺序与命令写入顺序一致，因此当前行属于序号大于该流上一个结束标记的第一个未完成任务；
+         * 流式任务的输出直接交给其 {@link ShellStream}，其余任务的输出暂存到 {@link #lines} 中。
          */
-        private final class ShellData {
-            private boolean isAsyncCommand = false;
-            private boolean isOutputDone = false;
-            private boolean isErrorDone = false;
-            private String command = null;
-            private String exitCode = "-1";
-            private String[] outputs = null;
-            private String[] errors = null;
-            private IExecListener iExecListener;
-
-            private void onShellDone() {
-                createResult();
-                callbackSyncListener();
-                callbackAsyncListenerIfNeed();
-                notifyImpl();
+        private final class LineReader {
+            @NonNull
+            private final InputStream inputStream;
+            private final int id;
+            private final ArrayList<String> lines = new ArrayList<>();
+            private byte[] buffer = new byte[8192];
+            private int length = 0;
+            private long lastSeq = 0;
+            private ShellTask current = null;
+
+            private LineReader(@NonNull InputStream inputStream, int id) {
+                this.inputStream = inputStream;
+                this.id = id;
             }
 
-            private void createResult() {
-                shellResult = new ShellResult(command, exitCode, outputs, errors);
+            /**
+             * 持续读取直到流末尾（Shell 进程退出）。
+             */
+            private void readToEnd() throws IOException, InterruptedException {
+                while (true) {
+                    if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    int count = inputStream.read(buffer, length, buffer.length - length);
+                    if (count < 0) break;
+
+                    int start = 0;
+                    int end = length + count;
+                    for (int i = length; i < end; i++) {
+                        if (buffer[i] != '\n') continue;
+
+                        int lineEnd = i > start && buffer[i - 1] == '\r' ? i - 1 : i;
+                        onLine(new String(buffer, start, lineEnd - start, StandardCharsets.UTF_8));
+                        start = i + 1;
+                    }
+                    length = end - start;
+                    System.arraycopy(buffer, start, buffer, 0, length);
+                }
+                finish();
             }
 
-            private void callbackSyncListener() {
-                if (isAsyncCommand) return;
-                if (iGlobalExecListeners == null) return;
-
-                try {
-                    if ("0".equals(exitCode))
-                        iGlobalExecListeners.output(command, exitCode, outputs);
-                    else iGlobalExecListeners.error(command, exitCode, errors);
-                } catch (Throwable e) {
-                    AndroidLog.logE(TAG, "Error during callback!!", e);
+            /**
+             * 流结束后处理残留的不完整行。
+             */
+            private void finish() throws InterruptedException {
+                if (length > 0) {
+                    onLine(new String(buffer, 0, length, StandardCharsets.UTF_8));
+                    length = 0;
                 }
             }
 
-            private void notifyImpl() {
-                if (isAsyncCommand) return;
-
-                synchronized (shellImpl) {
-                    try {
-                        shellImpl.resultReady = true;
-                        shellImpl.notify();
-                    } catch (IllegalMonitorStateException ignore) {
-                    }
+            private void onLine(@NonNull String line) throws InterruptedException {
+                int marker = line.indexOf(END_UUID);
+                if (marker >= 0) {
+                    // 被终止的命令可能留下没有换行的半行输出，结束标记紧随其后
+                    if (marker > 0) onOutput(line.substring(0, marker));
+                    lastSeq = onEndMarker(line.substring(marker), id, lines);
+                    current = null;
+                    return;
                 }
+                onOutput(line);
             }
 
-            private void callbackAsyncListenerIfNeed() {
-                if (!isAsyncCommand) return;
-                if (iExecListener != null) {
-                    try {
-                        if ("0".equals(exitCode)) iExecListener.output(command, exitCode, outputs);
-                        else iExecListener.error(command, exitCode, errors);
-                    } catch (Throwable e) {
-                        AndroidLog.logE(TAG, "Error during callback!!", e);
-                    }
+            private void onOutput(@NonNull String line) throws InterruptedException {
+
+                if (current == null) {
+                    Map.Entry<Long, ShellTask> entry = inFlightTasks.higherEntry(lastSeq);
+                    if (entry != null) current = entry.getValue();
                 }
+                if (current != null && current.stream != null) current.stream.put(line, id == SHELL_ID_ERROR);
+                else lines.add(line);
             }
         }
+
+        /**
+         * 单条命令先到达的一半执行数据，等待另一个流的结束标记。
+         */
+        private static final class ShellData {
+            private String exitCode = "-1";
+            private String[] outputs = null;
+            private String[] errors = null;
+        }
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool;
+
+import androidx.annotation.NonNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import io.github.libxposed.api.XposedInterface;
+import io.github.libxposed.api.XposedInterfaceWrapper;
+
+/**
+ * 本地 JVM 测试使用的 {@link ModuleData} 桩。
+ * <p>
+ * 向 {@link ModuleData} 注入一个最小的 {@link XposedInterface} 实现，
+ * 仅支持 {@code getApiVersion} 与 {@code getInvoker}，调用器直接转发到反射调用；
+ * 其余框架能力在测试中不可用，调用时抛出 {@link UnsupportedOperationException}。
+ *
+ * @author 焕晨HChen
+ */
+public final class ModuleDataStub {
+    private static final int API_VERSION = 102;
+
+    private ModuleDataStub() {
+    }
+
+    /**
+     * 安装桩实现，使 {@link ModuleData#getWrapper()} 在测试进程中可用。
+     */
+    public static synchronized void install() {
+        if (ModuleData.isXposedEnvironment()) return;
+
+        XposedInterfaceWrapper wrapper = new XposedInterfaceWrapper();
+        wrapper.attachFramework(proxy(XposedInterface.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getApiVersion" -> API_VERSION;
+            case "getInvoker" -> invoker(args[0]);
+            default -> unsupported(proxy, method, args);
+        }));
+        ModuleData.setWrapper(wrapper);
+        ModuleData.setXposedEnvironment(true);
+    }
+
+    @NonNull
+    private static Object invoker(@NonNull Object executable) {
+        if (executable instanceof Constructor<?> constructor) {
+            constructor.setAccessible(true);
+            return proxy(XposedInterface.CtorInvoker.class, (proxy, method, args) -> switch (method.getName()) {
+                case "newInstance" -> constructor.newInstance((Object[]) args[0]);
+                case "setType" -> proxy;
+                default -> unsupported(proxy, method, args);
+            });
+        }
+
+        Method target = (Method) executable;
+        target.setAccessible(true);
+        return proxy(XposedInterface.Invoker.class, (proxy, method, args) -> switch (method.getName()) {
+            case "invoke", "invokeSpecial" -> target.invoke(args[0], (Object[]) args[1]);
+            case "setType" -> proxy;
+            default -> unsupported(proxy, method, args);
+        });
+    }
+
+    @NonNull
+    private static <T> T proxy(@NonNull Class<T> type, @NonNull InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(ModuleDataStub.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object unsupported(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "ModuleDataStub@" + Integer.toHexString(System.identityHashCode(proxy));
+            default -> throw new UnsupportedOperationException(method.getName() + " is not available in local tests");
+        };
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper;
+
+import static org.junit.Assume.assumeTrue;
+
+import androidx.annotation.NonNull;
+
+import com.hchen.hooktool.ModuleDataStub;
+import com.hchen.hooktool.core.CoreTool;
+import com.hchen.hooktool.utils.InvokeTool;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 反射工具的 JMH 基准。
+ * <p>
+ * 覆盖 {@link InvokeTool}、{@link CoreHelper} 与 {@link CoreTool} 的方法调用、字段读写与实例创建，
+ * 每项分为两种状态，并分别以 1 线程与 8 线程运行：
+ * <ul>
+ *     <li>warm：目标类已被各级缓存记录，测量稳态下每次调用的平均耗时。</li>
+ *     <li>cold：每次调用前加载目标类的全新副本，任何缓存都未见过它，测量首次查找的耗时。
+ *     {@link InvokeTool} 以类名为缓存键，同名副本会命中彼此的缓存，因此其冷路径改为清空缓存后访问原类。</li>
+ * </ul>
+ * {@code ModuleData} 由 {@link ModuleDataStub} 提供，{@code android.util.Log} 依赖单元测试的默认返回值。
+ * <p>
+ * 基准耗时较长，默认跳过，需显式开启：
+ * <pre>{@code
+ * ./gradlew :tool:testDebugUnitTest -Phooktool.benchmark=true --tests '*ReflectionBenchmark'
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ */
+public class ReflectionBenchmark {
+    private static final int[] THREADS = {1, 8};
+    private static final Class<?>[] ADD_TYPES = {int.class, int.class};
+
+    @BeforeClass
+    public static void checkEnabled() {
+        assumeTrue("benchmark disabled, pass -Phooktool.benchmark=true", Boolean.getBoolean("hooktool.benchmark"));
+    }
+
+    @Test
+    public void run() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int threads : THREADS) {
+            collect(lines, threads, new OptionsBuilder()
+                .include(ReflectionBenchmark.class.getName() + "\\.warm")
+                .mode(Mode.AverageTime)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1)));
+            collect(lines, threads, new OptionsBuilder()
+                .include(ReflectionBenchmark.class.getName() + "\\.cold")
+                .mode(Mode.SingleShotTime)
+                .warmupIterations(100)
+                .measurementIterations(1000));
+        }
+        lines.forEach(System.out::println);
+    }
+
+    private static void collect(List<String> lines, int threads, ChainedOptionsBuilder options) throws Exception {
+        options.threads(threads)
+            .forks(1)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .shouldFailOnError(true);
+        for (RunResult result : new Runner(options.build()).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            lines.add(String.format(Locale.ROOT, "[Reflection] %-32s %d thread(s) %12.1f +- %.1f %s",
+                benchmark.substring(benchmark.lastIndexOf('.') + 1), threads,
+                result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreError(),
+                result.getPrimaryResult().getScoreUnit()));
+        }
+    }
+
+    /**
+     * 稳态：所有线程共享已加载的目标类，预热阶段即完成缓存填充。
+     */
+    @State(Scope.Thread)
+    public static class Warm {
+        Object target;
+        Class<?> type;
+        Method add;
+
+        @Setup(Level.Trial)
+        public void setUp() throws ReflectiveOperationException {
+            ModuleDataStub.install();
+            target = new ReflectionTarget(1);
+            type = ReflectionTarget.class;
+            add = type.getMethod("add", ADD_TYPES);
+        }
+    }
+
+    /**
+     * 冷路径：每次调用前准备一份任何缓存都未见过的目标。
+     */
+    @State(Scope.Thread)
+    public static class Cold {
+        private static final Map<?, ?>[] INVOKE_TOOL_CACHES = {
+            staticField(InvokeTool.class, "mMethodCache"),
+            staticField(InvokeTool.class, "mFieldCache")
+        };
+
+        Object target;
+        Class<?> type;
+        Object sharedTarget;
+
+        @Setup(Level.Trial)
+        public void install() {
+            ModuleDataStub.install();
+            sharedTarget = new ReflectionTarget(1);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp() throws ReflectiveOperationException {
+            type = new IsolatingClassLoader().loadClass(ReflectionTarget.class.getName());
+            target = type.getConstructor(int.class).newInstance(1);
+            for (Map<?, ?> cache : INVOKE_TOOL_CACHES) {
+                cache.clear();
+            }
+        }
+
+        @NonNull
+        private static Map<?, ?> staticField(@NonNull Class<?> clazz, @NonNull String name) {
+            try {
+                Field field = clazz.getDeclaredField(name);
+                field.setAccessible(true);
+                return (Map<?, ?>) Objects.requireNonNull(field.get(null));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 每个实例都重新定义一份 {@link ReflectionTarget}，其余类交给父加载器。
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+        private static final String TARGET = ReflectionTarget.class.getName();
+        private static final byte[] BYTES = readTargetBytes();
+
+        IsolatingClassLoader() {
+            super(ReflectionBenchmark.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!TARGET.equals(name)) return super.loadClass(name, resolve);
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    clazz = defineClass(name, BYTES, 0, BYTES.length);
+                }
+                return clazz;
+            }
+        }
+
+        @NonNull
+        private static byte[] readTargetBytes() {
+            try (InputStream in = ReflectionTarget.class.getResourceAsStream(ReflectionTarget.class.getSimpleName() + ".class")) {
+                return Objects.requireNonNull(in).readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ------------------------------- warm -----------------------------------
+    @Benchmark
+    public Object warmReflectionBaseline(Warm state) throws ReflectiveOperationException {
+        return state.add.invoke(state.target, 1, 2);
+    }
+
+    @Benchmark
+    public Object warmInvokeToolCallMethod(Warm state) {
+        return InvokeTool.callMethod(state.target, "add", ADD_TYPES, 1, 2);
+    }
+
+    @Benchmark
+    public Object warmInvokeToolGetField(Warm state) {
+        return InvokeTool.getField(state.target, "value");
+    }
+
+    @Benchmark
+    public void warmInvokeToolSetField(Warm state) {
+        InvokeTool.setField(state.target, "value", 1);
+    }
+
+    @Benchmark
+    public Object warmCoreHelperCallMethod(Warm state) {
+        return CoreHelper.callMethod(state.target, "add", 1, 2);
+    }
+
+    @Benchmark
+    public Object warmCoreToolCallMethodIfExists(Warm state) {
+        return CoreTool.callMethodIfExists(state.target, "add", ADD_TYPES, 1, 2);
+    }
+
+    @Benchmark
+    public Object warmCoreToolGetField(Warm state) {
+        return CoreTool.getField(state.target, "value");
+    }
+
+    @Benchmark
+    public void warmCoreToolSetField(Warm state) {
+        CoreTool.setField(state.target, "value", 1);
+    }
+
+    @Benchmark
+    public Object warmCoreToolNewInstance(Warm state) {
+        return CoreTool.newInstance(state.type, 1);
+    }
+
+    // ------------------------------- cold -----------------------------------
+    @Benchmark
+    public Object coldInvokeToolCallMethod(Cold state) {
+        return InvokeTool.callMethod(state.sharedTarget, "add", ADD_TYPES, 1, 2);
+    }
+
+    @Benchmark
+    public Object coldInvokeToolGetField(Cold state) {
+        return InvokeTool.getField(state.sharedTarget, "value");
+    }
+
+    @Benchmark
+    public void coldInvokeToolSetField(Cold state) {
+        InvokeTool.setField(state.sharedTarget, "value", 1);
+    }
+
+    @Benchmark
+    public Object coldCoreHelperCallMethod(Cold state) {
+        return CoreHelper.callMethod(state.target, "add", 1, 2);
+    }
+
+    @Benchmark
+    public Object coldCoreToolCallMethodIfExists(Cold state) {
+        return CoreTool.callMethodIfExists(state.target, "add", ADD_TYPES, 1, 2);
+    }
+
+    @Benchmark
+    public Object coldCoreToolGetField(Cold state) {
+        return CoreTool.getField(state.target, "value");
+    }
+
+    @Benchmark
+    public void coldCoreToolSetField(Cold state) {
+        CoreTool.setField(state.target, "value", 1);
+    }
+
+    @Benchmark
+    public Object coldCoreToolNewInstance(Cold state) {
+        return CoreTool.newInstance(state.type, 1);
+    }
+}
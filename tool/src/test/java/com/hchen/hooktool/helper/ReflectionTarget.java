@@ -0,0 +1,51 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.helper;
+
+/**
+ * {@link ReflectionBenchmark} 的反射目标。
+ * <p>
+ * {@code add} 带有多个重载，使按实参推断的最佳匹配查找需要真正比较候选；
+ * 字段为私有，使每条路径都经过可访问性处理。
+ *
+ * @author 焕晨HChen
+ */
+@SuppressWarnings("unused")
+public class ReflectionTarget {
+    private int value;
+
+    public ReflectionTarget() {
+    }
+
+    public ReflectionTarget(int value) {
+        this.value = value;
+    }
+
+    public int add(int a, int b) {
+        return a + b + value;
+    }
+
+    public long add(long a, long b) {
+        return a + b + value;
+    }
+
+    public double add(Number a, Number b) {
+        return a.doubleValue() + b.doubleValue() + value;
+    }
+}
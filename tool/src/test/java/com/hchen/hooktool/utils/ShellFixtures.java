@@ -0,0 +1,199 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import androidx.annotation.NonNull;
+
+import com.hchen.hooktool.data.PackageDumpData;
+import com.hchen.hooktool.data.PackagePathData;
+import com.hchen.hooktool.data.ProcessData;
+import com.hchen.hooktool.data.PropertyData;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link ShellParseTool} 测试与基准共用的命令输出样本，以及按旧方式解析 {@code String[]} 的对照实现。
+ * <p>
+ * 样本位于 {@code src/test/resources/shell}，格式取自 Android 14 设备上的实际输出：
+ * <ul>
+ *     <li>{@link #PM_LIST_PACKAGES}：{@code pm list packages -f}，路径中含有 {@code '='}。</li>
+ *     <li>{@link #DUMPSYS_PACKAGE}：{@code dumpsys package}，含其他段落与 {@code Hidden system packages:}。</li>
+ *     <li>{@link #PS}：{@code ps -A}，部分内核线程名包含空格。</li>
+ *     <li>{@link #GETPROP}：{@code getprop}，部分属性值跨越多行。</li>
+ * </ul>
+ * 对照实现模仿此前调用方对 {@code ShellResult.outputs()} 的处理方式，以 {@link String#split(String)} 逐行拆分。
+ *
+ * @author 焕晨HChen
+ */
+final class ShellFixtures {
+    static final String PM_LIST_PACKAGES = "pm_list_packages_f.txt";
+    static final String DUMPSYS_PACKAGE = "dumpsys_package.txt";
+    static final String PS = "ps_A.txt";
+    static final String GETPROP = "getprop.txt";
+
+    private ShellFixtures() {
+    }
+
+    /**
+     * 将样本复制到指定目录，以便交给 shell 中的 {@code cat} 读取。
+     */
+    @NonNull
+    static File copy(@NonNull String name, @NonNull File dir) throws IOException {
+        File file = new File(dir, name);
+        try (InputStream in = Objects.requireNonNull(ShellFixtures.class.getResourceAsStream("/shell/" + name), name)) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    @NonNull
+    static List<PackagePathData> splitPackagePaths(@NonNull String[] lines) {
+        List<PackagePathData> list = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.startsWith("package:")) continue;
+
+            String[] parts = line.substring("package:".length()).split("=");
+            if (parts.length < 2) continue;
+
+            String packageName = parts[parts.length - 1].split(" ")[0];
+            list.add(new PackagePathData(packageName, String.join("=", Arrays.copyOf(parts, parts.length - 1))));
+        }
+        return list;
+    }
+
+    @NonNull
+    static List<PackageDumpData> splitPackageDumps(@NonNull String[] lines) {
+        List<PackageDumpData> list = new ArrayList<>();
+        DumpBuilder builder = null;
+        boolean inSection = false;
+        for (String line : lines) {
+            if (line.isEmpty()) continue;
+            if (!line.startsWith(" ")) {
+                if (builder != null) list.add(builder.build());
+                builder = null;
+                inSection = line.equals("Packages:");
+                continue;
+            }
+            if (!inSection) continue;
+
+            String trimmed = line.trim();
+            if (trimmed.startsWith("Package [")) {
+                if (builder != null) list.add(builder.build());
+                builder = new DumpBuilder(trimmed.substring("Package [".length(), trimmed.indexOf(']')));
+                continue;
+            }
+            if (builder == null) continue;
+
+            String[] pair = trimmed.split("=", 2);
+            if (pair.length < 2) continue;
+            switch (pair[0]) {
+                case "versionName" -> builder.versionName = pair[1];
+                case "codePath" -> builder.codePath = pair[1];
+                case "firstInstallTime" -> builder.firstInstallTime = pair[1];
+                case "lastUpdateTime" -> builder.lastUpdateTime = pair[1];
+                default -> {
+                    for (String token : trimmed.split(" ")) {
+                        String[] field = token.split("=", 2);
+                        if (field.length < 2) continue;
+                        switch (field[0]) {
+                            case "appId", "userId" -> builder.appId = Integer.parseInt(field[1]);
+                            case "versionCode" -> builder.versionCode = Long.parseLong(field[1]);
+                            case "minSdk" -> builder.minSdk = Integer.parseInt(field[1]);
+                            case "targetSdk" -> builder.targetSdk = Integer.parseInt(field[1]);
+                            default -> {
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        if (builder != null) list.add(builder.build());
+        return list;
+    }
+
+    @NonNull
+    static List<ProcessData> splitProcesses(@NonNull String[] lines) {
+        List<ProcessData> list = new ArrayList<>();
+        if (lines.length == 0) return list;
+
+        List<String> header = Arrays.asList(lines[0].trim().split("\\s+"));
+        int user = header.indexOf("USER");
+        int pid = header.indexOf("PID");
+        int ppid = header.indexOf("PPID");
+        int vsz = header.indexOf("VSZ");
+        int rss = header.indexOf("RSS");
+        int state = header.indexOf("S");
+        int name = header.size() - 1;
+        for (int i = 1; i < lines.length; i++) {
+            String[] columns = lines[i].trim().split("\\s+");
+            if (columns.length < header.size()) continue;
+
+            list.add(new ProcessData(columns[user], Integer.parseInt(columns[pid]), Integer.parseInt(columns[ppid]),
+                Long.parseLong(columns[vsz]), Long.parseLong(columns[rss]), columns[state],
+                String.join(" ", Arrays.copyOfRange(columns, name, columns.length))));
+        }
+        return list;
+    }
+
+    /**
+     * 旧方式逐行独立解析，跨行的属性值会被丢弃。
+     */
+    @NonNull
+    static List<PropertyData> splitProperties(@NonNull String[] lines) {
+        List<PropertyData> list = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.startsWith("[")) continue;
+
+            String[] pair = line.split("]: \\[", 2);
+            if (pair.length < 2 || !pair[1].endsWith("]")) continue;
+
+            list.add(new PropertyData(pair[0].substring(1), pair[1].substring(0, pair[1].length() - 1)));
+        }
+        return list;
+    }
+
+    private static final class DumpBuilder {
+        private final String packageName;
+        private int appId = -1;
+        private long versionCode = -1L;
+        private String versionName;
+        private String codePath;
+        private int minSdk = -1;
+        private int targetSdk = -1;
+        private String firstInstallTime;
+        private String lastUpdateTime;
+
+        private DumpBuilder(String packageName) {
+            this.packageName = packageName;
+        }
+
+        private PackageDumpData build() {
+            return new PackageDumpData(packageName, appId, versionCode, versionName, codePath,
+                minSdk, targetSdk, firstInstallTime, lastUpdateTime);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.hchen.hooktool.data.PackageDumpData;
+import com.hchen.hooktool.data.PackagePathData;
+import com.hchen.hooktool.data.ProcessData;
+import com.hchen.hooktool.data.PropertyData;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ShellParseTool} 的 JMH 基准。
+ * <p>
+ * 以 {@code /bin/sh} 中的 {@code cat} 输出 {@link ShellFixtures} 的样本，对比两种方式从执行命令到得到类型化记录的耗时与分配量：
+ * <ul>
+ *     <li>stream：{@link ShellTool#stream(String)} 交给 {@link ShellParseTool} 逐行解析。</li>
+ *     <li>split：{@link ShellTool#exec()} 收集完整的 {@code String[]} 后以 {@link String#split(String)} 拆分。</li>
+ * </ul>
+ * 分配量取自 {@link GCProfiler} 的 {@code gc.alloc.rate.norm}，包含会话读取线程的分配。
+ * <p>
+ * 基准耗时较长，默认跳过，需显式开启：
+ * <pre>{@code
+ * ./gradlew :tool:testDebugUnitTest -Phooktool.benchmark=true --tests '*ShellParseToolBenchmark'
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ */
+public class ShellParseToolBenchmark {
+    private static final String SHELL = "/bin/sh";
+
+    @BeforeClass
+    public static void checkEnabled() {
+        assumeTrue("benchmark disabled, pass -Phooktool.benchmark=true", Boolean.getBoolean("hooktool.benchmark"));
+        assumeTrue(SHELL + " is required", new File(SHELL).canExecute());
+    }
+
+    @Test
+    public void run() throws Exception {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(ShellParseToolBenchmark.class.getName() + "\\.")
+            .mode(Mode.AverageTime)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .forks(1)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true);
+        for (RunResult result : new Runner(options.build()).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            Result<?> primary = result.getPrimaryResult();
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            System.out.printf(Locale.ROOT, "[ShellParse] %-16s %10.1f +- %.1f %s, %10.0f B/op%n",
+                benchmark.substring(benchmark.lastIndexOf('.') + 1), primary.getScore(), primary.getScoreError(),
+                primary.getScoreUnit(), allocation == null ? Double.NaN : allocation.getScore());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shell {
+        ShellTool shellTool;
+        File dir;
+        String pmListPackages;
+        String dumpsysPackage;
+        String ps;
+        String getprop;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            ShellTool.setShellCommands(new String[]{SHELL, SHELL});
+            ShellTool.setPoolSize(false, 1);
+            ShellTool.setCacheSize(0);
+            shellTool = ShellTool.obtain(false);
+
+            dir = Files.createTempDirectory("shell-parse").toFile();
+            pmListPackages = cat(ShellFixtures.PM_LIST_PACKAGES);
+            dumpsysPackage = cat(ShellFixtures.DUMPSYS_PACKAGE);
+            ps = cat(ShellFixtures.PS);
+            getprop = cat(ShellFixtures.GETPROP);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ShellTool.close();
+            for (File file : Objects.requireNonNull(dir.listFiles())) file.delete();
+            dir.delete();
+        }
+
+        private String cat(String fixture) throws IOException {
+            return "cat '" + ShellFixtures.copy(fixture, dir).getAbsolutePath() + "'";
+        }
+
+        private String[] outputs(String command) {
+            return Objects.requireNonNull(shellTool.cmd(command).exec()).outputs();
+        }
+    }
+
+    @Benchmark
+    public List<PackagePathData> pmStream(Shell shell) {
+        return ShellParseTool.parsePackagePaths(shell.shellTool.stream(shell.pmListPackages));
+    }
+
+    @Benchmark
+    public List<PackagePathData> pmSplit(Shell shell) {
+        return ShellFixtures.splitPackagePaths(shell.outputs(shell.pmListPackages));
+    }
+
+    @Benchmark
+    public List<PackageDumpData> dumpsysStream(Shell shell) {
+        return ShellParseTool.parsePackageDumps(shell.shellTool.stream(shell.dumpsysPackage));
+    }
+
+    @Benchmark
+    public List<PackageDumpData> dumpsysSplit(Shell shell) {
+        return ShellFixtures.splitPackageDumps(shell.outputs(shell.dumpsysPackage));
+    }
+
+    @Benchmark
+    public List<ProcessData> psStream(Shell shell) {
+        return ShellParseTool.parseProcesses(shell.shellTool.stream(shell.ps));
+    }
+
+    @Benchmark
+    public List<ProcessData> psSplit(Shell shell) {
+        return ShellFixtures.splitProcesses(shell.outputs(shell.ps));
+    }
+
+    @Benchmark
+    public List<PropertyData> getpropStream(Shell shell) {
+        return ShellParseTool.parseProperties(shell.shellTool.stream(shell.getprop));
+    }
+
+    @Benchmark
+    public List<PropertyData> getpropSplit(Shell shell) {
+        return ShellFixtures.splitProperties(shell.outputs(shell.getprop));
+    }
+}
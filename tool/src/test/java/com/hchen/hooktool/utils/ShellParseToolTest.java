@@ -0,0 +1,148 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.hchen.hooktool.data.PackageDumpData;
+import com.hchen.hooktool.data.PackagePathData;
+import com.hchen.hooktool.data.ProcessData;
+import com.hchen.hooktool.data.PropertyData;
+import com.hchen.hooktool.data.ShellResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 以 {@link ShellFixtures} 中的样本验证 {@link ShellParseTool} 的解析结果。
+ * <p>
+ * 样本经 {@code /bin/sh} 中的 {@code cat} 输出，流式解析的结果需与旧的 {@code String[]} 拆分方式一致，
+ * 旧方式无法处理的跨行属性值则单独断言。
+ *
+ * @author 焕晨HChen
+ */
+public class ShellParseToolTest {
+    private static final String SHELL = "/bin/sh";
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    private ShellTool shellTool;
+
+    @BeforeClass
+    public static void checkShell() {
+        assumeTrue(SHELL + " is required", new File(SHELL).canExecute());
+    }
+
+    @Before
+    public void setUp() {
+        ShellTool.setShellCommands(new String[]{SHELL, SHELL});
+        ShellTool.setPoolSize(false, 1);
+        shellTool = ShellTool.obtain(false);
+    }
+
+    @After
+    public void tearDown() {
+        ShellTool.close();
+    }
+
+    @Test
+    public void packagePathsMatchSplit() throws Exception {
+        String command = cat(ShellFixtures.PM_LIST_PACKAGES);
+        List<PackagePathData> parsed = ShellParseTool.parsePackagePaths(shellTool.stream(command));
+
+        assertEquals(320, parsed.size());
+        assertEquals(ShellFixtures.splitPackagePaths(outputs(command)), parsed);
+        assertEquals(new PackagePathData("io.github.hchenx.photos.telephony",
+            "/data/app/~~BUU0x7yqtjRnWpd1L3x53w==/io.github.hchenx.photos.telephony-pWL0PhJ-26Qp1YCXs14C1g==/base.apk"),
+            parsed.get(1));
+    }
+
+    @Test
+    public void packageDumpsMatchSplit() throws Exception {
+        String command = cat(ShellFixtures.DUMPSYS_PACKAGE);
+        List<PackageDumpData> parsed = ShellParseTool.parsePackageDumps(shellTool.stream(command));
+
+        // Hidden system packages 中的旧版本记录不应重复出现
+        assertEquals(40, parsed.size());
+        assertEquals(parsed.size(), parsed.stream().map(PackageDumpData::packageName).distinct().count());
+        assertEquals(ShellFixtures.splitPackageDumps(outputs(command)), parsed);
+
+        Map<String, PackageDumpData> byName = new HashMap<>();
+        parsed.forEach(data -> byName.put(data.packageName(), data));
+        assertEquals(new PackageDumpData("io.github.hchenx.settings", 10139, 226508647L, "24.17.6-beta",
+                "/product/app/HchenxSettings", 24, 30, "2025-02-23 17:47:17", "2012-04-03 14:03:36"),
+            byName.get("io.github.hchenx.settings"));
+        assertEquals("7.8.7 (204249094)", byName.get("com.android.launcher.documentsui").versionName());
+    }
+
+    @Test
+    public void processesMatchSplit() throws Exception {
+        String command = cat(ShellFixtures.PS);
+        List<ProcessData> parsed = ShellParseTool.parseProcesses(shellTool.stream(command));
+
+        assertEquals(499, parsed.size());
+        assertEquals(ShellFixtures.splitProcesses(outputs(command)), parsed);
+        assertEquals(new ProcessData("root", 1, 0, 10892748L, 12148L, "S", "init"), parsed.get(0));
+        assertEquals("[irq/220-q6v5 wdog]", parsed.get(4).name());
+    }
+
+    @Test
+    public void propertiesKeepMultiLineValues() throws Exception {
+        String command = cat(ShellFixtures.GETPROP);
+        List<PropertyData> parsed = ShellParseTool.parseProperties(shellTool.stream(command));
+
+        assertEquals(900, parsed.size());
+        Map<String, String> values = new HashMap<>();
+        parsed.forEach(data -> values.put(data.key(), data.value()));
+        assertEquals("reboot,ota,1719000000\nkernel_panic,1718990000\nreboot,shell,1718980000",
+            values.get("ro.boot.bootreason_history"));
+        assertEquals("Welcome!\n\nEnjoy the build.", values.get("ro.vendor.build.display.motd"));
+        assertEquals("line one\nline two", values.get("persist.vendor.radio.notes"));
+        assertEquals("", values.get("persist.sys.usb.config"));
+
+        // 旧方式丢弃跨行的值，其余属性应完全一致
+        List<PropertyData> split = ShellFixtures.splitProperties(outputs(command));
+        assertEquals(897, split.size());
+        assertTrue(new HashSet<>(parsed).containsAll(split));
+        assertFalse(split.stream().anyMatch(data -> data.key().equals("ro.boot.bootreason_history")));
+    }
+
+    private String cat(String fixture) throws Exception {
+        return "cat '" + ShellFixtures.copy(fixture, folder.getRoot()).getAbsolutePath() + "'";
+    }
+
+    private String[] outputs(String command) {
+        ShellResult result = shellTool.cmd(command).exec();
+        assertNotNull(result);
+        return result.outputs();
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.hchen.hooktool.data.ShellResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以 {@code /bin/sh} 运行的 {@link ShellTool} 性能基准。
+ * <p>
+ * 测量吞吐（每秒命令数）、小命令的 p50 / p99 延迟、大量输出的吞吐、并发调用方之间的公平性，
+ * 以及管道破裂后恢复所需的时间，结果输出到标准输出。
+ * <p>
+ * 基准耗时较长，默认跳过，需显式开启：
+ * <pre>{@code
+ * ./gradlew :tool:testDebugUnitTest -Phooktool.benchmark=true --tests '*ShellToolBenchmark'
+ * }</pre>
+ *
+ * @author 焕晨HChen
+ */
+public class ShellToolBenchmark {
+    private static final String SHELL = "/bin/sh";
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5000;
+    private ShellTool shellTool;
+
+    @BeforeClass
+    public static void checkEnabled() {
+        assumeTrue("benchmark disabled, pass -Phooktool.benchmark=true", Boolean.getBoolean("hooktool.benchmark"));
+        assumeTrue(SHELL + " is required", new File(SHELL).canExecute());
+    }
+
+    @Before
+    public void setUp() {
+        ShellTool.setShellCommands(new String[]{SHELL, SHELL});
+        ShellTool.setPoolSize(false, 1);
+        ShellTool.setCacheSize(0);
+        shellTool = ShellTool.obtain(false);
+    }
+
+    @After
+    public void tearDown() {
+        ShellTool.close();
+    }
+
+    @Test
+    public void sequentialLatency() {
+        for (int i = 0; i < WARMUP; i++) shellTool.cmd("true").exec();
+
+        long[] samples = new long[ITERATIONS];
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            assertNotNull(shellTool.cmd("true").exec());
+            samples[i] = System.nanoTime() - begin;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(samples);
+        report("sequential exec", "%.0f cmd/s, p50 %.1f us, p99 %.1f us, max %.1f us",
+            perSecond(ITERATIONS, elapsed), micros(percentile(samples, 50)), micros(percentile(samples, 99)),
+            micros(samples[samples.length - 1]));
+    }
+
+    @Test
+    public void pipelinedThroughput() throws Exception {
+        for (int i = 0; i < WARMUP; i++) shellTool.submit("true");
+
+        List<CompletableFuture<ShellResult>> futures = new ArrayList<>(ITERATIONS);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            futures.add(shellTool.submit("echo " + i));
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(String.valueOf(i), futures.get(i).get(30, TimeUnit.SECONDS).outputs()[0]);
+        }
+
+        report("pipelined submit", "%.0f cmd/s", perSecond(ITERATIONS, System.nanoTime() - start));
+    }
+
+    @Test
+    public void largeOutputThroughput() throws Exception {
+        String command = "seq 1 2000000";
+        long bytes = 0;
+        long lines = 0;
+        long start = System.nanoTime();
+        try (ShellTool.ShellStream stream = shellTool.stream(command)) {
+            String line;
+            while ((line = stream.readLine()) != null) {
+                bytes += line.length() + 1;
+                lines++;
+            }
+        }
+        long streamed = System.nanoTime() - start;
+        assertEquals(2000000, lines);
+
+        start = System.nanoTime();
+        ShellResult result = shellTool.cmd(command).exec();
+        long materialized = System.nanoTime() - start;
+        assertNotNull(result);
+
+        report("large output", "stream %.1f MB/s, exec %.1f MB/s (%d lines)",
+            megabytesPerSecond(bytes, streamed), megabytesPerSecond(bytes, materialized), lines);
+    }
+
+    @Test
+    public void concurrentCallerFairness() throws Exception {
+        int callers = 8;
+        int perCaller = 500;
+        ShellTool.setPoolSize(false, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch ready = new CountDownLatch(callers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int c = 0; c < callers; c++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                go.await();
+                long begin = System.nanoTime();
+                for (int i = 0; i < perCaller; i++) shellTool.cmd("true").exec();
+                return System.nanoTime() - begin;
+            }));
+        }
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+
+        double sum = 0;
+        double sumOfSquares = 0;
+        long slowest = 0;
+        long fastest = Long.MAX_VALUE;
+        for (Future<Long> future : results) {
+            long elapsed = future.get(2, TimeUnit.MINUTES);
+            double rate = perSecond(perCaller, elapsed);
+            sum += rate;
+            sumOfSquares += rate * rate;
+            slowest = Math.max(slowest, elapsed);
+            fastest = Math.min(fastest, elapsed);
+        }
+        long total = System.nanoTime() - start;
+        executor.shutdown();
+
+        // Jain 公平性指数：1 为完全公平，1/n 为完全独占
+        double fairness = sum * sum / (callers * sumOfSquares);
+        report("fairness", "%d callers on 2 sessions, %.0f cmd/s total, Jain index %.3f, fastest %d ms, slowest %d ms",
+            callers, perSecond(callers * perCaller, total), fairness,
+            TimeUnit.NANOSECONDS.toMillis(fastest), TimeUnit.NANOSECONDS.toMillis(slowest));
+        assertTrue("callers starved, Jain index " + fairness, fairness > 0.8);
+    }
+
+    @Test
+    public void brokenPipeRecovery() throws Exception {
+        int rounds = 20;
+        long[] samples = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            assertNotNull(shellTool.cmd("true").exec());
+            shellTool.submit("kill -9 $$").get(10, TimeUnit.SECONDS);
+
+            long begin = System.nanoTime();
+            ShellResult result = shellTool.submit("echo ok").get(10, TimeUnit.SECONDS);
+            samples[i] = System.nanoTime() - begin;
+            assertEquals("ok", result.outputs()[0]);
+        }
+
+        Arrays.sort(samples);
+        report("broken pipe recovery", "p50 %.1f ms, max %.1f ms",
+            micros(percentile(samples, 50)) / 1000, micros(samples[rounds - 1]) / 1000);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return count * 1e9 / nanos;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+
+    private static double megabytesPerSecond(long bytes, long nanos) {
+        return bytes / 1048576.0 * 1e9 / nanos;
+    }
+
+    private static void report(String name, String format, Object... args) {
+        System.out.printf(Locale.ROOT, "[ShellTool] %-22s %s%n", name, String.format(Locale.ROOT, format, args));
+    }
+}
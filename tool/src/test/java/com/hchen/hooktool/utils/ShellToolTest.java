@@ -0,0 +1,201 @@
+/*
+ * This file is part of HookTool.
+ *
+ * HookTool is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * HookTool is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with HookTool. If not, see <https://www.gnu.org/licenses/lgpl-2.1>.
+ *
+ * Copyright (C) 2024–2026 HChenX
+ */
+package com.hchen.hooktool.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import com.hchen.hooktool.data.ShellResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 在 JVM 上以 {@code /bin/sh} 代替 {@code su} 运行 {@link ShellTool} 的功能测试。
+ * <p>
+ * 覆盖会话池并行、流水线写入、流式输出、超时终止与管道破裂后的恢复，无需 Root 设备。
+ *
+ * @author 焕晨HChen
+ */
+public class ShellToolTest {
+    private static final String SHELL = "/bin/sh";
+    private static final int POOL_SIZE = 2;
+    private ShellTool shellTool;
+
+    @BeforeClass
+    public static void checkShell() {
+        assumeTrue(SHELL + " is required", new File(SHELL).canExecute());
+    }
+
+    @Before
+    public void setUp() {
+        ShellTool.setShellCommands(new String[]{SHELL, SHELL});
+        ShellTool.setPoolSize(false, POOL_SIZE);
+        ShellTool.setDefaultTimeout(0, TimeUnit.MILLISECONDS);
+        shellTool = ShellTool.obtain(false);
+    }
+
+    @After
+    public void tearDown() {
+        ShellTool.close();
+    }
+
+    @Test
+    public void execCollectsOutputsErrorsAndExitCode() {
+        ShellResult result = shellTool.cmd("echo out; echo err 1>&2; (exit 3)").exec();
+
+        assertNotNull(result);
+        assertEquals("3", result.exitCode());
+        assertArrayEquals(new String[]{"out"}, result.outputs());
+        assertArrayEquals(new String[]{"err"}, result.errors());
+    }
+
+    @Test
+    public void pipelinedCommandsKeepOrder() throws Exception {
+        List<CompletableFuture<ShellResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(shellTool.submit("echo " + i));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(String.valueOf(i), futures.get(i).get(10, TimeUnit.SECONDS).outputs()[0]);
+        }
+    }
+
+    @Test
+    public void batchRunsInOneSessionInOrder() {
+        ShellResult[] results = shellTool.batch("X=1", "X=$((X + 1))", "echo $X", "unset X");
+
+        assertEquals(4, results.length);
+        assertEquals("2", results[2].outputs()[0]);
+    }
+
+    @Test
+    public void poolRunsCommandsInParallel() throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<ShellResult>> futures = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            futures.add(shellTool.submit("sleep 1; echo " + i));
+        }
+        for (CompletableFuture<ShellResult> future : futures) {
+            assertNotNull(future.get(10, TimeUnit.SECONDS));
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("sessions did not run in parallel: " + elapsed + "ms", elapsed < POOL_SIZE * 1000L - 300);
+    }
+
+    @Test
+    public void streamDeliversLinesInOrder() throws Exception {
+        int count = 0;
+        int errors = 0;
+        try (ShellTool.ShellStream stream = shellTool.stream("seq 1 100000; echo done 1>&2; (exit 4)", 64)) {
+            String line;
+            while ((line = stream.readLine()) != null) {
+                if (stream.isErrorLine()) {
+                    errors++;
+                    continue;
+                }
+                assertEquals(String.valueOf(++count), line);
+            }
+            assertEquals("4", stream.exitCode());
+        }
+
+        assertEquals(100000, count);
+        assertEquals(1, errors);
+    }
+
+    @Test
+    public void closingStreamStopsEndlessCommand() throws Exception {
+        ShellTool.ShellStream stream = shellTool.stream("yes tick");
+        assertEquals("tick", stream.readLine());
+        stream.close();
+
+        assertEquals("next", shellTool.submit("echo next").get(10, TimeUnit.SECONDS).outputs()[0]);
+    }
+
+    @Test
+    public void timeoutTerminatesCommandAndKeepsSession() throws Exception {
+        CompletableFuture<ShellResult> slow = shellTool.cmd("sleep 100").timeout(300, TimeUnit.MILLISECONDS).submit();
+        CompletableFuture<ShellResult> after = shellTool.submit("echo after");
+
+        try {
+            slow.get(10, TimeUnit.SECONDS);
+            fail("command did not time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertEquals("after", after.get(10, TimeUnit.SECONDS).outputs()[0]);
+        assertNull(shellTool.cmd("sleep 50").timeout(300, TimeUnit.MILLISECONDS).exec());
+    }
+
+    @Test
+    public void cancelTerminatesRunningCommand() throws Exception {
+        ShellTool.setPoolSize(false, 1);
+        CompletableFuture<ShellResult> running = shellTool.submit("sleep 100");
+        Thread.sleep(300);
+        running.cancel(true);
+
+        long start = System.nanoTime();
+        assertEquals("alive", shellTool.submit("echo alive").get(10, TimeUnit.SECONDS).outputs()[0]);
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+    }
+
+    @Test
+    public void restartRequeuesCommandsBehindStuckCommand() throws Exception {
+        ShellTool.setPoolSize(false, 1);
+        CompletableFuture<ShellResult> stuck = shellTool.cmd("while true; do :; done").timeout(300, TimeUnit.MILLISECONDS).submit();
+        List<CompletableFuture<ShellResult>> rest = shellTool.submitAll("echo a", "echo b", "echo c");
+
+        try {
+            stuck.get(10, TimeUnit.SECONDS);
+            fail("command did not time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (CompletableFuture<ShellResult> future : rest) {
+            builder.append(future.get(15, TimeUnit.SECONDS).outputs()[0]);
+        }
+        assertEquals("abc", builder.toString());
+    }
+
+    @Test
+    public void sessionRecoversAfterBrokenPipe() throws Exception {
+        ShellTool.setPoolSize(false, 1);
+        assertNull(shellTool.submit("kill -9 $$").get(10, TimeUnit.SECONDS));
+
+        assertEquals("ok", shellTool.submit("echo ok").get(10, TimeUnit.SECONDS).outputs()[0]);
+    }
+}